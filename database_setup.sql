@@ -22,14 +22,26 @@ CREATE TABLE migration_config (
   target_table_name VARCHAR(100) PRIMARY KEY,
   target_column_name VARCHAR(500) NOT NULL,  -- 쉼표로 구분하여 여러 컬럼 지정 가능
   status VARCHAR(20) DEFAULT 'ACTIVE',
-  priority INTEGER DEFAULT 0
+  priority INTEGER DEFAULT 0,
+  partitions INTEGER,                        -- PK 범위 파티션 수 (NULL이면 기본값 사용)
+  writer_mode VARCHAR(20),                   -- Writer 방식 (BATCH, BULK, COPY / NULL이면 기본값 사용)
+  chunk_size INTEGER,                        -- 청크 크기 (NULL이면 기본값 사용)
+  fetch_size INTEGER,                        -- 조회 fetch size (NULL이면 기본값 사용)
+  thread_count INTEGER,                      -- 청크당 암호화 스레드 수 (NULL이면 기본값 사용)
+  scan_mode VARCHAR(20)                      -- 조회/파티션 방식 (PK, CTID / NULL이면 기본값 사용)
 );
 
 -- 컬럼 설명 추가
 COMMENT ON COLUMN migration_config.target_table_name IS '대상 테이블명 (PRIMARY KEY)';
 COMMENT ON COLUMN migration_config.target_column_name IS '대상 컬럼명 (SafeDB 적용할 컬럼, 쉼표로 구분하여 여러 컬럼 지정 가능)';
 COMMENT ON COLUMN migration_config.status IS '처리 상태 (ACTIVE, INACTIVE, COMPLETE)';
-COMMENT ON COLUMN migration_config.priority IS '처리 우선순위 (낮을수록 먼저 실행)';
+COMMENT ON COLUMN migration_config.priority IS '처리 우선순위 (낮을수록 먼저 실행, 병렬 모드에서는 같은 값끼리 동시 실행)';
+COMMENT ON COLUMN migration_config.partitions IS 'PK 범위 파티션 수 (2 이상이면 병렬 처리, NULL이면 migration.partition.grid-size)';
+COMMENT ON COLUMN migration_config.writer_mode IS 'Writer 방식 (BATCH: 레코드 단위 UPDATE, BULK: UPDATE ... FROM (VALUES ...), COPY: COPY 임시 테이블 후 UPDATE ... FROM)';
+COMMENT ON COLUMN migration_config.chunk_size IS '청크 크기 (NULL이면 migration.chunk-size, 자동 조절 시 시작값)';
+COMMENT ON COLUMN migration_config.fetch_size IS '조회 fetch size (NULL이면 migration.reader.fetch-size, migration.reader.type=JDBC에서 적용)';
+COMMENT ON COLUMN migration_config.thread_count IS '청크당 암호화 스레드 수 (NULL이면 migration.encryption.threads)';
+COMMENT ON COLUMN migration_config.scan_mode IS '조회/파티션 방식 (PK: 선두 PK 범위 + PK 순서 조회, CTID: 물리 블록 범위 + 정렬 없이 조회, NULL이면 migration.partition.scan-mode)';
 
 -- ============================================
 -- 샘플 데이터 삽입 (나중에 sample_data_setup.sql에서 생성된 테이블용)
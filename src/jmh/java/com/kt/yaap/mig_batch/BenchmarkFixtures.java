@@ -0,0 +1,146 @@
+package com.kt.yaap.mig_batch;
+
+import com.kt.yaap.mig_batch.batch.EncryptedValueCache;
+import com.kt.yaap.mig_batch.batch.EncryptionProcessor;
+import com.kt.yaap.mig_batch.config.SafeDBConfig;
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
+import com.kt.yaap.mig_batch.model.TableSchema;
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import com.kt.yaap.mig_batch.util.SafeDBUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 벤치마크 공통 픽스처
+ *
+ * Spring 컨텍스트 없이 빈을 직접 생성하고 @Autowired 필드는 ReflectionTestUtils로 주입합니다.
+ * (컨텍스트 기동 비용과 무관한 핫패스 자체만 측정)
+ */
+public final class BenchmarkFixtures {
+
+    public static final String TABLE_NAME = "bench_customer";
+    public static final List<String> PK_COLUMNS = Arrays.asList("id");
+    public static final List<String> TARGET_COLUMNS = Arrays.asList("cust_name", "phone_no", "email");
+
+    private static final String[][] PLAIN_SAMPLES = {
+            {"홍길동", "김철수", "이영희", "박민수"},
+            {"010-1234-5678", "010-9876-5432", "02-123-4567"},
+            {"hong.gildong@example.com", "kim@example.co.kr", "lee.yh@example.net"},
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 메모리 MeterRegistry 기반 지표 (운영과 같은 기록 비용 포함)
+     */
+    public static MigrationMetrics createMetrics() {
+        return new MigrationMetrics(new SimpleMeterRegistry());
+    }
+
+    /**
+     * Mock 모드 SafeDBUtil (safedb.enabled = true, 지연 없음)
+     */
+    public static SafeDBUtil createSafeDBUtil() {
+        SafeDBConfig config = new SafeDBConfig();
+        SafeDBUtil safeDBUtil = new SafeDBUtil();
+        ReflectionTestUtils.setField(safeDBUtil, "safeDBConfig", config);
+        safeDBUtil.setMigrationMetrics(createMetrics());
+        return safeDBUtil;
+    }
+
+    /**
+     * 원격 SafeDB를 흉내내는 Mock 모드 SafeDBUtil (호출마다 latencyMillis 지연)
+     *
+     * @param maxInFlight 동시 호출 상한 (safedb.max-in-flight, 0이면 제한 없음)
+     */
+    public static SafeDBUtil createSafeDBUtil(long latencyMillis, int maxInFlight) {
+        SafeDBConfig config = new SafeDBConfig();
+        config.setMockLatencyMillis(latencyMillis);
+        config.setMaxInFlight(maxInFlight);
+        SafeDBUtil safeDBUtil = new SafeDBUtil();
+        ReflectionTestUtils.setField(safeDBUtil, "safeDBConfig", config);
+        safeDBUtil.setMigrationMetrics(createMetrics());
+        safeDBUtil.init();
+        return safeDBUtil;
+    }
+
+    public static EncryptionProcessor createProcessor(SafeDBUtil safeDBUtil) {
+        return createProcessor(safeDBUtil, false);
+    }
+
+    /**
+     * @param cacheEnabled 평문 → 암호문 캐시 사용 (migration.encryption.cache.enabled, safedb.deterministic)
+     */
+    public static EncryptionProcessor createProcessor(SafeDBUtil safeDBUtil, boolean cacheEnabled) {
+        MigrationMetrics metrics = createMetrics();
+        SafeDBConfig config = new SafeDBConfig();
+        config.setDeterministic(true);
+        EncryptedValueCache cache = new EncryptedValueCache();
+        ReflectionTestUtils.setField(cache, "safeDBConfig", config);
+        ReflectionTestUtils.setField(cache, "migrationMetrics", metrics);
+        ReflectionTestUtils.setField(cache, "enabled", cacheEnabled);
+        ReflectionTestUtils.setField(cache, "maxBytes", 64L * 1024 * 1024);
+        cache.validate();  // 공유 캐시 생성 (@PostConstruct)
+
+        EncryptionProcessor processor = new EncryptionProcessor();
+        ReflectionTestUtils.setField(processor, "safeDBUtil", safeDBUtil);
+        ReflectionTestUtils.setField(processor, "migrationMetrics", metrics);
+        ReflectionTestUtils.setField(processor, "encryptedValueCache", cache);
+        return processor;
+    }
+
+    /**
+     * AES128 암호문 형태의 값 (16바이트 배수 → Base64)
+     */
+    public static String encryptedValue(Random random) {
+        byte[] cipher = new byte[16 * (1 + random.nextInt(3))];
+        random.nextBytes(cipher);
+        return Base64.getEncoder().encodeToString(cipher);
+    }
+
+    /**
+     * Reader가 조회하는 1행과 같은 형태 (pk_ 접두사 PK + 대상 컬럼)
+     */
+    public static List<Map<String, Object>> createRows(int count, double encryptedRatio, long seed) {
+        Random random = new Random(seed);
+        List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new HashMap<String, Object>();
+            row.put("pk_id", (long) (i + 1));
+            for (int c = 0; c < TARGET_COLUMNS.size(); c++) {
+                String value = random.nextDouble() < encryptedRatio
+                        ? encryptedValue(random)
+                        : PLAIN_SAMPLES[c][random.nextInt(PLAIN_SAMPLES[c].length)];
+                row.put(TARGET_COLUMNS.get(c), value);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Processor 입력과 같은 형태의 Entity 목록
+     */
+    public static List<TargetRecordEntity> createRecords(int count, double encryptedRatio, long seed) {
+        List<TargetRecordEntity> records = new ArrayList<TargetRecordEntity>(count);
+        TableSchema schema = new TableSchema(TABLE_NAME, PK_COLUMNS, TARGET_COLUMNS);
+        for (Map<String, Object> row : createRows(count, encryptedRatio, seed)) {
+            TargetRecordEntity entity = new TargetRecordEntity(schema);
+            entity.getPkValues()[0] = row.get("pk_id");
+            for (int slot = 0; slot < TARGET_COLUMNS.size(); slot++) {
+                entity.getOriginalValues()[slot] = (String) row.get(TARGET_COLUMNS.get(slot));
+            }
+            records.add(entity);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,88 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.BenchmarkFixtures;
+import com.kt.yaap.mig_batch.config.TaskExecutorConfig;
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.step.item.Chunk;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 원격 SafeDB 지연이 있을 때 청크 암호화 시간 (청크 1000건, 대상 컬럼 3개 → 값 단위 호출 3000회, 호출당 1ms)
+ *
+ * - executor: POOL(고정 풀 + 제한 큐 + CallerRuns) / VIRTUAL(가상 스레드, Java 21 미만이면 POOL로 측정됨)
+ * - threads: 청크를 나누는 구간 수 (migration.encryption.threads, POOL은 풀 크기도 같게)
+ * - maxInFlight: SafeDB 동시 호출 상한 (safedb.max-in-flight, 0 = 제한 없음)
+ *
+ * 지연이 지배적이므로 청크 시간 ≈ 3000 × 1ms / min(threads, maxInFlight)에 가까운지 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class EncryptionExecutorBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final long LATENCY_MILLIS = 1;
+    private static final int QUEUE_CAPACITY = 256;
+
+    @Param({"POOL", "VIRTUAL"})
+    private String executor;
+
+    @Param({"8", "64"})
+    private int threads;
+
+    @Param({"0", "32"})
+    private int maxInFlight;
+
+    private ExecutorService executorService;
+    private EncryptionChunkProcessor chunkProcessor;
+    private StepContribution contribution;
+    private List<TargetRecordEntity> records;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EncryptionProcessor processor = BenchmarkFixtures.createProcessor(
+                BenchmarkFixtures.createSafeDBUtil(LATENCY_MILLIS, maxInFlight));
+        executorService = "VIRTUAL".equals(executor) ? TaskExecutorConfig.newVirtualThreadExecutor() : null;
+        if (executorService == null) {
+            executorService = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        chunkProcessor = new EncryptionChunkProcessor(processor, items -> { }, executorService, threads, false);
+        contribution = new StepContribution(new StepExecution("benchmark", new JobExecution(1L)));
+        records = BenchmarkFixtures.createRecords(CHUNK_SIZE, 0.0, 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public Chunk<TargetRecordEntity> encryptChunk() throws Exception {
+        return chunkProcessor.transform(contribution, new Chunk<TargetRecordEntity>(records));
+    }
+}
@@ -0,0 +1,67 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.BenchmarkFixtures;
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EncryptionProcessor 벤치마크 (청크 1000건, 대상 컬럼 3개, Mock SafeDB)
+ *
+ * - process: 레코드 단위 처리 (기본 Step 경로)
+ * - processChunk: 청크 단위 일괄 처리 (safedb.batch-enabled 경로)
+ *
+ * encryptedRatio로 이미 암호화된 값의 비율을 조절합니다. (0.9 = 재수행 시나리오)
+ * cacheEnabled는 평문 → 암호문 캐시 사용 여부입니다. (픽스처 평문은 컬럼별 3~4종 반복 → 첫 청크 이후 대부분 적중)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptionProcessorBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"0.0", "0.9"})
+    private double encryptedRatio;
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private EncryptionProcessor processor;
+    private List<TargetRecordEntity> records;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        processor = BenchmarkFixtures.createProcessor(BenchmarkFixtures.createSafeDBUtil(), cacheEnabled);
+        records = BenchmarkFixtures.createRecords(CHUNK_SIZE, encryptedRatio, 42);
+    }
+
+    @Benchmark
+    public void process(Blackhole blackhole) throws Exception {
+        for (TargetRecordEntity record : records) {
+            blackhole.consume(processor.process(record));
+        }
+    }
+
+    @Benchmark
+    public List<TargetRecordEntity> processChunk() {
+        return processor.processChunk(records);
+    }
+}
@@ -0,0 +1,96 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.BenchmarkFixtures;
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EncryptionWriter.write 벤치마크 (H2 인메모리 DB, PostgreSQL 호환 모드)
+ *
+ * 실제 TargetTableMapper.xml의 updateTargetRecord를 그대로 사용하므로
+ * 파라미터 Map 구성, MyBatis 동적 SQL 생성, BATCH 실행 경로의 비용 변화를 확인할 수 있습니다.
+ * 네트워크/디스크 비용이 없으므로 절대값이 아니라 변경 전후 비교용입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptionWriterBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;  // 인메모리 DB 유지용
+    private EncryptionWriter writer;
+    private List<TargetRecordEntity> records;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        keepAlive = dataSource.getConnection();
+
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE " + BenchmarkFixtures.TABLE_NAME
+                    + " (id BIGINT PRIMARY KEY, cust_name VARCHAR(200), phone_no VARCHAR(200), email VARCHAR(200))");
+        }
+        try (PreparedStatement insert = keepAlive.prepareStatement("INSERT INTO " + BenchmarkFixtures.TABLE_NAME
+                + " (id, cust_name, phone_no, email) VALUES (?, 'name', 'phone', 'email')")) {
+            for (int i = 1; i <= CHUNK_SIZE; i++) {
+                insert.setLong(1, i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setMapperLocations(new Resource[] {new ClassPathResource("mapper/TargetTableMapper.xml")});
+        SqlSessionFactory sqlSessionFactory = factoryBean.getObject();
+
+        writer = new EncryptionWriter();
+        ReflectionTestUtils.setField(writer, "sqlSessionFactory", sqlSessionFactory);
+        ReflectionTestUtils.setField(writer, "migrationMetrics", BenchmarkFixtures.createMetrics());
+
+        records = BenchmarkFixtures.createRecords(CHUNK_SIZE, 0.0, 42);
+        BenchmarkFixtures.createProcessor(BenchmarkFixtures.createSafeDBUtil()).processChunk(records);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        keepAlive.close();
+    }
+
+    /**
+     * 청크 1건(1000 레코드 × 3컬럼) UPDATE, 같은 행을 반복 갱신하므로 결과는 멱등
+     */
+    @Benchmark
+    public void write() throws Exception {
+        writer.write(records);
+    }
+}
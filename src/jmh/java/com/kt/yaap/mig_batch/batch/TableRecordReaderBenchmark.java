@@ -0,0 +1,55 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TableRecordReader.convertToEntity 벤치마크
+ *
+ * DB 조회를 제외한 행 → Entity 변환 비용만 측정합니다. (청크 1000건 기준)
+ * 할당량은 -prof gc의 gc.alloc.rate.norm (B/op)으로 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableRecordReaderBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private TableRecordReader reader;
+    private List<Map<String, Object>> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reader = new TableRecordReader(null, BenchmarkFixtures.TABLE_NAME,
+                BenchmarkFixtures.TARGET_COLUMNS, "public");
+        // open() 없이 스키마만 구성 (DB 조회 제외)
+        reader.initSchema(BenchmarkFixtures.PK_COLUMNS);
+        rows = BenchmarkFixtures.createRows(CHUNK_SIZE, 0.0, 42);
+    }
+
+    @Benchmark
+    public void convertToEntity(Blackhole blackhole) {
+        for (Map<String, Object> row : rows) {
+            blackhole.consume(reader.convertToEntity(row));
+        }
+    }
+}
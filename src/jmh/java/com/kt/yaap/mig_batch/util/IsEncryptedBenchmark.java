@@ -0,0 +1,104 @@
+package com.kt.yaap.mig_batch.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SafeDBUtil.isEncrypted 벤치마크 (기존 정규식 구현 vs 단일 순회 구현)
+ *
+ * 입력: 평문(이름/전화번호/이메일/주소)과 암호화 값(AES128 + Base64 형태)을 encryptedRatio 비율로 섞은 배열
+ * - encryptedRatio = 0   : 최초 수행 (대부분 평문)
+ * - encryptedRatio = 0.9 : 재수행 (대부분 이미 암호화됨)
+ *
+ * 실행: mvn -P jmh test-compile exec:exec -Djmh.args="IsEncryptedBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IsEncryptedBenchmark {
+
+    private static final int SAMPLE_SIZE = 1024;
+
+    private static final String[] PLAIN_SAMPLES = {
+            "홍길동",
+            "010-1234-5678",
+            "hong.gildong@example.com",
+            "서울특별시 중구 세종대로 110",
+            "ABCDEFGHIJKLMNOPQRSTUVWX1",
+            "1234567890123456789012345678",
+    };
+
+    @Param({"0.0", "0.5", "0.9"})
+    private double encryptedRatio;
+
+    private String[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        values = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            if (random.nextDouble() < encryptedRatio) {
+                // AES128 암호문 형태: 16바이트 배수 → Base64
+                byte[] cipher = new byte[16 * (1 + random.nextInt(3))];
+                random.nextBytes(cipher);
+                values[i] = Base64.getEncoder().encodeToString(cipher);
+            } else {
+                values[i] = PLAIN_SAMPLES[random.nextInt(PLAIN_SAMPLES.length)];
+            }
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(isEncryptedRegex(value));
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(SafeDBUtil.isEncrypted(value, false));
+        }
+    }
+
+    @Benchmark
+    public void singlePassStrict(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(SafeDBUtil.isEncrypted(value, true));
+        }
+    }
+
+    /**
+     * 변경 전 SafeDBUtil.isEncrypted 구현 (비교 기준)
+     */
+    private static boolean isEncryptedRegex(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return false;
+        }
+        boolean matchesBase64Pattern = value.matches("^[A-Za-z0-9+/=]{24,}$");
+        boolean validBase64Length = (value.length() % 4 == 0 || value.endsWith("="));
+        boolean hasUppercase = value.matches(".*[A-Z].*");
+        boolean hasDigit = value.matches(".*[0-9].*");
+        return matchesBase64Pattern && validBase64Length && hasUppercase && hasDigit;
+    }
+}
@@ -0,0 +1,62 @@
+package com.kt.yaap.mig_batch.util;
+
+import com.kt.yaap.mig_batch.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SafeDBUtil.encrypt / encryptBatch 벤치마크 (Mock 모드)
+ *
+ * Mock 암호화 자체의 비용(문자열 연결)과 호출 경로의 오버헤드(로그 인자, 조건 체크)를 측정합니다.
+ * 원격 SafeDB 왕복 비용은 safedb.mock-latency-millis로 별도 시뮬레이션해야 합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SafeDBUtilBenchmark {
+
+    private static final int SAMPLE_SIZE = 1000;
+
+    private SafeDBUtil safeDBUtil;
+    private List<String> plainTexts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        safeDBUtil = BenchmarkFixtures.createSafeDBUtil();
+        Random random = new Random(42);
+        plainTexts = new ArrayList<String>(SAMPLE_SIZE);
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            plainTexts.add("010-" + (1000 + random.nextInt(9000)) + "-" + (1000 + random.nextInt(9000)));
+        }
+    }
+
+    @Benchmark
+    public void encrypt(Blackhole blackhole) {
+        for (String plainText : plainTexts) {
+            blackhole.consume(safeDBUtil.encrypt(plainText));
+        }
+    }
+
+    @Benchmark
+    public List<String> encryptBatch() {
+        return safeDBUtil.encryptBatch(plainTexts);
+    }
+}
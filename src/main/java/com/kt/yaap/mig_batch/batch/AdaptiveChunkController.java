@@ -0,0 +1,238 @@
+package com.kt.yaap.mig_batch.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * 청크 크기/fetch size 자동 조절 (migration.adaptive.enabled = true)
+ *
+ * Step마다 새 인스턴스를 만들어 CompletionPolicy(청크 크기)와 ChunkListener(측정)로 함께 등록합니다.
+ * 청크가 커밋될 때마다 처리 시간, 초당 처리 건수, 힙 사용률(마지막 GC 후)을 보고 다음 청크 크기를 정합니다.
+ *
+ * 조절 규칙 (우선순위 순, 결과는 [min-chunk-size, max-chunk-size]로 제한):
+ * 1. 힙 사용률 > heap-high-watermark      → 1/2로 축소 (넓은 테이블 OOM 방지)
+ *    GC 후 사용률은 다음 GC 전까지 그대로이므로 새 GC의 측정값에만 1회 반응 (같은 값으로 연속 축소하지 않음),
+ *    이미 반응한 측정값이면 아래 규칙으로 진행 (다시 키울 수 있음)
+ * 2. 청크 처리 시간 > target-chunk-millis  → 3/4로 축소 (트랜잭션/락 유지 시간 제한)
+ * 3. 직전에 키웠는데 초당 처리 건수가 10% 이상 감소 → 키우기 전 크기로 복귀
+ * 4. 청크 처리 시간 < target-chunk-millis / 2 이고 청크가 가득 찼음 → 1.5배 확대 (왕복 비용이 큰 좁은 테이블)
+ *
+ * fetch size는 청크 크기를 따라가며 max-fetch-size를 넘지 않습니다.
+ * (JdbcTableRecordReader만 조회 중 변경 가능, MyBatis Cursor는 open 시점 값 유지)
+ *
+ * 결정 내용은 로그와 Step ExecutionContext(adaptive.*)에 기록되며,
+ * 재시작 시 마지막 청크 크기부터 다시 시작합니다.
+ */
+public class AdaptiveChunkController extends SimpleCompletionPolicy implements ChunkListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveChunkController.class);
+
+    // Step ExecutionContext 키 (MigrationStatusListener가 Step 통계와 함께 출력)
+    public static final String CHUNK_SIZE_KEY = "adaptive.chunkSize";
+    public static final String FETCH_SIZE_KEY = "adaptive.fetchSize";
+    public static final String ADJUSTMENT_COUNT_KEY = "adaptive.adjustments";
+    public static final String LAST_DECISION_KEY = "adaptive.lastDecision";
+
+    private static final double THROUGHPUT_DROP_RATIO = 0.9;
+
+    private static final List<MemoryPoolMXBean> MEMORY_POOLS = ManagementFactory.getMemoryPoolMXBeans();
+    private static final List<GarbageCollectorMXBean> GARBAGE_COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private final String tableName;
+    private final TableRecordReader reader;
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final int maxFetchSize;
+    private final long targetChunkMillis;
+    private final double heapHighWatermark;
+
+    private int chunkSize;               // 현재 청크 크기 (SimpleCompletionPolicy는 조회 메서드가 없으므로 setChunkSize와 함께 갱신)
+    private boolean restored = false;
+    private long chunkStartNanos;
+    private long readCountAtStart;
+    private double lastRowsPerSecond;
+    private int sizeBeforeGrow;          // 직전 결정이 확대였으면 확대 전 크기, 아니면 0
+    private int adjustmentCount;
+    private long heapSignalGcCount = -1;   // 힙 규칙이 마지막으로 반응한 측정값의 GC 횟수
+    private long heapSignalUsedBytes = -1; // 힙 규칙이 마지막으로 반응한 측정값의 사용량
+
+    public AdaptiveChunkController(String tableName,
+                                   TableRecordReader reader,
+                                   int initialChunkSize,
+                                   int minChunkSize,
+                                   int maxChunkSize,
+                                   int maxFetchSize,
+                                   long targetChunkMillis,
+                                   double heapHighWatermark) {
+        super(Math.max(minChunkSize, Math.min(maxChunkSize, initialChunkSize)));
+        this.chunkSize = Math.max(minChunkSize, Math.min(maxChunkSize, initialChunkSize));
+        this.tableName = tableName;
+        this.reader = reader;
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.maxFetchSize = maxFetchSize;
+        this.targetChunkMillis = targetChunkMillis;
+        this.heapHighWatermark = heapHighWatermark;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        if (!restored) {
+            restored = true;
+            ExecutionContext executionContext = stepExecution.getExecutionContext();
+            if (executionContext.containsKey(CHUNK_SIZE_KEY)) {
+                chunkSize = clamp(executionContext.getInt(CHUNK_SIZE_KEY));
+                setChunkSize(chunkSize);
+                adjustmentCount = executionContext.getInt(ADJUSTMENT_COUNT_KEY, 0);
+                log.info("Adaptive chunk size restored for table: {}: {}", tableName, chunkSize);
+            }
+            reader.applyFetchSize(fetchSizeFor(chunkSize));
+        }
+        chunkStartNanos = System.nanoTime();
+        readCountAtStart = stepExecution.getReadCount();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        int rows = (int) (stepExecution.getReadCount() - readCountAtStart);
+        if (rows <= 0) {
+            return;  // 마지막 빈 청크
+        }
+
+        long elapsedMillis = Math.max(1L, (System.nanoTime() - chunkStartNanos) / 1000000L);
+        double rowsPerSecond = rows * 1000.0 / elapsedMillis;
+        HeapSample heap = heapUsageAfterGc();
+        double heapUsage = heap.ratio;
+
+        int current = chunkSize;
+        int next = current;
+        String reason = null;
+        if (heapUsage > heapHighWatermark && isNewHeapSignal(heap)) {
+            heapSignalGcCount = heap.gcCount;
+            heapSignalUsedBytes = heap.usedBytes;
+            next = current / 2;
+            reason = String.format("heap %.0f%% > %.0f%%", heapUsage * 100, heapHighWatermark * 100);
+        } else if (elapsedMillis > targetChunkMillis) {
+            next = current * 3 / 4;
+            reason = String.format("chunk %dms > target %dms", elapsedMillis, targetChunkMillis);
+        } else if (sizeBeforeGrow > 0 && rowsPerSecond < lastRowsPerSecond * THROUGHPUT_DROP_RATIO) {
+            next = sizeBeforeGrow;
+            reason = String.format("throughput %.0f/s < previous %.0f/s", rowsPerSecond, lastRowsPerSecond);
+        } else if (elapsedMillis < targetChunkMillis / 2 && rows >= current) {
+            next = current * 3 / 2;
+            reason = String.format("chunk %dms < target/2 %dms", elapsedMillis, targetChunkMillis / 2);
+        }
+        next = clamp(next);
+
+        sizeBeforeGrow = next > current ? current : 0;
+        lastRowsPerSecond = rowsPerSecond;
+
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        if (next != current) {
+            chunkSize = next;
+            setChunkSize(next);
+            adjustmentCount++;
+            reader.applyFetchSize(fetchSizeFor(next));
+
+            String decision = String.format("%d -> %d (%s, %.0f rows/s)", current, next, reason, rowsPerSecond);
+            executionContext.putString(LAST_DECISION_KEY, decision);
+            log.info("Adaptive chunk size for table: {}: {}", tableName, decision);
+        } else {
+            log.debug("Adaptive chunk size for table: {}: {} kept ({} rows in {}ms, heap {}%)",
+                    tableName, current, rows, elapsedMillis, Math.round(heapUsage * 100));
+        }
+        executionContext.putInt(CHUNK_SIZE_KEY, chunkSize);
+        executionContext.putInt(FETCH_SIZE_KEY, fetchSizeFor(chunkSize));
+        executionContext.putInt(ADJUSTMENT_COUNT_KEY, adjustmentCount);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        // 실패한 청크는 측정하지 않음 (롤백 시간이 섞이므로)
+    }
+
+    private int clamp(int chunkSize) {
+        return Math.max(minChunkSize, Math.min(maxChunkSize, chunkSize));
+    }
+
+    private int fetchSizeFor(int chunkSize) {
+        return Math.min(chunkSize, maxFetchSize);
+    }
+
+    /**
+     * 힙 규칙이 아직 반응하지 않은 측정값인지 (GC가 새로 일어났고 GC 후 사용량도 바뀐 경우)
+     *
+     * G1의 old 영역 GC 후 사용량은 mixed/full GC 때만 바뀌므로 young GC만 일어났으면 사용량이 그대로입니다.
+     */
+    private boolean isNewHeapSignal(HeapSample heap) {
+        if (heap.gcCount == heapSignalGcCount) {
+            return false;
+        }
+        return heap.usedBytes < 0 || heap.usedBytes != heapSignalUsedBytes;
+    }
+
+    /**
+     * 힙 사용률 (마지막 GC 직후 기준, 측정할 수 없으면 현재 사용량 기준)
+     *
+     * 현재 사용량에는 아직 수거되지 않은 객체가 섞여 있어 청크마다 크게 흔들리므로
+     * GC 후 사용량(old 영역 등)이 있으면 그 값을 사용합니다.
+     */
+    private static HeapSample heapUsageAfterGc() {
+        long gcCount = 0;
+        for (GarbageCollectorMXBean collector : GARBAGE_COLLECTORS) {
+            gcCount += Math.max(0L, collector.getCollectionCount());
+        }
+
+        double ratio = -1;
+        long usedBytes = -1;
+        for (MemoryPoolMXBean pool : MEMORY_POOLS) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported()) {
+                continue;
+            }
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage == null || usage.getMax() <= 0) {
+                continue;
+            }
+            double poolRatio = (double) usage.getUsed() / usage.getMax();
+            if (poolRatio > ratio) {
+                ratio = poolRatio;
+                usedBytes = usage.getUsed();
+            }
+        }
+        if (ratio >= 0) {
+            return new HeapSample(ratio, usedBytes, gcCount);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return new HeapSample((double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory(), -1, gcCount);
+    }
+
+    /**
+     * 힙 측정값 (usedBytes = GC 후 사용량, 현재 사용량 기준이면 -1)
+     */
+    private static final class HeapSample {
+
+        private final double ratio;
+        private final long usedBytes;
+        private final long gcCount;
+
+        HeapSample(double ratio, long usedBytes, long gcCount) {
+            this.ratio = ratio;
+            this.usedBytes = usedBytes;
+            this.gcCount = gcCount;
+        }
+    }
+}
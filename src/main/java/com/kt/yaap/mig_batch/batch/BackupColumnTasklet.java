@@ -0,0 +1,198 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.lang.NonNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 백업 컬럼(컬럼명_bak)을 PK 순서 batch 단위로 채우거나(backupStep_테이블명) 백업에서 복원하는(restoreStep_테이블명) Tasklet
+ *
+ * 테이블 전체를 한 번에 UPDATE하면 긴 트랜잭션 동안 행 락을 잡고 테이블 크기만큼 행 버전이 한꺼번에 생기므로,
+ * execute() 1회 = batchSize건 UPDATE 1문장 = 트랜잭션 1개로 나눠 처리합니다. (TaskletStep이 반복 호출)
+ * - BACKUP: 백업이 비어 있는 컬럼만 원본 값으로 채움 (이미 백업된 행/컬럼은 그대로, 암호화 이후 재실행해도 원본 백업 유지)
+ * - RESTORE: 백업이 있고 현재 값과 다른 컬럼만 백업 값으로 되돌림 (이미 복원된 행은 그대로)
+ * - 마지막 PK를 같은 트랜잭션에서 ExecutionContext에 저장 → 실패 후 재시작 시 다음 PK부터 이어서 처리
+ * - 파티션 Worker로 실행되면 TableRangePartitioner의 선두 PK 범위 안에서만 처리 (범위별 병렬)
+ *
+ * Step 건수: readCount = 범위에서 읽은 행 수, writeCount = 백업을 채운(복원한) 행 수, filterCount = 변경 없이 건너뛴 행 수
+ *
+ * 사용법: Step마다 new로 생성하고 StepExecutionListener로도 등록 (beforeStep에서 범위/체크포인트 초기화)
+ */
+public class BackupColumnTasklet implements Tasklet, StepExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BackupColumnTasklet.class);
+
+    /**
+     * 복사 방향
+     */
+    public enum Direction {
+        /** 원본 → 백업 컬럼 (copyBackupColumnsBatch) */
+        BACKUP,
+        /** 백업 컬럼 → 원본 (restoreFromBackupBatch) */
+        RESTORE
+    }
+
+    // ExecutionContext 키 (체크포인트)
+    static final String LAST_PK_KEY_PREFIX = "backup.lastPk.";  // + PK 컬럼명
+    static final String COPIED_COUNT_KEY = "backup.copiedCount";
+    static final String SCANNED_COUNT_KEY = "backup.scannedCount";
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final String tableName;
+    private final List<String> targetColumns;
+    private final String schemaName;
+    private final int batchSize;
+    private final Direction direction;
+
+    private Map<String, Object> params;  // beforeStep에서 구성, batch마다 resumePkValues 갱신
+    private List<String> pkColumnNames;
+    private long copiedCount;
+    private long scannedCount;
+    private long batchCount;  // 이번 실행에서 처리한 batch 수 (진행 로그 주기)
+    private String partitionLabel = "";
+
+    public BackupColumnTasklet(SqlSessionFactory sqlSessionFactory,
+                               String tableName,
+                               List<String> targetColumns,
+                               String schemaName,
+                               int batchSize,
+                               Direction direction) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.tableName = tableName;
+        this.targetColumns = targetColumns;
+        this.schemaName = schemaName;
+        this.batchSize = Math.max(1, batchSize);
+        this.direction = direction;
+    }
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
+
+            Map<String, Object> pkParams = new HashMap<String, Object>();
+            pkParams.put("tableName", tableName);
+            pkParams.put("schemaName", schemaName);
+            pkColumnNames = mapper.selectPrimaryKeyColumns(pkParams);
+            if (pkColumnNames == null || pkColumnNames.isEmpty()) {
+                throw new RuntimeException("Primary Key not found for table: " + tableName);
+            }
+
+            Map<String, Object> typeParams = new HashMap<String, Object>(pkParams);
+            typeParams.put("columnNames", pkColumnNames);
+            Map<String, String> pkColumnTypes = new HashMap<String, String>();
+            for (Map<String, Object> row : mapper.selectColumnTypes(typeParams)) {
+                pkColumnTypes.put((String) row.get("column_name"), (String) row.get("data_type"));
+            }
+
+            params = new HashMap<String, Object>();
+            params.put("tableName", tableName);
+            params.put("pkColumnNames", pkColumnNames);
+            params.put("pkColumnTypes", pkColumnTypes);
+            params.put("targetColumnNames", targetColumns);
+            params.put("batchSize", batchSize);
+        } finally {
+            sqlSession.close();
+        }
+
+        partitionLabel = "";
+        if (executionContext.containsKey(TableRangePartitioner.PARTITION_INDEX_KEY)) {
+            partitionLabel = " [partition" + executionContext.getInt(TableRangePartitioner.PARTITION_INDEX_KEY) + "]";
+            params.put("leadingPkColumn", pkColumnNames.get(0));
+            params.put("leadingPkType", executionContext.getString(TableRangePartitioner.PK_TYPE_KEY));
+            params.put("lowerBound", executionContext.getString(TableRangePartitioner.LOWER_BOUND_KEY, null));
+            params.put("upperBound", executionContext.getString(TableRangePartitioner.UPPER_BOUND_KEY, null));
+        }
+
+        copiedCount = executionContext.getLong(COPIED_COUNT_KEY, 0L);
+        scannedCount = executionContext.getLong(SCANNED_COUNT_KEY, 0L);
+        batchCount = 0;
+        if (executionContext.containsKey(LAST_PK_KEY_PREFIX + pkColumnNames.get(0))) {
+            Map<String, Object> resumePkValues = new HashMap<String, Object>();
+            for (String pkCol : pkColumnNames) {
+                String value = executionContext.getString(LAST_PK_KEY_PREFIX + pkCol, null);
+                if (value == null) {
+                    throw new IllegalStateException(
+                        String.format("Incomplete backup checkpoint: table=%s, missing pk_column=%s", tableName, pkCol));
+                }
+                resumePkValues.put(pkCol, value);
+            }
+            params.put("resumePkValues", resumePkValues);
+            log.info("Resuming {} for table: {}{} after PK {} ({} rows scanned before)",
+                    direction, tableName, partitionLabel, resumePkValues, scannedCount);
+        } else {
+            log.info("Starting {} for table: {}{}, columns: {} (batch size: {})",
+                    direction, tableName, partitionLabel, targetColumns, batchSize);
+        }
+    }
+
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) throws Exception {
+        Map<String, Object> result;
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
+            result = direction == Direction.RESTORE
+                    ? mapper.restoreFromBackupBatch(params)
+                    : mapper.copyBackupColumnsBatch(params);
+        } finally {
+            sqlSession.close();
+        }
+
+        int scanned = ((Number) result.get("scanned_rows")).intValue();
+        int copied = ((Number) result.get("copied_rows")).intValue();
+        if (scanned == 0) {
+            return RepeatStatus.FINISHED;
+        }
+
+        // 다음 batch의 keyset 조건 + 체크포인트 (트랜잭션 커밋 시 함께 저장)
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        Map<String, Object> resumePkValues = new HashMap<String, Object>();
+        for (String pkCol : pkColumnNames) {
+            String value = (String) result.get("pk_" + pkCol);
+            resumePkValues.put(pkCol, value);
+            executionContext.putString(LAST_PK_KEY_PREFIX + pkCol, value);
+        }
+        params.put("resumePkValues", resumePkValues);
+
+        scannedCount += scanned;
+        copiedCount += copied;
+        executionContext.putLong(SCANNED_COUNT_KEY, scannedCount);
+        executionContext.putLong(COPIED_COUNT_KEY, copiedCount);
+        // StepContribution에는 읽은 건수를 한 번에 더하는 메서드가 없음 (진행률/ETA는 readCount 기준)
+        for (int i = 0; i < scanned; i++) {
+            contribution.incrementReadCount();
+        }
+        contribution.incrementWriteCount(copied);
+        contribution.incrementFilterCount(scanned - copied);
+
+        if (++batchCount % 20 == 0) {
+            log.info("{} for table: {}{}: {} rows scanned, {} updated", direction, tableName, partitionLabel, scannedCount, copiedCount);
+        }
+        return scanned < batchSize ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        log.info("{} for table: {}{} finished: {} rows scanned, {} updated ({})",
+                direction, tableName, partitionLabel, scannedCount, copiedCount, stepExecution.getStatus());
+        return null;
+    }
+}
@@ -0,0 +1,232 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UPDATE ... FROM (VALUES ...) 방식 Writer (writer_mode = BULK)
+ *
+ * 동작:
+ * 1. 청크를 컬럼 세트(실제 암호화된 컬럼 조합)별로 그룹화
+ *    - 재수행 시 레코드마다 암호화 대상 컬럼이 다를 수 있으므로 같은 조합끼리만 묶음
+ *    - 조합은 레코드의 슬롯 비트마스크로 비교 (레코드별 List 생성 없음, 대상 컬럼 64개까지)
+ * 2. 그룹마다 bulkUpdateTargetRecords를 하위 배치 단위로 실행
+ *    - 하위 배치 크기 = min(migration.bulk.max-rows, 32767 / (PK 수 + 컬럼 수))
+ *    - PK 값은 실제 컬럼 타입으로 CAST (타입은 테이블별로 한 번만 조회)
+ * 3. 하위 배치가 실패하면 SAVEPOINT로 되돌린 뒤 해당 하위 배치만 레코드 단위 UPDATE로 재시도
+ *    - 레코드 단위로도 실패하면 예외를 던져 청크 전체 롤백
+ *
+ * 성능:
+ * - 청크당 SQL 수: 레코드 수 → 컬럼 세트 수 × 하위 배치 수 (보통 1~2개)
+ */
+@Component
+public class BulkEncryptionWriter implements ItemWriter<TargetRecordEntity> {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkEncryptionWriter.class);
+
+    /**
+     * PostgreSQL 확장 쿼리 프로토콜의 바인드 파라미터 최대 개수 (Int16)
+     */
+    static final int MAX_BIND_PARAMETERS = 32767;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private MigrationMetrics migrationMetrics;
+
+    @Value("${migration.bulk.max-rows:1000}")
+    private int maxRowsPerStatement;
+
+    @Value("${migration.schema-name:public}")
+    private String schemaName;
+
+    // 테이블명 → (PK 컬럼명 → 데이터 타입), 테이블별 최초 1회 조회
+    private final Map<String, Map<String, String>> pkColumnTypeCache = new ConcurrentHashMap<String, Map<String, String>>();
+
+    @Override
+    public void write(@NonNull List<? extends TargetRecordEntity> items) throws Exception {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        long writeStart = System.nanoTime();
+        TargetRecordEntity first = items.get(0);
+        String tableName = first.getTableName();
+        List<String> pkColumnNames = first.getPkColumnNames();
+
+        // MyBatis 세션과 SAVEPOINT 모두 청크 트랜잭션에 바인딩된 동일 커넥션 사용
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
+            Map<String, String> pkColumnTypes = getPkColumnTypes(mapper, tableName, pkColumnNames);
+
+            int updateCount = 0;
+            int statementCount = 0;
+            int fallbackCount = 0;
+
+            if (first.getTargetColumnNames().size() > Long.SIZE) {
+                // 컬럼 비트마스크로 그룹화할 수 없으므로 레코드 단위 UPDATE로 처리
+                log.warn("Too many target columns for bulk update ({} > {}): table={}. Using per-record update.",
+                        first.getTargetColumnNames().size(), Long.SIZE, tableName);
+                updateCount = updateRecordByRecord(mapper, new ArrayList<TargetRecordEntity>(items));
+                migrationMetrics.recordWrite(tableName, WriterMode.BULK.name(), writeStart, updateCount);
+                log.info("Successfully updated {} records for table: {} (per-record)", updateCount, tableName);
+                return;
+            }
+
+            for (Map.Entry<Long, List<TargetRecordEntity>> group : groupByColumnSet(items).entrySet()) {
+                List<Integer> columnSlots = new ArrayList<Integer>();
+                List<String> columnNames = new ArrayList<String>();
+                for (int slot = 0; slot < first.getTargetColumnNames().size(); slot++) {
+                    if ((group.getKey() & (1L << slot)) != 0) {
+                        columnSlots.add(slot);
+                        columnNames.add(first.getTargetColumnNames().get(slot));
+                    }
+                }
+                List<TargetRecordEntity> records = group.getValue();
+
+                int batchSize = rowsPerStatement(maxRowsPerStatement, pkColumnNames.size() + columnNames.size());
+
+                for (int from = 0; from < records.size(); from += batchSize) {
+                    List<TargetRecordEntity> subBatch = records.subList(from, Math.min(from + batchSize, records.size()));
+                    statementCount++;
+
+                    Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+                    try {
+                        updateCount += mapper.bulkUpdateTargetRecords(
+                                createBulkParams(tableName, pkColumnNames, pkColumnTypes, columnNames, columnSlots, subBatch));
+                        if (savepoint != null) {
+                            connection.releaseSavepoint(savepoint);
+                        }
+                    } catch (Exception e) {
+                        log.warn("Bulk update failed for table: {}, columns: {}, {} records. Falling back to per-record update: {}",
+                                tableName, columnNames, subBatch.size(), e.getMessage());
+                        if (savepoint != null) {
+                            connection.rollback(savepoint);
+                        }
+                        updateCount += updateRecordByRecord(mapper, subBatch);
+                        fallbackCount++;
+                    }
+                }
+            }
+
+            migrationMetrics.recordWrite(tableName, WriterMode.BULK.name(), writeStart, updateCount);
+            log.info("Successfully updated {} records for table: {} (bulk: {} statements, {} fallbacks)",
+                    updateCount, tableName, statementCount, fallbackCount);
+        } catch (Exception e) {
+            log.error("Error bulk updating records for table: {}", tableName, e);
+            throw e;
+        } finally {
+            sqlSession.close();
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * UPDATE 문 1개에 넣을 행 수 (행마다 PK + 컬럼 수만큼 바인드하므로 MAX_BIND_PARAMETERS를 넘지 않게, 최소 1행)
+     */
+    static int rowsPerStatement(int maxRowsPerStatement, int parametersPerRow) {
+        return Math.max(1, Math.min(maxRowsPerStatement, MAX_BIND_PARAMETERS / parametersPerRow));
+    }
+
+    /**
+     * 실제 암호화된 컬럼 조합(슬롯 비트마스크)별로 레코드 그룹화 (청크 내 순서 유지)
+     */
+    private Map<Long, List<TargetRecordEntity>> groupByColumnSet(List<? extends TargetRecordEntity> items) {
+        Map<Long, List<TargetRecordEntity>> groups = new LinkedHashMap<Long, List<TargetRecordEntity>>();
+        for (TargetRecordEntity item : items) {
+            long columnMask = item.getEncryptedColumnMask();
+            if (columnMask == 0L) {
+                continue;
+            }
+            groups.computeIfAbsent(columnMask, k -> new ArrayList<TargetRecordEntity>()).add(item);
+        }
+        return groups;
+    }
+
+    private Map<String, Object> createBulkParams(String tableName,
+                                                 List<String> pkColumnNames,
+                                                 Map<String, String> pkColumnTypes,
+                                                 List<String> columnNames,
+                                                 List<Integer> columnSlots,
+                                                 List<TargetRecordEntity> records) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("tableName", tableName);
+        params.put("pkColumnNames", pkColumnNames);
+        params.put("pkColumnTypes", pkColumnTypes);
+        params.put("allColumnNames", columnNames);
+        params.put("columnSlots", columnSlots);
+        params.put("records", records);
+        return params;
+    }
+
+    /**
+     * 실패한 하위 배치만 레코드 단위로 재시도 (EncryptionWriter와 동일한 UPDATE 사용)
+     */
+    private int updateRecordByRecord(TargetTableMapper mapper, List<TargetRecordEntity> records) {
+        int updateCount = 0;
+        for (TargetRecordEntity record : records) {
+            Map<String, Object> updateParams = new HashMap<String, Object>();
+            updateParams.put("tableName", record.getTableName());
+            updateParams.put("pkColumnNames", record.getPkColumnNames());
+            updateParams.put("targetColumnNames", record.getTargetColumnNames());
+            updateParams.put("record", record);
+
+            try {
+                updateCount += mapper.updateTargetRecord(updateParams);
+            } catch (Exception e) {
+                log.error("Per-record update failed: table={}, pk={}", record.getTableName(), record.getPkDisplay());
+                throw e;
+            }
+        }
+        return updateCount;
+    }
+
+    private Map<String, String> getPkColumnTypes(TargetTableMapper mapper, String tableName, List<String> pkColumnNames) {
+        Map<String, String> cached = pkColumnTypeCache.get(tableName);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("tableName", tableName);
+        params.put("schemaName", schemaName);
+        params.put("columnNames", pkColumnNames);
+
+        Map<String, String> pkColumnTypes = new HashMap<String, String>();
+        for (Map<String, Object> row : mapper.selectColumnTypes(params)) {
+            pkColumnTypes.put((String) row.get("column_name"), (String) row.get("data_type"));
+        }
+        for (String pkCol : pkColumnNames) {
+            if (!pkColumnTypes.containsKey(pkCol)) {
+                throw new IllegalStateException(
+                    String.format("PK column type not found: table=%s, pk_column=%s", tableName, pkCol));
+            }
+        }
+
+        pkColumnTypeCache.put(tableName, pkColumnTypes);
+        return pkColumnTypes;
+    }
+}
@@ -0,0 +1,83 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * 청크 단위 컬럼형 값 버퍼 (EncryptionProcessor.processChunk용)
+ *
+ * 청크의 암호화 대상 값을 컬럼(슬롯) 순서로 연속 배열에 모아 encryptBatch에 한 번에 넘기고,
+ * 결과를 같은 위치(레코드 인덱스, 슬롯)로 되돌려 씁니다.
+ * - 값/위치를 기본형 배열로 보관하므로 값마다 Integer/Map 객체를 만들지 않음
+ * - 용량 = 레코드 수 × 대상 컬럼 수 (청크당 배열 3개만 할당)
+ */
+final class ColumnarValueBuffer {
+
+    private final String[] values;
+    private final int[] rows;
+    private final int[] slots;
+    private int size;
+
+    ColumnarValueBuffer(int rowCount, int columnCount) {
+        int capacity = rowCount * columnCount;
+        this.values = new String[capacity];
+        this.rows = new int[capacity];
+        this.slots = new int[capacity];
+    }
+
+    void add(int row, int slot, String value) {
+        values[size] = value;
+        rows[size] = row;
+        slots[size] = slot;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String value(int index) {
+        return values[index];
+    }
+
+    int slot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * 버퍼 내용을 복사 없이 보여주는 읽기 전용 List (encryptBatch 입력)
+     */
+    List<String> values() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                if (index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return values[index];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * 일괄 처리 결과를 원래 레코드/슬롯의 암호화 값으로 기록
+     *
+     * @param results values()와 같은 순서, 같은 크기의 결과
+     */
+    void scatter(List<String> results, List<TargetRecordEntity> items) {
+        if (results.size() != size) {
+            throw new IllegalStateException(
+                String.format("Batch result size mismatch: expected=%d, actual=%d", size, results.size()));
+        }
+        for (int i = 0; i < size; i++) {
+            items.get(rows[i]).setEncryptedValue(slots[i], results.get(i));
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * COPY + UPDATE ... FROM 방식 Writer (writer_mode = COPY)
+ *
+ * 동작:
+ * 1. 세션 임시 테이블(mig_stage_테이블명)이 없으면 생성 (ON COMMIT DELETE ROWS → 청크 커밋 시 자동 비움)
+ * 2. 청크의 (PK, 암호화 값)을 PostgreSQL COPY로 임시 테이블에 스트리밍
+ * 3. UPDATE 대상 SET 컬럼 = COALESCE(임시.컬럼, 대상.컬럼) FROM 임시 WHERE PK 일치 (1회)
+ *
+ * 성능:
+ * - 청크당 DB 왕복: 레코드 수만큼의 UPDATE → COPY 1회 + UPDATE 1회
+ * - SQL 파싱: 청크당 UPDATE 1회 (BATCH 모드는 레코드마다 바인딩/실행)
+ *
+ * 재수행 안전성:
+ * - 레코드마다 암호화된 컬럼 세트가 달라도, 값이 없는 컬럼은 임시 테이블에 NULL로 적재되고
+ *   COALESCE로 기존 값을 유지하므로 NULL 덮어쓰기 없음
+ *
+ * 힙 밖 청크 버퍼 (migration.spill.enabled):
+ * - spill(): 암호화된 행을 COPY 형식 그대로 OffHeapRowBuffer에 이어서 기록하고 레코드의 문자열 해제
+ *   (EncryptionChunkProcessor가 청크를 구간별로 암호화하면서 구간마다 호출)
+ * - writeSpilled(): 레코드 대신 버퍼 내용을 COPY로 흘려보냄 (이후 동작은 write()와 동일)
+ * 
+ * 주의:
+ * - 청크 트랜잭션의 커넥션을 그대로 사용해야 임시 테이블이 보이므로 트랜잭션 안에서만 호출 가능
+ */
+@Component
+public class CopyEncryptionWriter implements ItemWriter<TargetRecordEntity> {
+
+    private static final Logger log = LoggerFactory.getLogger(CopyEncryptionWriter.class);
+
+    private static final String STAGING_TABLE_PREFIX = "mig_stage_";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private MigrationMetrics migrationMetrics;
+
+    @Override
+    public void write(@NonNull List<? extends TargetRecordEntity> items) throws Exception {
+        write(items, null);
+    }
+
+    /**
+     * spill()로 버퍼에 옮긴 청크 기록
+     *
+     * @param items 청크 레코드 (값은 해제된 상태, 테이블/건수 확인용)
+     * @param spilled items를 spill()한 버퍼
+     */
+    public void writeSpilled(List<? extends TargetRecordEntity> items, OffHeapRowBuffer spilled) throws Exception {
+        write(items, spilled);
+    }
+
+    /**
+     * 행을 COPY 형식(CSV, UTF-8)으로 버퍼 끝에 기록하고 레코드의 원본/암호화 문자열 해제
+     * (청크 시작 시 호출부에서 buffer.reset())
+     */
+    public void spill(List<? extends TargetRecordEntity> items, OffHeapRowBuffer buffer) throws Exception {
+        StringBuilder line = new StringBuilder(256);
+        for (TargetRecordEntity item : items) {
+            line.setLength(0);
+            appendCsvRow(line, item);
+            byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.appendRow(bytes, 0, bytes.length);
+            item.releaseValues();
+        }
+    }
+
+    private void write(List<? extends TargetRecordEntity> items, OffHeapRowBuffer spilled) throws Exception {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(
+                "CopyEncryptionWriter requires an active chunk transaction (staging table is ON COMMIT DELETE ROWS)");
+        }
+
+        long writeStart = System.nanoTime();
+        TargetRecordEntity first = items.get(0);
+        String tableName = first.getTableName();
+        String stagingTableName = STAGING_TABLE_PREFIX + tableName;
+
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("tableName", tableName);
+        params.put("stagingTableName", stagingTableName);
+        params.put("pkColumnNames", first.getPkColumnNames());
+        params.put("targetColumnNames", first.getTargetColumnNames());
+
+        // MyBatis 세션과 COPY 모두 청크 트랜잭션에 바인딩된 동일 커넥션 사용
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
+
+            // 1. 임시 테이블 준비 (세션당 최초 1회 생성)
+            mapper.createStagingTable(params);
+
+            // 2. COPY로 청크 적재 (힙 밖 버퍼에 옮긴 청크는 버퍼 내용을 그대로 전송)
+            long copiedRows = copyToStagingTable(connection, buildCopySql(stagingTableName, first), items, spilled);
+
+            // 3. 집합 기반 UPDATE 1회
+            int updateCount = mapper.updateFromStagingTable(params);
+            migrationMetrics.recordWrite(tableName, WriterMode.COPY.name(), writeStart, updateCount);
+
+            if (spilled != null) {
+                log.info("Successfully updated {} records for table: {} (COPY staging, copied {} rows, {} bytes off-heap, {} bytes in spill file)",
+                        updateCount, tableName, copiedRows, spilled.size(), spilled.fileBytes());
+            } else {
+                log.info("Successfully updated {} records for table: {} (COPY staging, copied {} rows)",
+                        updateCount, tableName, copiedRows);
+            }
+        } catch (Exception e) {
+            log.error("Error updating records via COPY staging for table: {}", tableName, e);
+            throw e;
+        } finally {
+            sqlSession.close();
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static String buildCopySql(String stagingTableName, TargetRecordEntity first) {
+        List<String> pkColumnNames = first.getPkColumnNames();
+        List<String> targetColumnNames = first.getTargetColumnNames();
+
+        StringBuilder sql = new StringBuilder("COPY ").append(stagingTableName).append(" (");
+        for (String pkCol : pkColumnNames) {
+            sql.append(pkCol).append(',');
+        }
+        for (int i = 0; i < targetColumnNames.size(); i++) {
+            sql.append(i > 0 ? "," : "").append(targetColumnNames.get(i));
+        }
+        return sql.append(") FROM STDIN WITH (FORMAT csv)").toString();
+    }
+
+    private long copyToStagingTable(Connection connection, String copySql,
+                                    List<? extends TargetRecordEntity> items,
+                                    OffHeapRowBuffer spilled) throws Exception {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        CopyIn copyIn = pgConnection.getCopyAPI().copyIn(copySql);
+        try {
+            if (spilled != null) {
+                spilled.forEachBlock(copyIn::writeToCopy);
+                return copyIn.endCopy();
+            }
+
+            StringBuilder line = new StringBuilder(256);
+            for (TargetRecordEntity item : items) {
+                line.setLength(0);
+                appendCsvRow(line, item);
+
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * 레코드 1행을 CSV로 추가 (PK 컬럼들, 대상 컬럼들 순서, 줄바꿈 포함)
+     */
+    static void appendCsvRow(StringBuilder line, TargetRecordEntity item) {
+        int pkCount = item.getPkColumnNames().size();
+        int targetCount = item.getTargetColumnNames().size();
+        for (int i = 0; i < pkCount; i++) {
+            appendCsvValue(line, item.getPkValue(i));
+            line.append(',');
+        }
+        for (int i = 0; i < targetCount; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            // 암호화하지 않은 컬럼은 NULL (UPDATE 시 COALESCE로 기존 값 유지)
+            appendCsvValue(line, item.getEncryptedValue(i));
+        }
+        line.append('\n');
+    }
+
+    /**
+     * CSV 값 추가: NULL은 따옴표 없는 빈 값, 그 외는 큰따옴표로 감싸고 내부 큰따옴표는 두 번 씀
+     */
+    private static void appendCsvValue(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
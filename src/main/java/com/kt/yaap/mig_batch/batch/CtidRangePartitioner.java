@@ -0,0 +1,96 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 물리 블록(ctid) 범위로 테이블을 N개로 나누는 Partitioner (scan_mode = CTID)
+ *
+ * 분할 방식:
+ * - 블록 수 = pg_relation_size / block_size (테이블을 읽지 않으므로 즉시 완료)
+ * - [0, 블록 수)를 gridSize 등분하여 ctid &gt;= '(하한,0)' AND ctid &lt; '(상한,0)' 범위로 조회
+ * - 첫 범위는 하한 없음, 마지막 범위는 상한 없음 (분할 이후 테이블 끝에 추가된 블록도 포함)
+ *
+ * PK 순서와 무관하게 나누므로 랜덤 UUID PK처럼 선두 PK 범위 분할/정렬 비용이 큰 테이블에 적합합니다.
+ * PostgreSQL 14 이상은 TID Range Scan으로 범위의 블록만 읽고, 그 이전 버전은 범위마다 전체 테이블을 스캔하므로
+ * 파티션 수만큼 읽기 양이 늘어납니다.
+ *
+ * 각 파티션의 ExecutionContext에는 블록 범위가 저장되며,
+ * TableRecordReader가 open() 시점에 읽어 ctid 범위 조건으로 정렬 없이 조회합니다.
+ */
+public class CtidRangePartitioner implements Partitioner {
+
+    private static final Logger log = LoggerFactory.getLogger(CtidRangePartitioner.class);
+
+    public static final String LOWER_BLOCK_KEY = "partition.ctidLowerBlock";
+    public static final String UPPER_BLOCK_KEY = "partition.ctidUpperBlock";
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final String tableName;
+    private final String schemaName;
+
+    public CtidRangePartitioner(SqlSessionFactory sqlSessionFactory,
+                                String tableName,
+                                String schemaName) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.tableName = tableName;
+        this.schemaName = schemaName;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            Map<String, Object> params = new HashMap<String, Object>();
+            params.put("tableName", tableName);
+            params.put("schemaName", schemaName);
+            Long blockCount = sqlSession.getMapper(TargetTableMapper.class).selectRelationBlockCount(params);
+            if (blockCount == null) {
+                throw new RuntimeException(
+                    String.format("Table not found: schema=%s, table=%s", schemaName, tableName));
+            }
+
+            long[] boundaries = splitBlocks(blockCount, gridSize);
+            Map<String, ExecutionContext> partitions = new LinkedHashMap<String, ExecutionContext>();
+            int partitionCount = boundaries.length + 1;
+            for (int i = 0; i < partitionCount; i++) {
+                ExecutionContext context = new ExecutionContext();
+                context.putInt(TableRangePartitioner.PARTITION_INDEX_KEY, i);
+                if (i > 0) {
+                    context.putLong(LOWER_BLOCK_KEY, boundaries[i - 1]);
+                }
+                if (i < partitionCount - 1) {
+                    context.putLong(UPPER_BLOCK_KEY, boundaries[i]);
+                }
+                partitions.put("partition" + i, context);
+            }
+
+            log.info("Partitioned table: {} by ctid ({} blocks) into {} ranges (requested: {})",
+                    tableName, blockCount, partitionCount, gridSize);
+            return partitions;
+        } finally {
+            sqlSession.close();
+        }
+    }
+
+    /**
+     * [0, blockCount) 구간을 gridSize 등분한 블록 경계 (블록 수가 gridSize보다 적으면 블록 수만큼만 분할)
+     */
+    static long[] splitBlocks(long blockCount, int gridSize) {
+        int ranges = (int) Math.max(1, Math.min(gridSize, blockCount));
+        long[] boundaries = new long[ranges - 1];
+        for (int i = 1; i < ranges; i++) {
+            boundaries[i - 1] = blockCount * i / ranges;
+        }
+        return boundaries;
+    }
+}
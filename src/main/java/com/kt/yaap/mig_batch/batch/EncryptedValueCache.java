@@ -0,0 +1,236 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kt.yaap.mig_batch.config.SafeDBConfig;
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
+import com.kt.yaap.mig_batch.model.TableSchema;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 평문 → 암호문 캐시 (migration.encryption.cache.enabled = true)
+ *
+ * 수신자명, 지역 코드처럼 같은 값이 반복되는 컬럼은 SafeDB 호출 대부분이 같은 평문의 재암호화입니다.
+ * Job 전체가 공유하는 Caffeine 캐시 1개(W-TinyLFU 제거, 키 = 테이블·컬럼 + 평문)를 두고
+ * 이미 암호화한 평문은 SafeDB를 호출하지 않습니다.
+ *
+ * 제약:
+ * - safedb.deterministic = true (같은 평문 → 항상 같은 암호문)일 때만 사용 가능, 아니면 기동 실패
+ *   (IV가 매번 달라지는 방식에서 캐시를 쓰면 같은 값이 같은 암호문으로 저장되어 암호화 정책이 달라짐)
+ * - 범위: 테이블·컬럼별로 키를 구분, Job 시작/종료 시 비움 (MigrationJobConfig에서 Job 리스너로 등록)
+ * - 메모리: 모든 테이블·컬럼 합계 max-bytes 이하 (평문 + 암호문 문자열 크기 추정치 기준)
+ *   테이블 수와 관계없이 상한이 고정되고, 끝난 테이블의 항목은 사용 중인 테이블의 항목에 밀려 제거됨
+ *
+ * 지표: cache.gets(result=hit|miss), cache.size, cache.evictions 등 (cache=encryptedValue, 전체 합계)
+ * 컬럼별 적중률은 Job 종료 시 로그로 출력
+ */
+@Component
+public class EncryptedValueCache implements JobExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(EncryptedValueCache.class);
+
+    static final String CACHE_NAME = "encryptedValue";
+
+    /**
+     * 캐시 항목 1개의 고정 크기 추정치 (String 객체 2개 + char[] 헤더 2개 + 키 객체 + 캐시 노드)
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 2 * (24 + 16) + 24 + 64;
+
+    @Autowired
+    private SafeDBConfig safeDBConfig;
+
+    @Autowired
+    private MigrationMetrics migrationMetrics;
+
+    @Value("${migration.encryption.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${migration.encryption.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    // 모든 테이블·컬럼이 공유하는 캐시 (validate()에서 생성)
+    private Cache<Key, String> cache;
+
+    // 테이블명 → 대상 컬럼 슬롯 순서의 캐시 뷰 (컬럼별 키 구분 + 적중률 집계)
+    private final Map<String, ColumnCache[]> tableCaches = new ConcurrentHashMap<String, ColumnCache[]>();
+
+    @PostConstruct
+    public void validate() {
+        if (!enabled) {
+            return;
+        }
+        if (!safeDBConfig.isDeterministic()) {
+            throw new IllegalStateException(
+                "migration.encryption.cache.enabled requires safedb.deterministic=true (same plaintext must always produce the same ciphertext)");
+        }
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, String encryptedText) -> weigh(key.plainText, encryptedText))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(migrationMetrics.getRegistry(), cache, CACHE_NAME);
+        log.info("Encrypted value cache enabled (max {} bytes shared by all tables)", maxBytes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 테이블의 컬럼별 캐시 (TableSchema 대상 컬럼 슬롯 순서)
+     *
+     * @return 캐시를 사용하지 않으면 null
+     */
+    public ColumnCache[] forSchema(TableSchema schema) {
+        if (!enabled) {
+            return null;
+        }
+        return tableCaches.computeIfAbsent(schema.getTableName(), tableName -> {
+            List<String> columns = schema.getTargetColumnNames();
+            ColumnCache[] caches = new ColumnCache[columns.size()];
+            for (int i = 0; i < caches.length; i++) {
+                caches[i] = new ColumnCache(cache, tableName, columns.get(i));
+            }
+            return caches;
+        });
+    }
+
+    /**
+     * Job 시작: 이전 실행의 캐시 내용 제거 (캐시 객체와 지표는 유지)
+     */
+    @Override
+    public void beforeJob(@NonNull JobExecution jobExecution) {
+        invalidateAll();
+    }
+
+    /**
+     * Job 종료: 컬럼별/전체 적중률 출력 후 캐시 내용 제거
+     */
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        if (cache == null) {
+            return;
+        }
+        for (ColumnCache[] caches : tableCaches.values()) {
+            for (ColumnCache columnCache : caches) {
+                long hits = columnCache.hits.sum();
+                long misses = columnCache.misses.sum();
+                if (hits + misses > 0) {
+                    log.info("📊 Encrypted value cache for table: {}, column: {} | Hit rate: {}%, Hits: {}, Misses: {}",
+                            columnCache.tableName, columnCache.columnName,
+                            Math.round(hits * 1000.0 / (hits + misses)) / 10.0, hits, misses);
+                }
+            }
+        }
+        CacheStats stats = cache.stats();
+        if (stats.requestCount() > 0) {
+            log.info("📊 Encrypted value cache total | Hit rate: {}%, Hits: {}, Misses: {}, Evictions: {}, Entries: {}",
+                    Math.round(stats.hitRate() * 1000) / 10.0, stats.hitCount(), stats.missCount(),
+                    stats.evictionCount(), cache.estimatedSize());
+        }
+        invalidateAll();
+    }
+
+    private void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        for (ColumnCache[] caches : tableCaches.values()) {
+            for (ColumnCache columnCache : caches) {
+                columnCache.hits.reset();
+                columnCache.misses.reset();
+            }
+        }
+    }
+
+    /**
+     * 평문/암호문 문자열의 대략적인 힙 크기 (char[] 기준 2바이트/문자)
+     */
+    static int weigh(String plainText, String encryptedText) {
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * (plainText.length() + encryptedText.length());
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    /**
+     * 공유 캐시의 키 (컬럼 뷰 + 평문, 컬럼 뷰는 인스턴스 동일성으로 구분)
+     */
+    private static final class Key {
+
+        private final ColumnCache column;
+        private final String plainText;
+
+        Key(ColumnCache column, String plainText) {
+            this.column = column;
+            this.plainText = plainText;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return column == key.column && plainText.equals(key.plainText);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(column) + plainText.hashCode();
+        }
+    }
+
+    /**
+     * 컬럼 1개의 평문 → 암호문 캐시 뷰 (공유 캐시에 컬럼별 키로 저장, 적중률은 컬럼별 집계)
+     */
+    public static final class ColumnCache {
+
+        private final Cache<Key, String> cache;
+        private final String tableName;
+        private final String columnName;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        ColumnCache(Cache<Key, String> cache, String tableName, String columnName) {
+            this.cache = cache;
+            this.tableName = tableName;
+            this.columnName = columnName;
+        }
+
+        /**
+         * @return 캐시된 암호문, 없으면 null
+         */
+        public String get(String plainText) {
+            String encryptedText = cache.getIfPresent(new Key(this, plainText));
+            if (encryptedText != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+            return encryptedText;
+        }
+
+        public void put(String plainText, String encryptedText) {
+            if (encryptedText != null) {
+                cache.put(new Key(this, plainText), encryptedText);
+            }
+        }
+    }
+}
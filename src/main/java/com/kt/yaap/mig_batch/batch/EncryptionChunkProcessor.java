@@ -0,0 +1,248 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.core.step.item.Chunk;
+import org.springframework.batch.core.step.item.SimpleChunkProcessor;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 청크의 암호화(Processor) 단계를 여러 스레드로 나누거나 일괄 호출로 실행하는 ChunkProcessor
+ *
+ * 구조:
+ * - Reader/Writer는 기존처럼 청크 스레드에서 실행 (청크 트랜잭션 그대로 유지)
+ * - Processor 단계만 청크를 threadCount개 구간으로 나눠 executor에서 병렬 실행
+ * - 모든 구간이 끝날 때까지 기다린 뒤 원래 순서대로 Writer에 전달
+ * - batchEncryption이면 구간마다 EncryptionProcessor.processChunk로 SafeDB 일괄 호출
+ *   (threadCount = 1이면 청크 전체가 한 구간 → 청크당 encryptBatch 1회)
+ *
+ * filterCount:
+ * - Processor가 null을 반환한 항목은 입력 청크에서 제거하고 출력에서 제외
+ *   → SimpleChunkProcessor가 (입력 건수 - 출력 건수)로 filterCount를 계산하므로
+ *     MigrationStatusListener의 Filter (Skipped) 건수가 단일 스레드와 동일하게 집계됨
+ *
+ * 예외:
+ * - 한 구간이라도 실패하면 나머지 구간이 끝나길 기다린 뒤 첫 번째 원인 예외를 던져 청크 롤백
+ *
+ * 힙 밖 청크 버퍼 (setSpillBuffer, writer_mode = COPY):
+ * - 읽은 청크의 예상 문자열 크기(원본 + 암호문)가 임계값을 넘으면 청크를 SPILL_WINDOW_ROWS_PER_THREAD × threadCount건
+ *   구간으로 나눠 암호화하고, 구간마다 바로 CopyEncryptionWriter.spill()로 OffHeapRowBuffer에 기록한 뒤
+ *   레코드의 원본/암호화 문자열을 해제 (커밋까지 힙에는 PK만 남음)
+ *   → 힙에 동시에 있는 암호문은 구간 1개분, 원본 문자열은 구간마다 줄어듦
+ *     (최대 힙 사용량은 Reader가 청크를 다 읽은 시점의 원본 문자열 크기)
+ * - 쓰기 단계에서 Writer 대신 CopyEncryptionWriter.writeSpilled()로 버퍼 내용을 COPY
+ * 
+ * 주의: EncryptionProcessor는 상태가 없어야 함 (여러 스레드에서 동시에 호출됨)
+ *       executor 스레드에는 청크 스레드의 StepExecution을 등록하여 지표의 step 태그가 같도록 함
+ */
+public class EncryptionChunkProcessor extends SimpleChunkProcessor<TargetRecordEntity, TargetRecordEntity> {
+
+    /**
+     * 힙 밖 버퍼 사용 시 암호화 스레드당 한 번에 암호화할 행 수 (구간 = 이 값 × threadCount)
+     */
+    private static final int SPILL_WINDOW_ROWS_PER_THREAD = 256;
+
+    private final EncryptionProcessor encryptionProcessor;
+    private final Executor executor;
+    private final int threadCount;
+    private final boolean batchEncryption;
+
+    private CopyEncryptionWriter spillWriter;
+    private OffHeapRowBuffer spillBuffer;
+    private boolean chunkSpilled;   // 현재 청크를 spillBuffer로 옮겼는지 (청크 스레드에서만 사용)
+
+    public EncryptionChunkProcessor(EncryptionProcessor encryptionProcessor,
+                                    ItemWriter<? super TargetRecordEntity> itemWriter,
+                                    Executor executor,
+                                    int threadCount,
+                                    boolean batchEncryption) {
+        super(encryptionProcessor, itemWriter);
+        this.encryptionProcessor = encryptionProcessor;
+        this.executor = executor;
+        this.threadCount = threadCount;
+        this.batchEncryption = batchEncryption;
+    }
+
+    /**
+     * 힙 밖 청크 버퍼 사용 (Writer가 spillWriter일 때만 설정)
+     */
+    public void setSpillBuffer(CopyEncryptionWriter spillWriter, OffHeapRowBuffer spillBuffer) {
+        this.spillWriter = spillWriter;
+        this.spillBuffer = spillBuffer;
+    }
+
+    @Override
+    protected Chunk<TargetRecordEntity> transform(StepContribution contribution,
+                                                  Chunk<TargetRecordEntity> inputs) throws Exception {
+        chunkSpilled = false;
+        if (spillBuffer == null || inputs.isEmpty() || !spillBuffer.exceedsThreshold(inputs.getItems())) {
+            return encrypt(contribution, inputs);
+        }
+        chunkSpilled = true;
+        return encryptAndSpill(contribution, inputs);
+    }
+
+    /**
+     * 청크를 구간별로 암호화하고 구간마다 바로 버퍼에 기록 후 문자열 해제
+     * 
+     * 필터링된 항목은 encrypt()와 같이 입력 청크에서 제거합니다. (filterCount 계산 동일)
+     */
+    private Chunk<TargetRecordEntity> encryptAndSpill(StepContribution contribution,
+                                                      Chunk<TargetRecordEntity> inputs) throws Exception {
+        spillBuffer.reset();
+        List<TargetRecordEntity> items = inputs.getItems();
+        int windowRows = SPILL_WINDOW_ROWS_PER_THREAD * Math.max(1, threadCount);
+        Set<TargetRecordEntity> filtered = Collections.newSetFromMap(new IdentityHashMap<TargetRecordEntity, Boolean>());
+        Chunk<TargetRecordEntity> outputs = new Chunk<TargetRecordEntity>();
+
+        for (int from = 0; from < items.size(); from += windowRows) {
+            List<TargetRecordEntity> windowItems = items.subList(from, Math.min(from + windowRows, items.size()));
+            Chunk<TargetRecordEntity> window = new Chunk<TargetRecordEntity>(windowItems);
+            Chunk<TargetRecordEntity> windowOutputs;
+            try {
+                windowOutputs = encrypt(contribution, window);
+            } catch (Exception e) {
+                // 단일 스레드 처리와 동일하게 남은 입력은 더 처리하지 않음
+                inputs.clear();
+                throw e;
+            }
+
+            List<TargetRecordEntity> written = windowOutputs.getItems();
+            spillWriter.spill(written, spillBuffer);
+            for (TargetRecordEntity item : written) {
+                outputs.add(item);
+            }
+            // encrypt()가 window에서 제거한 항목 = 필터링된 항목 (쓰지 않으므로 문자열도 바로 해제)
+            if (written.size() < windowItems.size()) {
+                Set<TargetRecordEntity> kept = Collections.newSetFromMap(new IdentityHashMap<TargetRecordEntity, Boolean>());
+                kept.addAll(window.getItems());
+                for (TargetRecordEntity item : windowItems) {
+                    if (!kept.contains(item)) {
+                        item.releaseValues();
+                        filtered.add(item);
+                    }
+                }
+            }
+        }
+
+        if (!filtered.isEmpty()) {
+            for (Iterator<TargetRecordEntity> iterator = inputs.iterator(); iterator.hasNext(); ) {
+                if (filtered.contains(iterator.next())) {
+                    iterator.remove();
+                }
+            }
+        }
+        return outputs;
+    }
+
+    @Override
+    protected void writeItems(List<TargetRecordEntity> items) throws Exception {
+        if (chunkSpilled) {
+            spillWriter.writeSpilled(items, spillBuffer);
+            return;
+        }
+        super.writeItems(items);
+    }
+
+    private Chunk<TargetRecordEntity> encrypt(StepContribution contribution,
+                                              Chunk<TargetRecordEntity> inputs) throws Exception {
+        final List<TargetRecordEntity> items = inputs.getItems();
+        int size = items.size();
+        if (!batchEncryption && (threadCount <= 1 || size < 2)) {
+            return super.transform(contribution, inputs);
+        }
+
+        // 1. 구간별 처리 (결과는 입력과 같은 인덱스에 저장)
+        final TargetRecordEntity[] results = new TargetRecordEntity[size];
+        int sliceCount = Math.max(1, Math.min(threadCount, size));
+        int sliceSize = Math.max(1, (size + sliceCount - 1) / sliceCount);
+        List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>();
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        final StepExecution stepExecution = stepContext != null ? stepContext.getStepExecution() : null;
+
+        for (int start = 0; start < size; start += sliceSize) {
+            final int from = start;
+            final int to = Math.min(start + sliceSize, size);
+            FutureTask<Void> task = new FutureTask<Void>(() -> {
+                // executor 스레드에서도 MigrationMetrics.currentStepName()이 현재 Step을 반환하도록 등록
+                if (stepExecution != null) {
+                    StepSynchronizationManager.register(stepExecution);
+                }
+                try {
+                    processSlice(items, results, from, to);
+                } finally {
+                    if (stepExecution != null) {
+                        StepSynchronizationManager.close();
+                    }
+                }
+                return null;
+            });
+            if (sliceSize >= size) {
+                task.run();  // 구간이 하나뿐이면 청크 스레드에서 바로 실행
+            } else {
+                executor.execute(task);
+            }
+            tasks.add(task);
+        }
+
+        Throwable failure = null;
+        for (FutureTask<Void> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+
+        if (failure != null) {
+            // 단일 스레드 처리와 동일하게 남은 입력은 더 처리하지 않음
+            inputs.clear();
+            if (failure instanceof Exception) {
+                throw (Exception) failure;
+            }
+            throw (Error) failure;
+        }
+
+        // 2. 순서대로 출력 청크 구성 (null = 필터링된 항목은 입력에서 제거)
+        Chunk<TargetRecordEntity> outputs = new Chunk<TargetRecordEntity>();
+        int index = 0;
+        for (Iterator<TargetRecordEntity> iterator = inputs.iterator(); iterator.hasNext(); index++) {
+            iterator.next();
+            if (results[index] != null) {
+                outputs.add(results[index]);
+            } else {
+                iterator.remove();
+            }
+        }
+        return outputs;
+    }
+
+    private void processSlice(List<TargetRecordEntity> items, TargetRecordEntity[] results,
+                              int from, int to) throws Exception {
+        if (batchEncryption) {
+            List<TargetRecordEntity> processed = encryptionProcessor.processChunk(items.subList(from, to));
+            for (int i = from; i < to; i++) {
+                results[i] = processed.get(i - from);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            results[i] = doProcess(items.get(i));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.kt.yaap.mig_batch.batch;
+
+/**
+ * 청크 내 암호화 병렬 처리 스레드 방식 (migration.encryption.executor)
+ *
+ * 원격 SafeDB(safedb.server-url)는 CPU보다 네트워크 왕복 대기가 대부분이므로
+ * migration.encryption.threads를 크게 잡고 동시 호출 수는 safedb.max-in-flight로 제한합니다.
+ */
+public enum EncryptionExecutorType {
+
+    /**
+     * 고정 크기 스레드 풀 + 제한된 대기 큐 (기본값)
+     * 큐가 가득 차면 청크 스레드가 직접 실행 (CallerRunsPolicy, 읽기 속도가 암호화 속도를 넘지 않도록 역압)
+     */
+    POOL,
+
+    /**
+     * 작업마다 가상 스레드 (Java 21 이상, 대기 중 OS 스레드를 점유하지 않음)
+     * 이전 JDK에서는 경고 후 POOL로 대체
+     */
+    VIRTUAL;
+
+    /**
+     * 설정 문자열을 EncryptionExecutorType으로 변환 (NULL/빈 값이면 defaultType)
+     */
+    public static EncryptionExecutorType from(String value, EncryptionExecutorType defaultType) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultType;
+        }
+        try {
+            return EncryptionExecutorType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown migration.encryption.executor: " + value + " (supported: POOL, VIRTUAL)", e);
+        }
+    }
+}
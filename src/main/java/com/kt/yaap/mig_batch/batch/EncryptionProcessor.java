@@ -1,7 +1,10 @@
 package com.kt.yaap.mig_batch.batch;
 
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
 import com.kt.yaap.mig_batch.model.TargetRecordEntity;
 import com.kt.yaap.mig_batch.util.SafeDBUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.item.ItemProcessor;
@@ -9,8 +12,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 여러 컬럼을 암호화하는 Processor
@@ -18,6 +22,16 @@ import java.util.Map;
  * 역할: 원본 값을 SafeDB로 암호화만 수행
  * - 복잡한 로직 없이 암호화만 담당
  * - NULL이나 빈 값은 스킵 (업데이트하지 않음)
+ * 
+ * 처리 방식:
+ * - process(): 레코드 단위, 컬럼 값마다 SafeDBUtil.encrypt 호출
+ * - processChunk(): 청크 단위, 모든 레코드·컬럼의 대상 값을 모아 SafeDBUtil.encryptBatch 호출
+ *   (원격 SafeDB 왕복 횟수를 값 수 → 호출 수로 감소, EncryptionChunkProcessor에서 사용)
+ * 
+ * migration.encryption.cache.enabled이면 컬럼별 평문 → 암호문 캐시(EncryptedValueCache)에 있는 값은 SafeDB를 호출하지 않습니다.
+ * 
+ * 지표: migration.encrypt(컬럼별 값 1건), migration.encrypt.batch(일괄 1회), migration.encrypt.values(컬럼별 건수)
+ * (migration.encrypt.values는 캐시 적중 값을 포함한 암호화 값 수, 나머지 두 지표는 실제 SafeDB 호출만 기록)
  */
 @Component
 public class EncryptionProcessor implements ItemProcessor<TargetRecordEntity, TargetRecordEntity> {
@@ -27,15 +41,28 @@ public class EncryptionProcessor implements ItemProcessor<TargetRecordEntity, Ta
     @Autowired
     private SafeDBUtil safeDBUtil;
 
+    @Autowired
+    private MigrationMetrics migrationMetrics;
+
+    @Autowired
+    private EncryptedValueCache encryptedValueCache;
+
     @Override
     public TargetRecordEntity process(@NonNull TargetRecordEntity item) throws Exception {
-        Map<String, String> encryptedValues = new HashMap<String, String>();
+        List<String> columnNames = item.getTargetColumnNames();
         int processedCount = 0;
         int skippedCount = 0;  // 이미 암호화된 컬럼 수
         
-        // 각 컬럼의 값을 암호화
-        for (String columnName : item.getTargetColumnNames()) {
-            String originalValue = item.getOriginalValues().get(columnName);
+        Timer[] encryptTimers = migrationMetrics.encryptTimers(item.getSchema());
+        Counter[] encryptCounters = migrationMetrics.encryptCounters(item.getSchema());
+        EncryptedValueCache.ColumnCache[] caches = encryptedValueCache.forSchema(item.getSchema());
+        
+        // 재처리(재시도) 시 이전 결과가 남지 않도록 초기화
+        item.clearEncryptedValues();
+        
+        // 각 컬럼의 값을 암호화 (슬롯 순서)
+        for (int slot = 0; slot < columnNames.size(); slot++) {
+            String originalValue = item.getOriginalValue(slot);
             
             // NULL 또는 빈 값은 스킵
             if (originalValue != null && !originalValue.trim().isEmpty()) {
@@ -43,20 +70,29 @@ public class EncryptionProcessor implements ItemProcessor<TargetRecordEntity, Ta
                 if (safeDBUtil.isEncrypted(originalValue)) {
                     skippedCount++;
                     log.debug("Already encrypted, skipping: table={}, column={}, pk={}", 
-                            item.getTableName(), columnName, item.getPkDisplay());
+                            item.getTableName(), columnNames.get(slot), item.getPkDisplay());
                     continue;  // 이미 암호화된 값은 스킵
                 }
                 
                 try {
-                    String encryptedValue = safeDBUtil.encrypt(originalValue);
-                    encryptedValues.put(columnName, encryptedValue);
+                    String encryptedValue = caches != null ? caches[slot].get(originalValue) : null;
+                    if (encryptedValue == null) {
+                        long encryptStart = System.nanoTime();
+                        encryptedValue = safeDBUtil.encrypt(originalValue);
+                        encryptTimers[slot].record(System.nanoTime() - encryptStart, TimeUnit.NANOSECONDS);
+                        if (caches != null) {
+                            caches[slot].put(originalValue, encryptedValue);
+                        }
+                    }
+                    item.setEncryptedValue(slot, encryptedValue);
+                    encryptCounters[slot].increment();
                     processedCount++;
                     
                     log.debug("Encrypted: table={}, column={}, pk={}", 
-                            item.getTableName(), columnName, item.getPkDisplay());
+                            item.getTableName(), columnNames.get(slot), item.getPkDisplay());
                 } catch (Exception e) {
                     log.error("Encryption failed for table={}, column={}, pk={}: {}", 
-                            item.getTableName(), columnName, item.getPkDisplay(), e.getMessage());
+                            item.getTableName(), columnNames.get(slot), item.getPkDisplay(), e.getMessage());
                     throw e;
                 }
             }
@@ -75,10 +111,97 @@ public class EncryptionProcessor implements ItemProcessor<TargetRecordEntity, Ta
             return null;
         }
         
-        item.setEncryptedValues(encryptedValues);
         log.debug("Processed record: table={}, pk={}, processed {} columns, skipped {} columns", 
                 item.getTableName(), item.getPkDisplay(), processedCount, skippedCount);
         
         return item;
     }
+
+    /**
+     * 청크 단위 일괄 암호화
+     * 
+     * process()와 같은 규칙(NULL/빈 값 스킵, 이미 암호화된 값 스킵, 처리할 컬럼이 없으면 null)을 적용하되
+     * 암호화는 청크 전체의 대상 값을 모아 encryptBatch로 한 번(또는 batchSize 단위 몇 번)만 호출합니다.
+     * 대상 값은 ColumnarValueBuffer에 컬럼(슬롯) 순서로 모읍니다.
+     * 암호문 캐시를 사용하면 캐시에 있는 값은 바로 기록하고 나머지만 일괄 암호화한 뒤 캐시에 추가합니다.
+     * 
+     * @param items 청크 레코드 목록 (같은 테이블)
+     * @return 입력과 같은 순서의 결과 목록 (처리할 컬럼이 없는 레코드는 null → filterCount)
+     */
+    public List<TargetRecordEntity> processChunk(List<TargetRecordEntity> items) {
+        if (items.isEmpty()) {
+            return new ArrayList<TargetRecordEntity>();
+        }
+        
+        TargetRecordEntity first = items.get(0);
+        int columnCount = first.getTargetColumnNames().size();
+        
+        // 1. 암호화 대상 값 수집 (컬럼 순서 → 레코드 순서)
+        ColumnarValueBuffer buffer = new ColumnarValueBuffer(items.size(), columnCount);
+        EncryptedValueCache.ColumnCache[] caches = encryptedValueCache.forSchema(first.getSchema());
+        int[] valueCounts = new int[columnCount];
+        for (TargetRecordEntity item : items) {
+            item.clearEncryptedValues();
+        }
+        for (int slot = 0; slot < columnCount; slot++) {
+            for (int row = 0; row < items.size(); row++) {
+                String originalValue = items.get(row).getOriginalValue(slot);
+                
+                // NULL 또는 빈 값, 이미 암호화된 값은 스킵
+                if (originalValue == null || originalValue.trim().isEmpty() 
+                        || safeDBUtil.isEncrypted(originalValue)) {
+                    continue;
+                }
+                valueCounts[slot]++;
+                String cachedValue = caches != null ? caches[slot].get(originalValue) : null;
+                if (cachedValue != null) {
+                    items.get(row).setEncryptedValue(slot, cachedValue);
+                    continue;
+                }
+                buffer.add(row, slot, originalValue);
+            }
+        }
+        
+        // 2. 일괄 암호화 후 레코드별 슬롯에 기록
+        long encryptStart = System.nanoTime();
+        try {
+            if (buffer.size() > 0) {
+                List<String> encryptedValues = safeDBUtil.encryptBatch(buffer.values());
+                buffer.scatter(encryptedValues, items);
+                migrationMetrics.encryptBatchTimer(first.getTableName())
+                        .record(System.nanoTime() - encryptStart, TimeUnit.NANOSECONDS);
+                if (caches != null) {
+                    for (int i = 0; i < buffer.size(); i++) {
+                        caches[buffer.slot(i)].put(buffer.value(i), encryptedValues.get(i));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Batch encryption failed for table={}, {} values: {}", 
+                    first.getTableName(), buffer.size(), e.getMessage());
+            throw e;
+        }
+        
+        Counter[] encryptCounters = migrationMetrics.encryptCounters(first.getSchema());
+        for (int slot = 0; slot < columnCount; slot++) {
+            if (valueCounts[slot] > 0) {
+                encryptCounters[slot].increment(valueCounts[slot]);
+            }
+        }
+        
+        // 3. 처리할 컬럼이 하나도 없으면 null (Writer로 전달 안 됨 → filterCount)
+        List<TargetRecordEntity> results = new ArrayList<TargetRecordEntity>(items.size());
+        for (TargetRecordEntity item : items) {
+            if (!item.hasEncryptedValues()) {
+                log.debug("No values to process (all NULL/empty or already encrypted): table={}, pk={}", 
+                        item.getTableName(), item.getPkDisplay());
+                results.add(null);
+                continue;
+            }
+            results.add(item);
+        }
+        
+        log.debug("Processed chunk: {} records, {} values encrypted in batch", items.size(), buffer.size());
+        return results;
+    }
 }
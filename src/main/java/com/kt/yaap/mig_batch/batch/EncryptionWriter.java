@@ -1,7 +1,9 @@
 package com.kt.yaap.mig_batch.batch;
 
 import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
 import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -12,17 +14,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import java.sql.Statement;
 import java.util.*;
 
 /**
  * 여러 컬럼을 UPDATE하는 Writer (레코드 단위 업데이트)
  *
  * 역할:
- * - 암호화된 값을 대상 테이블에 UPDATE (레코드마다 실제 업데이트할 컬럼만 SET)
+ * - 암호화된 값을 대상 테이블에 UPDATE (암호화 값이 없는 컬럼은 COALESCE로 기존 값 유지)
  * - 재수행 시 레코드별 컬럼 세트가 달라도 NULL 덮어쓰기 없이 안전
  *
  * 성능:
  * - MyBatis BATCH 모드로 DB 왕복 횟수 감소
+ * - 레코드마다 SQL이 동일하므로 청크 전체가 하나의 JDBC 배치로 전송됨
+ * - 파라미터는 TargetRecordEntity의 슬롯 배열을 그대로 바인딩 (레코드/컬럼별 Map 생성 없음)
  */
 @Component
 public class EncryptionWriter implements ItemWriter<TargetRecordEntity> {
@@ -32,50 +37,51 @@ public class EncryptionWriter implements ItemWriter<TargetRecordEntity> {
     @Autowired
     private SqlSessionFactory sqlSessionFactory;
 
+    @Autowired
+    private MigrationMetrics migrationMetrics;
+
     @Override
     public void write(@NonNull List<? extends TargetRecordEntity> items) throws Exception {
         if (items == null || items.isEmpty()) {
             return;
         }
 
+        long writeStart = System.nanoTime();
         SqlSession sqlSession = null;
+        TargetRecordEntity first = items.get(0);
+        String tableName = first.getTableName();
         try {
             sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH);
             TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
 
-            int updateCount = 0;
-            String tableName = null;
+            // 파라미터 Map은 청크당 1개를 재사용하고 record만 교체
+            // (BATCH Executor는 update 호출 시점에 파라미터를 바인딩하므로 안전)
+            Map<String, Object> updateParams = new HashMap<String, Object>();
+            updateParams.put("tableName", tableName);
+            updateParams.put("pkColumnNames", first.getPkColumnNames());
+            updateParams.put("targetColumnNames", first.getTargetColumnNames());
 
+            int queuedCount = 0;
             for (TargetRecordEntity item : items) {
-                tableName = item.getTableName();
-
-                List<Map<String, Object>> columnUpdates = new ArrayList<Map<String, Object>>();
-                for (String columnName : item.getTargetColumnNames()) {
-                    String encryptedValue = item.getEncryptedValues().get(columnName);
-                    if (encryptedValue != null && !"NULL_MARKED".equals(encryptedValue)) {
-                        Map<String, Object> columnInfo = new HashMap<String, Object>();
-                        columnInfo.put("columnName", columnName);
-                        columnInfo.put("encryptedValue", encryptedValue);
-                        columnUpdates.add(columnInfo);
-                    }
-                }
-
-                if (columnUpdates.isEmpty()) {
+                if (!item.hasEncryptedValues()) {
                     continue;
                 }
 
-                Map<String, Object> updateParams = new HashMap<String, Object>();
-                updateParams.put("tableName", tableName);
-                updateParams.put("columnUpdates", columnUpdates);
-                updateParams.put("pkColumnNames", item.getPkColumnNames());
-                updateParams.put("pkValues", item.getPkValues());
-
-                mapper.updateTargetRecordWithMultipleColumns(updateParams);
-                updateCount++;
+                updateParams.put("record", item);
+                mapper.updateTargetRecord(updateParams);
+                queuedCount++;
             }
 
+            // BATCH Executor의 update()는 건수를 반환하지 않으므로 JDBC 배치 실행 결과로 실제 UPDATE 행 수 집계
+            long updateCount = updatedRows(sqlSession.flushStatements());
             sqlSession.commit();
-            log.info("Successfully updated {} records for table: {}", updateCount, tableName);
+            migrationMetrics.recordWrite(tableName, WriterMode.BATCH.name(), writeStart, updateCount);
+            if (updateCount != queuedCount) {
+                log.warn("Updated {} of {} records for table: {} (rows changed or deleted during migration)",
+                        updateCount, queuedCount, tableName);
+            } else {
+                log.info("Successfully updated {} records for table: {}", updateCount, tableName);
+            }
 
         } catch (Exception e) {
             if (sqlSession != null) {
@@ -89,4 +95,22 @@ public class EncryptionWriter implements ItemWriter<TargetRecordEntity> {
             }
         }
     }
+
+    /**
+     * JDBC 배치 실행 결과의 UPDATE 행 수 합계
+     * (드라이버가 건수를 알려주지 않으면(SUCCESS_NO_INFO) 1건으로 계산)
+     */
+    private static long updatedRows(List<BatchResult> batchResults) {
+        long rows = 0;
+        for (BatchResult batchResult : batchResults) {
+            for (int count : batchResult.getUpdateCounts()) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    rows++;
+                } else if (count > 0) {
+                    rows += count;
+                }
+            }
+        }
+        return rows;
+    }
 }
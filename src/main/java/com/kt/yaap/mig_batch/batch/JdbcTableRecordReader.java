@@ -0,0 +1,186 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import com.kt.yaap.mig_batch.model.TableSchema;
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC PreparedStatement 기반 스트리밍 Reader (migration.reader.type = JDBC)
+ *
+ * TableRecordReader(MyBatis Cursor)는 행마다 HashMap을 만들고 "pk_컬럼명" 키로 값을 다시 꺼냅니다.
+ * 이 Reader는 같은 SQL을 JDBC로 직접 실행하여 ResultSet에서 Entity 슬롯으로 바로 읽습니다.
+ * - SQL: TargetTableMapper.xml의 selectAllTargetColumnsStreaming을 그대로 사용
+ *   (MyBatis BoundSql + DefaultParameterHandler로 바인딩 → 파티션 범위/체크포인트/사전 필터 조건 동일)
+ * - 컬럼 인덱스는 조회 시작 시 한 번만 확인 (행마다 컬럼명 조회 없음)
+ * - fetch size는 조회 중에도 변경 가능 (AdaptiveChunkController)
+ * - Reader의 SqlSession 커넥션(청크 트랜잭션과 별개)을 autocommit off로 바꾸고 fetch size를 지정
+ *   (PostgreSQL JDBC는 autocommit off일 때만 fetch size 단위로 서버 커서에서 나눠 가져옴)
+ * - 커넥션을 추가로 사용하지 않음 (Step당 Reader 1 + Writer 1, MYBATIS 방식과 동일)
+ *
+ * PK/체크포인트/filterCount 처리는 TableRecordReader와 동일합니다.
+ * 대상 컬럼 값은 ResultSet.getString으로 읽습니다. (문자열 컬럼 기준, MyBatis 방식의 toString()과 동일)
+ */
+public class JdbcTableRecordReader extends TableRecordReader {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcTableRecordReader.class);
+
+    static final String STREAMING_STATEMENT_ID = TargetTableMapper.class.getName() + ".selectAllTargetColumnsStreaming";
+
+    private final int fetchSize;
+
+    private Connection connection;
+    private boolean restoreAutoCommit;  // 조회를 위해 autocommit을 끈 경우 close 시 복원
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private int[] pkColumnIndexes;      // PK 슬롯 → ResultSet 컬럼 인덱스
+    private int[] targetColumnIndexes;  // 대상 컬럼 슬롯 → ResultSet 컬럼 인덱스
+
+    public JdbcTableRecordReader(SqlSessionFactory sqlSessionFactory,
+                                 String tableName,
+                                 List<String> targetColumns,
+                                 String schemaName,
+                                 PrefilterMode prefilterMode,
+                                 boolean strictEncryptedCheck,
+                                 int fetchSize) {
+        super(sqlSessionFactory, tableName, targetColumns, schemaName, prefilterMode, strictEncryptedCheck);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    protected void openRecordStream(SqlSession session, Map<String, Object> params) throws Exception {
+        MappedStatement mappedStatement = session.getConfiguration().getMappedStatement(STREAMING_STATEMENT_ID);
+
+        // 매퍼 메서드(@Param("params"))를 호출할 때와 같은 형태의 파라미터 객체
+        MapperMethod.ParamMap<Object> parameterObject = new MapperMethod.ParamMap<Object>();
+        parameterObject.put("params", params);
+        parameterObject.put("param1", params);
+        BoundSql boundSql = mappedStatement.getBoundSql(parameterObject);
+
+        // Reader 세션의 커넥션 (open()은 청크 트랜잭션 밖에서 호출되므로 Reader 전용)
+        connection = session.getConnection();
+        if (connection.getAutoCommit()) {
+            connection.setAutoCommit(false);
+            restoreAutoCommit = true;
+        }
+        statement = connection.prepareStatement(boundSql.getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        new DefaultParameterHandler(mappedStatement, parameterObject, boundSql).setParameters(statement);
+
+        resultSet = statement.executeQuery();
+        resolveColumnIndexes();
+
+        log.info("Opened JDBC stream for table: {} (fetch size: {})", getTableName(), fetchSize);
+    }
+
+    /**
+     * 다음 fetch부터 적용 (PostgreSQL JDBC는 조회 중에도 ResultSet의 fetch size 변경을 반영)
+     */
+    @Override
+    void applyFetchSize(int fetchSize) {
+        if (resultSet == null) {
+            return;
+        }
+        try {
+            resultSet.setFetchSize(fetchSize);
+        } catch (Exception e) {
+            log.warn("Failed to change fetch size for table: {} to {}", getTableName(), fetchSize, e);
+        }
+    }
+
+    private void resolveColumnIndexes() throws Exception {
+        TableSchema schema = getSchema();
+        pkColumnIndexes = new int[schema.getPkColumnCount()];
+        for (int i = 0; i < pkColumnIndexes.length; i++) {
+            pkColumnIndexes[i] = resultSet.findColumn(schema.getPkResultKey(i));
+        }
+        targetColumnIndexes = new int[schema.getTargetColumnCount()];
+        for (int i = 0; i < targetColumnIndexes.length; i++) {
+            targetColumnIndexes[i] = resultSet.findColumn(schema.getTargetColumnNames().get(i));
+        }
+    }
+
+    @Override
+    protected TargetRecordEntity nextRecord() throws Exception {
+        if (resultSet == null || !resultSet.next()) {
+            return null;
+        }
+
+        TargetRecordEntity entity = new TargetRecordEntity(getSchema());
+
+        Object[] pkValues = entity.getPkValues();
+        for (int i = 0; i < pkValues.length; i++) {
+            Object value = resultSet.getObject(pkColumnIndexes[i]);
+            if (value == null) {
+                throw new RuntimeException(
+                    String.format("PK value not found: table=%s, pk_column=%s",
+                        getTableName(), getSchema().getPkColumnNames().get(i)));
+            }
+            pkValues[i] = value;
+        }
+
+        String[] originalValues = entity.getOriginalValues();
+        for (int i = 0; i < originalValues.length; i++) {
+            originalValues[i] = resultSet.getString(targetColumnIndexes[i]);
+        }
+
+        return entity;
+    }
+
+    /**
+     * 진행 중인 fetch 취소 (Statement.cancel, 다른 스레드에서 호출 가능)
+     */
+    @Override
+    protected void cancelRecordStream() throws Exception {
+        PreparedStatement current = statement;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    protected void closeRecordStream() {
+        if (resultSet != null) {
+            try {
+                resultSet.close();
+            } catch (Exception e) {
+                log.warn("Error closing result set for table: {}", getTableName(), e);
+            } finally {
+                resultSet = null;
+            }
+        }
+        if (statement != null) {
+            try {
+                statement.close();
+            } catch (Exception e) {
+                log.warn("Error closing statement for table: {}", getTableName(), e);
+            } finally {
+                statement = null;
+            }
+        }
+        if (connection != null && restoreAutoCommit) {
+            try {
+                // 조회만 했으므로 읽기 트랜잭션을 종료하고 autocommit 복원 (커넥션은 SqlSession close 시 반환)
+                connection.rollback();
+                connection.setAutoCommit(true);
+            } catch (Exception e) {
+                log.warn("Error ending read transaction for table: {}", getTableName(), e);
+            }
+        }
+        connection = null;
+        restoreAutoCommit = false;
+    }
+}
@@ -0,0 +1,243 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.lang.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 청크의 인코딩된 행을 힙 밖에 보관하는 버퍼 (migration.spill.enabled = true, writer_mode = COPY)
+ *
+ * 폭이 넓은 테이블에서 큰 청크를 처리하면 원본/암호화 문자열이 커밋 시점까지 힙에 남습니다.
+ * 읽은 청크의 예상 문자열 크기가 threshold-bytes를 넘으면 EncryptionChunkProcessor가 청크를 구간별로 암호화하면서
+ * 구간마다 행을 COPY 형식(CSV, UTF-8)으로 이 버퍼에 기록하고 레코드의 문자열을 해제합니다.
+ * (Reader 단계의 원본 문자열은 그대로이므로 최대 힙 사용량은 청크 크기 × 행 폭으로 정해짐)
+ * CopyEncryptionWriter는 레코드 대신 이 버퍼를 COPY로 그대로 흘려보냅니다.
+ *
+ * 저장 위치:
+ * - direct ByteBuffer 세그먼트 (segment-bytes 단위, 합계 max-direct-bytes까지, 청크 간 재사용)
+ * - 그 이상은 임시 파일(mig-spill-*.bin)에 이어서 기록 (FileChannel, 청크마다 처음부터 덮어씀)
+ *
+ * Step마다 새 인스턴스를 만들고 Step 리스너로 등록하여 Step 종료 시 세그먼트와 임시 파일을 해제합니다.
+ * 청크 스레드에서만 사용합니다. (스레드 안전하지 않음)
+ */
+public class OffHeapRowBuffer implements StepExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapRowBuffer.class);
+
+    private static final int TRANSFER_BYTES = 64 * 1024;
+
+    /**
+     * 힙 문자열 크기 추정 시 String 1개당 고정 크기 (객체 헤더 + char[] 헤더)
+     */
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    /**
+     * 세그먼트/파일 내용을 순서대로 넘겨받는 대상 (예: CopyIn::writeToCopy)
+     */
+    public interface BlockConsumer {
+        void accept(byte[] bytes, int offset, int length) throws Exception;
+    }
+
+    private final String tableName;
+    private final long thresholdBytes;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final File tempDirectory;
+
+    private final List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+    private final byte[] transfer = new byte[TRANSFER_BYTES];
+    private int currentSegment;
+
+    private File spillFile;
+    private FileChannel spillChannel;
+    private long fileBytes;
+
+    private long size;
+    private int rowCount;
+
+    public OffHeapRowBuffer(String tableName, long thresholdBytes, int segmentBytes,
+                            long maxDirectBytes, File tempDirectory) {
+        this.tableName = tableName;
+        this.thresholdBytes = thresholdBytes;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = (int) Math.max(1, maxDirectBytes / segmentBytes);
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * 읽은 청크를 힙 밖으로 옮길지 판단 (암호화 전 호출, 원본 + 암호화 문자열의 예상 힙 크기 기준)
+     * 
+     * 암호문(Base64)은 원본보다 길므로 원본 문자열 크기의 2배로 추정합니다.
+     */
+    public boolean exceedsThreshold(List<TargetRecordEntity> items) {
+        long bytes = 0;
+        for (TargetRecordEntity item : items) {
+            bytes += 2 * estimateHeapBytes(item.getOriginalValues());
+            if (bytes > thresholdBytes) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long estimateHeapBytes(String[] values) {
+        long bytes = 0;
+        for (String value : values) {
+            if (value != null) {
+                bytes += STRING_OVERHEAD_BYTES + 2L * value.length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 새 청크 시작 (세그먼트는 재사용, 임시 파일은 처음부터 덮어씀)
+     */
+    public void reset() throws IOException {
+        for (ByteBuffer segment : segments) {
+            segment.clear();
+        }
+        currentSegment = 0;
+        if (spillChannel != null) {
+            spillChannel.truncate(0);
+            spillChannel.position(0);
+        }
+        fileBytes = 0;
+        size = 0;
+        rowCount = 0;
+    }
+
+    /**
+     * 인코딩된 행 1개 추가
+     */
+    public void appendRow(byte[] bytes, int offset, int length) throws IOException {
+        int written = 0;
+        while (written < length) {
+            ByteBuffer segment = writableSegment();
+            if (segment == null) {
+                writeToFile(bytes, offset + written, length - written);
+                written = length;
+                break;
+            }
+            int count = Math.min(segment.remaining(), length - written);
+            segment.put(bytes, offset + written, count);
+            written += count;
+        }
+        size += length;
+        rowCount++;
+    }
+
+    /**
+     * 기록된 내용을 순서대로 전달 (direct 세그먼트 → 임시 파일)
+     */
+    public void forEachBlock(BlockConsumer consumer) throws Exception {
+        for (int i = 0; i <= currentSegment && i < segments.size(); i++) {
+            ByteBuffer segment = segments.get(i).duplicate();
+            segment.flip();
+            while (segment.hasRemaining()) {
+                int count = Math.min(segment.remaining(), transfer.length);
+                segment.get(transfer, 0, count);
+                consumer.accept(transfer, 0, count);
+            }
+        }
+        if (fileBytes > 0) {
+            ByteBuffer window = ByteBuffer.wrap(transfer);
+            long position = 0;
+            while (position < fileBytes) {
+                window.clear();
+                int count = spillChannel.read(window, position);
+                if (count <= 0) {
+                    throw new IOException("Unexpected end of spill file: " + spillFile);
+                }
+                consumer.accept(transfer, 0, count);
+                position += count;
+            }
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public long fileBytes() {
+        return fileBytes;
+    }
+
+    private ByteBuffer writableSegment() {
+        while (currentSegment < maxSegments) {
+            if (currentSegment == segments.size()) {
+                segments.add(ByteBuffer.allocateDirect(segmentBytes));
+            }
+            ByteBuffer segment = segments.get(currentSegment);
+            if (segment.hasRemaining()) {
+                return segment;
+            }
+            currentSegment++;
+        }
+        currentSegment = maxSegments - 1;
+        return null;
+    }
+
+    private void writeToFile(byte[] bytes, int offset, int length) throws IOException {
+        if (spillChannel == null) {
+            spillFile = File.createTempFile("mig-spill-", ".bin", tempDirectory);
+            spillFile.deleteOnExit();
+            spillChannel = new RandomAccessFile(spillFile, "rw").getChannel();
+            log.info("Chunk buffer for table: {} exceeded direct memory limit, spilling to {}", tableName, spillFile);
+        }
+        ByteBuffer source = ByteBuffer.wrap(bytes, offset, length);
+        while (source.hasRemaining()) {
+            spillChannel.write(source, fileBytes + (length - source.remaining()));
+        }
+        fileBytes += length;
+    }
+
+    /**
+     * 세그먼트 해제 및 임시 파일 삭제
+     */
+    public void release() {
+        segments.clear();
+        currentSegment = 0;
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close spill file: {}", spillFile, e);
+            }
+            if (!spillFile.delete()) {
+                log.warn("Failed to delete spill file: {}", spillFile);
+            }
+            spillChannel = null;
+            spillFile = null;
+        }
+        fileBytes = 0;
+        size = 0;
+        rowCount = 0;
+    }
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        release();
+        return null;
+    }
+}
@@ -0,0 +1,255 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 별도 스레드에서 다음 레코드를 미리 읽어 두는 Reader 래퍼 (migration.reader.prefetch.enabled = true)
+ *
+ * 기본 청크 루프는 read() 중에는 암호화/쓰기가 멈추고, 암호화/쓰기 중에는 커서가 쉬므로
+ * 청크 시간 = 읽기 + 암호화 + 쓰기입니다. 이 래퍼는 TableRecordReader를 prefetch 스레드에서 호출하여
+ * 변환된 Entity를 제한된 큐(capacity, 기본 청크 2개분)에 채우므로 다음 청크 읽기가 현재 청크의 암호화/쓰기와 겹칩니다.
+ * → 청크 시간 ≈ max(읽기, 암호화 + 쓰기)
+ *
+ * 동작:
+ * - open(): 대상 Reader를 청크 스레드에서 open (파티션 범위/체크포인트 적용) 후 prefetch 스레드 시작
+ * - read(): 큐에서 꺼냄, 끝 표시를 받으면 이후 계속 null, prefetch 스레드의 예외는 청크 스레드에서 그대로 던짐
+ * - update(): 미리 읽은 레코드가 아니라 청크로 넘긴 마지막 레코드 기준으로 체크포인트 저장 (재시작 시 누락 없음)
+ * - close(): prefetch 스레드 중지 (진행 중인 fetch는 끝날 때까지 대기) 후 대상 Reader close
+ *   제한 시간 안에 멈추지 않으면 조회를 취소(cancelRecordStream)하고 다시 대기,
+ *   그래도 살아 있으면 대상 Reader를 close하지 않고 예외 (사용 중인 커넥션을 풀에 반환하지 않도록 누수로 남김)
+ *
+ * 대상 Reader의 SqlSession/커서는 prefetch 스레드만 사용합니다. (open/close는 prefetch 스레드가 없을 때만 호출)
+ * AdaptiveChunkController의 fetch size 변경은 prefetch 스레드의 다음 fetch부터 반영됩니다.
+ * 큐에 담긴 레코드만큼 힙을 더 사용합니다. (Step당 최대 capacity건)
+ */
+public class PrefetchingRecordReader implements ItemStreamReader<TargetRecordEntity>, StepExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PrefetchingRecordReader.class);
+
+    /**
+     * 조회 끝 표시 (큐에 null을 넣을 수 없으므로 별도 객체)
+     */
+    private static final Object END = new Object();
+
+    /**
+     * 큐 대기 중 prefetch 스레드 생존 확인 주기
+     */
+    private static final long POLL_MILLIS = 1000;
+
+    /**
+     * close() 시 진행 중인 fetch가 끝나길 기다리는 최대 시간
+     */
+    private static final long STOP_TIMEOUT_MILLIS = 30000;
+
+    /**
+     * 조회 취소 후 prefetch 스레드가 끝나길 기다리는 최대 시간
+     */
+    private static final long CANCEL_TIMEOUT_MILLIS = 10000;
+
+    private final TableRecordReader delegate;
+    private final int capacity;
+
+    private BlockingQueue<Object> queue;
+    private Thread prefetchThread;
+    private volatile boolean stopped;
+
+    // 청크 스레드에서만 사용
+    private boolean exhausted;             // 끝 표시 또는 예외를 받음
+    private Object[] deliveredPkValues;    // 마지막으로 청크에 넘긴 레코드의 PK 값 (체크포인트)
+    private long deliveredCount;           // 청크에 넘긴 레코드 수 (재시작 시 이전 실행분 포함)
+    private MigrationMetrics metrics;      // 선택 (null이면 지표 기록 안 함)
+    private Timer waitTimer;
+
+    public PrefetchingRecordReader(TableRecordReader delegate, int capacity) {
+        this.delegate = delegate;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * 지표 기록 설정 (migration.reader.wait, open() 전에 호출)
+     */
+    public void setMetrics(MigrationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void open(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+        delegate.open(executionContext);
+        deliveredPkValues = null;
+        deliveredCount = delegate.getRecordCount();
+        exhausted = false;
+        stopped = false;
+        if (metrics != null) {
+            waitTimer = metrics.readerWaitTimer(delegate.getTableName(), MigrationMetrics.currentStepName());
+        }
+
+        queue = new ArrayBlockingQueue<Object>(capacity);
+        prefetchThread = new Thread(this::prefetch, "prefetch-" + delegate.getTableName());
+        prefetchThread.setDaemon(true);
+        prefetchThread.start();
+        log.info("Started prefetch for table: {} (capacity: {} records)", delegate.getTableName(), capacity);
+    }
+
+    /**
+     * prefetch 스레드: 큐가 찰 때까지 읽고, 끝나면 끝 표시, 실패하면 예외를 큐에 넣음
+     */
+    private void prefetch() {
+        try {
+            TargetRecordEntity entity;
+            while (!stopped && (entity = delegate.read()) != null) {
+                queue.put(entity);
+            }
+            if (!stopped) {
+                queue.put(END);
+            }
+        } catch (InterruptedException e) {
+            // close()에 의한 중지
+        } catch (Throwable t) {
+            if (!stopped) {
+                try {
+                    queue.put(new Failure(t));
+                } catch (InterruptedException e) {
+                    // close()에 의한 중지
+                }
+            }
+        }
+    }
+
+    @Override
+    public TargetRecordEntity read() throws Exception {
+        if (exhausted) {
+            return null;
+        }
+        if (prefetchThread == null) {
+            throw new IllegalStateException("Reader not initialized. open() must be called before read().");
+        }
+
+        long waitStart = waitTimer != null ? System.nanoTime() : 0L;
+        Object next;
+        while ((next = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            if (!prefetchThread.isAlive() && queue.isEmpty()) {
+                exhausted = true;
+                throw new IllegalStateException(
+                    String.format("Prefetch thread stopped unexpectedly: table=%s", delegate.getTableName()));
+            }
+        }
+        if (waitTimer != null) {
+            waitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        }
+
+        if (next == END) {
+            exhausted = true;
+            return null;
+        }
+        if (next instanceof Failure) {
+            exhausted = true;
+            Throwable cause = ((Failure) next).cause;
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+
+        TargetRecordEntity entity = (TargetRecordEntity) next;
+        deliveredPkValues = entity.getPkValues();
+        deliveredCount++;
+        return entity;
+    }
+
+    @Override
+    public void update(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+        // 청크 커밋 직전(같은 트랜잭션)에 호출: 청크로 넘긴 레코드까지만 체크포인트로 저장
+        delegate.saveCheckpoint(executionContext, deliveredPkValues, deliveredCount);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (!stopPrefetch()) {
+            // prefetch 스레드가 아직 커넥션으로 조회 중: close하면 사용 중인 커넥션이 풀로 반환되어 다른 Step이 빌려갈 수 있음
+            log.error("Prefetch thread for table: {} is still running after cancel, leaking its reader session instead of returning the connection to the pool",
+                    delegate.getTableName());
+            throw new ItemStreamException(String.format(
+                "Prefetch thread did not stop: table=%s (reader connection not released)", delegate.getTableName()));
+        }
+        delegate.close();
+    }
+
+    /**
+     * prefetch 스레드 중지
+     * 
+     * @return 스레드가 끝났으면 true (대상 Reader를 close해도 안전)
+     */
+    private boolean stopPrefetch() {
+        if (prefetchThread == null) {
+            return true;
+        }
+        stopped = true;
+        prefetchThread.interrupt();
+        queue.clear();  // put() 대기 중이면 해제
+        join(prefetchThread, STOP_TIMEOUT_MILLIS);
+        if (prefetchThread.isAlive()) {
+            // fetch(네트워크 대기)는 interrupt로 멈추지 않으므로 서버 측 조회를 취소
+            log.warn("Prefetch thread for table: {} did not stop within {}ms, cancelling its query",
+                    delegate.getTableName(), STOP_TIMEOUT_MILLIS);
+            try {
+                delegate.cancelRecordStream();
+            } catch (Exception e) {
+                log.warn("Failed to cancel prefetch query for table: {}", delegate.getTableName(), e);
+            }
+            queue.clear();
+            join(prefetchThread, CANCEL_TIMEOUT_MILLIS);
+        }
+        boolean finished = !prefetchThread.isAlive();
+        prefetchThread = null;
+        queue.clear();
+        return finished;
+    }
+
+    private static void join(Thread thread, long timeoutMillis) {
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        delegate.beforeStep(stepExecution);
+    }
+
+    /**
+     * 사전 필터 건수 보정은 대상 Reader에 위임
+     */
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        return delegate.afterStep(stepExecution);
+    }
+
+    /**
+     * prefetch 스레드에서 발생한 예외 (청크 스레드의 read()에서 다시 던짐)
+     */
+    private static final class Failure {
+
+        private final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
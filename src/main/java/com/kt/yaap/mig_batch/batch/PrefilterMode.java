@@ -0,0 +1,40 @@
+package com.kt.yaap.mig_batch.batch;
+
+/**
+ * 이미 암호화된 레코드를 DB에서 미리 걸러내는 방식 (migration.prefilter-mode)
+ *
+ * 재수행 시 대부분의 레코드가 이미 암호화되어 있으면 전체 레코드를 전송한 뒤
+ * EncryptionProcessor에서 버리는 비용이 큽니다. 조회 SQL에 "아직 암호화되지 않은 값이 있는 행" 조건을 넣어
+ * 후보 레코드만 스트리밍합니다. (걸러낸 건수는 Step의 filterCount에 합산)
+ */
+public enum PrefilterMode {
+
+    /**
+     * 사전 필터 없음 (모든 레코드 조회, 기본값)
+     */
+    NONE,
+
+    /**
+     * SafeDBUtil.isEncrypted와 같은 패턴/길이 조건을 PostgreSQL 정규식으로 평가
+     */
+    PATTERN,
+
+    /**
+     * 백업 컬럼(컬럼명_bak)과 비교: 백업이 없거나 현재 값이 백업과 같으면 미암호화로 판단
+     */
+    BACKUP;
+
+    /**
+     * 설정 문자열을 PrefilterMode로 변환 (NULL/빈 값이면 defaultMode)
+     */
+    public static PrefilterMode from(String value, PrefilterMode defaultMode) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultMode;
+        }
+        try {
+            return PrefilterMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown prefilter_mode: " + value + " (supported: NONE, PATTERN, BACKUP)", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.kt.yaap.mig_batch.batch;
+
+/**
+ * 대상 테이블 스트리밍 조회 방식 (migration.reader.type)
+ *
+ * 두 방식 모두 같은 SQL(TargetTableMapper.selectAllTargetColumnsStreaming)과
+ * 같은 파티션 범위/체크포인트/사전 필터 조건을 사용하며, 행을 Entity로 만드는 방식만 다릅니다.
+ */
+public enum ReaderType {
+
+    /**
+     * MyBatis Cursor (행마다 HashMap 결과 매핑 후 Entity 변환, 기본값)
+     */
+    MYBATIS,
+
+    /**
+     * JDBC PreparedStatement (autocommit off + fetch size, 컬럼 인덱스로 Entity 슬롯에 직접 읽기)
+     */
+    JDBC;
+
+    /**
+     * 설정 문자열을 ReaderType으로 변환 (NULL/빈 값이면 defaultType)
+     */
+    public static ReaderType from(String value, ReaderType defaultType) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultType;
+        }
+        try {
+            return ReaderType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown reader_type: " + value + " (supported: MYBATIS, JDBC)", e);
+        }
+    }
+}
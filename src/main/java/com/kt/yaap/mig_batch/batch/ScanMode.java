@@ -0,0 +1,34 @@
+package com.kt.yaap.mig_batch.batch;
+
+/**
+ * 테이블별 조회 방식 (migration_config.scan_mode)
+ */
+public enum ScanMode {
+
+    /**
+     * 선두 PK 범위로 파티션을 나누고 범위 내부를 PK 순서로 조회 (TableRangePartitioner, 기본값)
+     * 재시작 시 마지막 커밋 PK 이후부터 이어서 조회
+     */
+    PK,
+
+    /**
+     * 물리 블록(ctid) 범위로 파티션을 나누고 정렬 없이 조회 (CtidRangePartitioner)
+     * PK 순서가 의미 없는 대용량 테이블(랜덤 UUID PK 등)에서 정렬/인덱스 스캔 없이 순차 I/O로 읽음
+     * UPDATE는 PK 기준으로 동일, 재시작 시 범위를 처음부터 다시 조회 (이미 암호화된 행은 스킵)
+     */
+    CTID;
+
+    /**
+     * 설정 문자열을 ScanMode로 변환 (NULL/빈 값이면 defaultMode)
+     */
+    public static ScanMode from(String value, ScanMode defaultMode) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultMode;
+        }
+        try {
+            return ScanMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown scan_mode: " + value + " (supported: PK, CTID)", e);
+        }
+    }
+}
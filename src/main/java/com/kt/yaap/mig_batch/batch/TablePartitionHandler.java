@@ -0,0 +1,82 @@
+package com.kt.yaap.mig_batch.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.StepExecutionSplitter;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * 파티션마다 새 Worker Step을 만들어 TaskExecutor에서 병렬 실행하는 PartitionHandler
+ *
+ * TaskExecutorPartitionHandler와 달리 Worker Step 인스턴스를 공유하지 않습니다.
+ * - TableRecordReader는 Cursor/SqlSession 등 실행 상태를 필드로 가지므로 파티션 간 공유 불가
+ * - 동적으로 생성되는 Step이라 @StepScope 빈을 사용할 수 없음
+ * → 파티션마다 workerStepFactory로 Reader를 포함한 Step을 새로 생성
+ *
+ * 범위 정보는 각 파티션 StepExecution의 ExecutionContext에 들어 있으며
+ * Reader가 open() 시점에 읽어 사용합니다.
+ */
+public class TablePartitionHandler implements PartitionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(TablePartitionHandler.class);
+
+    private final TaskExecutor taskExecutor;
+    private final int gridSize;
+    private final Supplier<Step> workerStepFactory;
+
+    public TablePartitionHandler(TaskExecutor taskExecutor, int gridSize, Supplier<Step> workerStepFactory) {
+        this.taskExecutor = taskExecutor;
+        this.gridSize = gridSize;
+        this.workerStepFactory = workerStepFactory;
+    }
+
+    @Override
+    public Collection<StepExecution> handle(StepExecutionSplitter stepSplitter,
+                                            StepExecution managerStepExecution) throws Exception {
+        Set<StepExecution> partitionExecutions = stepSplitter.split(managerStepExecution, gridSize);
+        log.info("Executing {} partitions for step: {}", partitionExecutions.size(), managerStepExecution.getStepName());
+
+        List<FutureTask<StepExecution>> tasks = new ArrayList<FutureTask<StepExecution>>();
+        List<StepExecution> result = new ArrayList<StepExecution>();
+
+        for (final StepExecution partitionExecution : partitionExecutions) {
+            final Step workerStep = workerStepFactory.get();
+            FutureTask<StepExecution> task = new FutureTask<StepExecution>(() -> {
+                workerStep.execute(partitionExecution);
+                return partitionExecution;
+            });
+
+            try {
+                taskExecutor.execute(task);
+                tasks.add(task);
+            } catch (TaskRejectedException e) {
+                // 실행 거부된 파티션은 실패로 기록 (재실행 시 해당 파티션부터 다시 수행)
+                ExitStatus exitStatus = ExitStatus.FAILED
+                        .addExitDescription("TaskExecutor rejected the task for this partition.");
+                partitionExecution.setStatus(BatchStatus.FAILED);
+                partitionExecution.setExitStatus(exitStatus);
+                result.add(partitionExecution);
+                log.error("Partition rejected by TaskExecutor: {}", partitionExecution.getStepName(), e);
+            }
+        }
+
+        for (FutureTask<StepExecution> task : tasks) {
+            result.add(task.get());
+        }
+
+        return result;
+    }
+}
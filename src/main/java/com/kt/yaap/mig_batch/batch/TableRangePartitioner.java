@@ -0,0 +1,186 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * 선두 PK 컬럼 기준으로 테이블을 N개의 범위로 나누는 Partitioner
+ *
+ * 분할 방식:
+ * - 정수형 PK (smallint/integer/bigint): MIN/MAX를 구해 균등 분할 (인덱스 양 끝만 읽으므로 즉시 완료)
+ * - 그 외 PK (varchar, uuid, timestamp 등): percentile_disc로 분할 경계값 계산
+ *   (samplePercent 지정 시 TABLESAMPLE SYSTEM으로 샘플링하여 전체 정렬 비용 회피)
+ *
+ * 복합키:
+ * - 선두 PK 컬럼으로만 범위를 나누고, 범위 내부는 기존처럼 전체 PK 순서로 읽음
+ * - 선두 컬럼 값이 몰려 경계값이 중복되면 중복을 제거하므로 실제 파티션 수가 gridSize보다 적을 수 있음
+ *
+ * 각 파티션의 ExecutionContext에는 범위 정보가 저장되며,
+ * TableRecordReader가 open() 시점에 읽어 범위 조건(lowerBound 초과 ~ upperBound 이하)으로 조회합니다.
+ */
+public class TableRangePartitioner implements Partitioner {
+
+    private static final Logger log = LoggerFactory.getLogger(TableRangePartitioner.class);
+
+    public static final String LOWER_BOUND_KEY = "partition.lowerBound";
+    public static final String UPPER_BOUND_KEY = "partition.upperBound";
+    public static final String PK_TYPE_KEY = "partition.pkType";
+    public static final String PARTITION_INDEX_KEY = "partition.index";
+
+    private static final Set<String> INTEGER_TYPES = new HashSet<String>(
+            Arrays.asList("smallint", "integer", "bigint"));
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final String tableName;
+    private final String schemaName;
+    private final double samplePercent;  // 0 이하이면 샘플링 없이 전체 테이블 기준
+
+    public TableRangePartitioner(SqlSessionFactory sqlSessionFactory,
+                                 String tableName,
+                                 String schemaName,
+                                 double samplePercent) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.tableName = tableName;
+        this.schemaName = schemaName;
+        this.samplePercent = samplePercent;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
+
+            // 1. 선두 PK 컬럼 및 타입 조회
+            Map<String, Object> pkParams = new HashMap<String, Object>();
+            pkParams.put("tableName", tableName);
+            pkParams.put("schemaName", schemaName);
+            List<String> pkColumnNames = mapper.selectPrimaryKeyColumns(pkParams);
+
+            if (pkColumnNames == null || pkColumnNames.isEmpty()) {
+                throw new RuntimeException("Primary Key not found for table: " + tableName);
+            }
+
+            String leadingPkColumn = pkColumnNames.get(0);
+            String leadingPkType = selectColumnType(mapper, leadingPkColumn);
+
+            // 2. 분할 경계값 계산
+            List<String> boundaries = gridSize > 1
+                    ? selectBoundaries(mapper, leadingPkColumn, leadingPkType, gridSize)
+                    : Collections.<String>emptyList();
+
+            // 3. 경계값 → 파티션별 ExecutionContext
+            Map<String, ExecutionContext> partitions = new LinkedHashMap<String, ExecutionContext>();
+            int partitionCount = boundaries.size() + 1;
+            for (int i = 0; i < partitionCount; i++) {
+                ExecutionContext context = new ExecutionContext();
+                context.putInt(PARTITION_INDEX_KEY, i);
+                context.putString(PK_TYPE_KEY, leadingPkType);
+                if (i > 0) {
+                    context.putString(LOWER_BOUND_KEY, boundaries.get(i - 1));
+                }
+                if (i < partitionCount - 1) {
+                    context.putString(UPPER_BOUND_KEY, boundaries.get(i));
+                }
+                partitions.put("partition" + i, context);
+            }
+
+            log.info("Partitioned table: {} by {} ({}) into {} ranges (requested: {}), boundaries: {}",
+                    tableName, leadingPkColumn, leadingPkType, partitionCount, gridSize, boundaries);
+            return partitions;
+        } finally {
+            sqlSession.close();
+        }
+    }
+
+    private String selectColumnType(TargetTableMapper mapper, String columnName) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("tableName", tableName);
+        params.put("schemaName", schemaName);
+        params.put("columnNames", Collections.singletonList(columnName));
+
+        List<Map<String, Object>> types = mapper.selectColumnTypes(params);
+        if (types == null || types.isEmpty()) {
+            throw new RuntimeException(
+                String.format("Column type not found: table=%s, column=%s", tableName, columnName));
+        }
+        return (String) types.get(0).get("data_type");
+    }
+
+    private List<String> selectBoundaries(TargetTableMapper mapper, String pkColumn, String pkType, int gridSize) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("tableName", tableName);
+        params.put("pkColumn", pkColumn);
+
+        if (INTEGER_TYPES.contains(pkType)) {
+            Map<String, Object> minMax = mapper.selectPkMinMax(params);
+            if (minMax == null || minMax.get("min_value") == null) {
+                return Collections.emptyList();  // 빈 테이블
+            }
+            return splitIntegerRange(
+                    ((Number) minMax.get("min_value")).longValue(),
+                    ((Number) minMax.get("max_value")).longValue(),
+                    gridSize);
+        }
+
+        StringBuilder fractions = new StringBuilder("ARRAY[");
+        for (int i = 1; i < gridSize; i++) {
+            if (i > 1) {
+                fractions.append(',');
+            }
+            fractions.append((double) i / gridSize);
+        }
+        fractions.append(']');
+        params.put("fractions", fractions.toString());
+
+        List<String> boundaries = null;
+        if (samplePercent > 0) {
+            params.put("samplePercent", Math.min(samplePercent, 100.0));
+            boundaries = mapper.selectPkRangeBoundaries(params);
+        }
+        if (boundaries == null || boundaries.isEmpty() || boundaries.get(0) == null) {
+            // 샘플이 비어 있으면 (작은 테이블) 전체 테이블 기준으로 재계산
+            params.remove("samplePercent");
+            boundaries = mapper.selectPkRangeBoundaries(params);
+        }
+        return distinctNonNull(boundaries);
+    }
+
+    /**
+     * [min, max] 구간을 gridSize 등분한 경계값 (long 오버플로 방지를 위해 BigInteger 사용)
+     */
+    static List<String> splitIntegerRange(long min, long max, int gridSize) {
+        BigInteger lower = BigInteger.valueOf(min);
+        BigInteger span = BigInteger.valueOf(max).subtract(lower);
+        BigInteger grid = BigInteger.valueOf(gridSize);
+
+        List<String> boundaries = new ArrayList<String>();
+        for (int i = 1; i < gridSize; i++) {
+            BigInteger boundary = lower.add(span.multiply(BigInteger.valueOf(i)).divide(grid));
+            boundaries.add(boundary.toString());
+        }
+        return distinctNonNull(boundaries);
+    }
+
+    private static List<String> distinctNonNull(List<String> values) {
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        // 입력이 오름차순이므로 인접 중복만 제거하면 순서가 유지됨
+        List<String> result = new ArrayList<String>();
+        for (String value : values) {
+            if (value != null && (result.isEmpty() || !result.get(result.size() - 1).equals(value))) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+}
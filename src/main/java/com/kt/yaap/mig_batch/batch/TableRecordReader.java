@@ -1,18 +1,25 @@
 package com.kt.yaap.mig_batch.batch;
 
 import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
+import com.kt.yaap.mig_batch.model.TableSchema;
 import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import io.micrometer.core.instrument.Timer;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.postgresql.core.BaseConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.lang.NonNull;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 대상 테이블의 실제 레코드를 읽는 Reader (메모리 최적화 버전)
@@ -31,8 +38,38 @@ import java.util.*;
  * - 단일 쿼리로 모든 컬럼을 한 번에 조회 (컬럼별 반복 쿼리 제거)
  * - 3개 컬럼 처리 시: 3번 쿼리 → 1번 쿼리 (약 50~67% 성능 개선)
  * - 네트워크 왕복 및 DB 스캔 횟수 대폭 감소
+ * 
+ * 파티션 모드:
+ * - TableRangePartitioner가 만든 범위 정보(ExecutionContext)가 있으면 해당 PK 범위만 조회
+ * - CtidRangePartitioner가 만든 블록 범위가 있으면 해당 ctid 범위만 조회
+ * - 파티션마다 Reader 인스턴스를 따로 생성해야 함 (TablePartitionHandler 참고)
+ * 
+ * 조회 방식 (scanMode, migration_config.scan_mode):
+ * - PK: PK 순서로 조회 (기본값)
+ * - CTID: 정렬 없이 물리 순서로 조회 (정렬/인덱스 스캔 없이 첫 행부터 바로 스트리밍)
+ *   PK 순서가 없으므로 체크포인트를 저장하지 않고, 재시작 시 범위를 처음부터 다시 조회
+ *   (이미 암호화된 행은 EncryptionProcessor 또는 사전 필터에서 제외)
+ * 
+ * 재시작 (체크포인트):
+ * - update()에서 마지막으로 읽은 레코드의 PK 값(복합키는 전체)을 Step ExecutionContext에 저장
+ *   (update()는 청크 쓰기 후 같은 트랜잭션에서 호출되므로 저장된 PK = 마지막 커밋된 청크의 끝)
+ * - 실패한 Job을 같은 JobParameters로 재시작하면 open()에서 체크포인트를 읽어
+ *   WHERE (pk1, pk2) > (값1, 값2) 조건으로 남은 레코드만 조회 (PK 인덱스 순서와 동일)
+ * - 파티션 Worker도 파티션별 ExecutionContext에 각자 저장/복원
+ * 
+ * 사전 필터 (prefilterMode가 NONE이 아닌 경우):
+ * - 조회 SQL에 "아직 암호화되지 않은 값이 있는 행" 조건을 추가하여 후보 레코드만 스트리밍
+ * - 제외된 행 수는 open()에서 스트리밍 전에 같은 범위/체크포인트 조건의 count로 구하고, Step 완료 시 filterCount에 합산
+ *   (StepExecutionListener, Step 통계/MigrationStatusListener 로그의 Filter (Skipped) 건수 유지)
+ *   Step 종료 후에 count하면 이번 실행에서 암호화한 행까지 "이미 암호화됨"으로 세어 이중 집계되므로 쓰기 전에 구함
+ * 
+ * 조회 방식 (migration.reader.type):
+ * - MYBATIS: 이 클래스 (MyBatis Cursor, 행마다 HashMap 결과 매핑)
+ * - JDBC: JdbcTableRecordReader (같은 SQL을 PreparedStatement로 실행, openRecordStream/nextRecord/closeRecordStream 재정의)
+ * 
+ * 미리 읽기 (migration.reader.prefetch.enabled): PrefetchingRecordReader가 이 Reader를 별도 스레드에서 호출
  */
-public class TableRecordReader implements ItemReader<TargetRecordEntity>, ItemStream {
+public class TableRecordReader implements ItemStreamReader<TargetRecordEntity>, StepExecutionListener {
 
     private static final Logger log = LoggerFactory.getLogger(TableRecordReader.class);
 
@@ -40,22 +77,60 @@ public class TableRecordReader implements ItemReader<TargetRecordEntity>, ItemSt
     private final String tableName;
     private final List<String> targetColumns;  // 암호화 대상 컬럼들
     private final String schemaName;  // 데이터베이스 스키마명
+    private final PrefilterMode prefilterMode;
+    private final boolean strictEncryptedCheck;  // PATTERN 사전 필터에 SafeDBUtil strict 규칙 적용
+    private ScanMode scanMode = ScanMode.PK;
+    
+    // ExecutionContext 키 (체크포인트)
+    static final String LAST_PK_KEY_PREFIX = "reader.lastPk.";  // + PK 컬럼명
+    static final String READ_COUNT_KEY = "reader.readCount";
     
     private SqlSession sqlSession;
     private Cursor<Map<String, Object>> cursor;
     private Iterator<Map<String, Object>> cursorIterator;
     private List<String> pkColumnNames;
+    private TableSchema schema;  // 테이블당 1회 생성, 모든 레코드가 공유
     private boolean initialized = false;
     private long recordCount = 0;
+    private Object[] lastPkValues;  // 마지막으로 읽은 레코드의 PK 값, PK 슬롯 순서 (체크포인트)
+    private long prefilteredCount = -1;  // 사전 필터로 제외된 행 수 (open()에서 조회, 실패/미사용 시 -1)
+    private String partitionLabel = "";  // 로그용 (예: " [partition2]")
+    private MigrationMetrics metrics;    // 선택 (null이면 지표 기록 안 함)
+    private Timer fetchTimer;            // open() 시점에 Step 태그로 1회 조회
 
     public TableRecordReader(SqlSessionFactory sqlSessionFactory,
                             String tableName,
                             List<String> targetColumns,
                             String schemaName) {
+        this(sqlSessionFactory, tableName, targetColumns, schemaName, PrefilterMode.NONE, false);
+    }
+
+    public TableRecordReader(SqlSessionFactory sqlSessionFactory,
+                            String tableName,
+                            List<String> targetColumns,
+                            String schemaName,
+                            PrefilterMode prefilterMode,
+                            boolean strictEncryptedCheck) {
         this.sqlSessionFactory = sqlSessionFactory;
         this.tableName = tableName;
         this.targetColumns = targetColumns;
         this.schemaName = schemaName;
+        this.prefilterMode = prefilterMode;
+        this.strictEncryptedCheck = strictEncryptedCheck;
+    }
+
+    /**
+     * 지표 기록 설정 (migration.reader.fetch, open() 전에 호출)
+     */
+    public void setMetrics(MigrationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 조회 방식 설정 (기본값 PK, open() 전에 호출)
+     */
+    public void setScanMode(ScanMode scanMode) {
+        this.scanMode = scanMode;
     }
 
     @Override
@@ -64,62 +139,146 @@ public class TableRecordReader implements ItemReader<TargetRecordEntity>, ItemSt
             throw new IllegalStateException("Reader not initialized. open() must be called before read().");
         }
 
-        if (cursorIterator != null && cursorIterator.hasNext()) {
+        try {
+            long fetchStart = fetchTimer != null ? System.nanoTime() : 0L;
+            TargetRecordEntity entity = nextRecord();
+            if (fetchTimer != null) {
+                fetchTimer.record(System.nanoTime() - fetchStart, TimeUnit.NANOSECONDS);
+            }
+            if (entity == null) {
+                return null;
+            }
+            recordCount++;
+            
+            if (recordCount % 10000 == 0) {
+                log.info("Processing record {} from table: {}{}", recordCount, tableName, partitionLabel);
+            }
+            
+            if (scanMode == ScanMode.PK) {
+                lastPkValues = entity.getPkValues();
+            }
+            return entity;
+        } catch (Exception e) {
+            log.error("Error reading record from stream for table: {}", tableName, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 스트리밍 조회 시작 (open()에서 조회 파라미터 구성 후 호출)
+     * 
+     * @param session PK/타입 조회에 사용한 세션 (close() 시 닫힘)
+     * @param params selectAllTargetColumnsStreaming 파라미터 (범위/체크포인트/사전 필터 포함)
+     */
+    protected void openRecordStream(SqlSession session, Map<String, Object> params) throws Exception {
+        cursor = session.getMapper(TargetTableMapper.class).selectAllTargetColumnsStreaming(params);
+        cursorIterator = cursor.iterator();
+    }
+
+    /**
+     * 다음 레코드 (더 없으면 null)
+     */
+    protected TargetRecordEntity nextRecord() throws Exception {
+        if (cursorIterator == null || !cursorIterator.hasNext()) {
+            return null;
+        }
+        return convertToEntity(cursorIterator.next());
+    }
+
+    /**
+     * 조회 중 fetch size 변경 (AdaptiveChunkController에서 호출)
+     * 
+     * MyBatis Cursor는 open 시점의 fetch size(MyBatisConfig 기본값)를 계속 사용하므로 변경하지 않습니다.
+     */
+    void applyFetchSize(int fetchSize) {
+    }
+
+    /**
+     * 진행 중인 조회 취소 (다른 스레드에서 호출, PrefetchingRecordReader가 fetch 중인 prefetch 스레드를 멈출 때 사용)
+     * 
+     * MyBatis Cursor는 Statement를 노출하지 않으므로 세션 커넥션의 서버 측 쿼리를 취소합니다. (PostgreSQL cancel 요청)
+     * 자원은 해제하지 않습니다. (close()에서 해제)
+     */
+    protected void cancelRecordStream() throws Exception {
+        SqlSession session = sqlSession;
+        if (session != null) {
+            session.getConnection().unwrap(BaseConnection.class).cancelQuery();
+        }
+    }
+
+    /**
+     * 스트리밍 조회 자원 정리 (close()에서 SqlSession보다 먼저 호출)
+     */
+    protected void closeRecordStream() {
+        if (cursor != null) {
             try {
-                Map<String, Object> record = cursorIterator.next();
-                recordCount++;
-                
-                if (recordCount % 10000 == 0) {
-                    log.info("Processing record {} from table: {}", recordCount, tableName);
-                }
-                
-                return convertToEntity(record);
+                cursor.close();
+                log.debug("Cursor closed for table: {}", tableName);
             } catch (Exception e) {
-                log.error("Error reading record from cursor for table: {}", tableName, e);
-                throw e;
+                log.warn("Error closing cursor for table: {}", tableName, e);
+            } finally {
+                cursor = null;
+                cursorIterator = null;
             }
         }
-        
-        return null;
     }
 
-    private TargetRecordEntity convertToEntity(Map<String, Object> record) {
+    /**
+     * 조회 결과 1행 → Entity 변환 (레코드마다 호출되는 핫패스, 벤치마크에서 직접 호출하므로 package-private)
+     * 
+     * 컬럼명 Map을 만들지 않고 TableSchema의 슬롯 순서대로 배열에 값을 채웁니다.
+     */
+    TargetRecordEntity convertToEntity(Map<String, Object> record) {
         if (record == null) {
             return null;
         }
         
+        TargetRecordEntity entity = new TargetRecordEntity(schema);
+        
         // PK 값 추출 (단일키/복합키 통일)
-        Map<String, Object> pkValues = new HashMap<String, Object>();
-        for (String pkCol : pkColumnNames) {
-            String key = "pk_" + pkCol.toLowerCase();
-            Object value = record.get(key);
+        Object[] pkValues = entity.getPkValues();
+        for (int i = 0; i < pkValues.length; i++) {
+            Object value = record.get(schema.getPkResultKey(i));
             
             if (value == null) {
                 throw new RuntimeException(
                     String.format("PK value not found: table=%s, pk_column=%s, key=%s", 
-                        tableName, pkCol, key));
+                        tableName, pkColumnNames.get(i), schema.getPkResultKey(i)));
             }
             
-            pkValues.put(pkCol, value);
+            pkValues[i] = value;
         }
         
-        // Entity 생성
-        TargetRecordEntity entity = new TargetRecordEntity();
-        entity.setTableName(tableName);
-        entity.setPkColumnNames(pkColumnNames);
-        entity.setPkValues(pkValues);
-        entity.setTargetColumnNames(targetColumns);
-        
         // 모든 대상 컬럼의 원본 값 추가
-        for (String columnName : targetColumns) {
-            Object value = record.get(columnName);
-            String originalValue = value != null ? value.toString() : null;
-            entity.getOriginalValues().put(columnName, originalValue);
+        String[] originalValues = entity.getOriginalValues();
+        for (int i = 0; i < originalValues.length; i++) {
+            Object value = record.get(targetColumns.get(i));
+            originalValues[i] = value != null ? value.toString() : null;
         }
         
         return entity;
     }
 
+    /**
+     * PK 컬럼 확정 후 테이블 스키마(슬롯 위치) 생성 (open()에서 호출, 벤치마크에서는 DB 없이 직접 호출)
+     */
+    void initSchema(List<String> pkColumnNames) {
+        this.pkColumnNames = pkColumnNames;
+        this.schema = new TableSchema(tableName, pkColumnNames, targetColumns);
+    }
+
+    TableSchema getSchema() {
+        return schema;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    long getRecordCount() {
+        return recordCount;
+    }
+
     @Override
     public void open(@NonNull org.springframework.batch.item.ExecutionContext executionContext) throws ItemStreamException {
         // Spring Batch 생명주기에 맞춰 open()에서 초기화 (SQL 세션 오류 방지)
@@ -132,11 +291,12 @@ public class TableRecordReader implements ItemReader<TargetRecordEntity>, ItemSt
                 Map<String, Object> pkParams = new HashMap<String, Object>();
                 pkParams.put("tableName", tableName);
                 pkParams.put("schemaName", schemaName);
-                pkColumnNames = mapper.selectPrimaryKeyColumns(pkParams);
+                List<String> selectedPkColumnNames = mapper.selectPrimaryKeyColumns(pkParams);
                 
-                if (pkColumnNames == null || pkColumnNames.isEmpty()) {
+                if (selectedPkColumnNames == null || selectedPkColumnNames.isEmpty()) {
                     throw new RuntimeException("Primary Key not found for table: " + tableName);
                 }
+                initSchema(selectedPkColumnNames);
                 
                 log.info("Table: {}, PK columns: {}, Target columns: {}", 
                         tableName, pkColumnNames, targetColumns);
@@ -146,12 +306,26 @@ public class TableRecordReader implements ItemReader<TargetRecordEntity>, ItemSt
                 params.put("tableName", tableName);
                 params.put("pkColumnNames", pkColumnNames);
                 params.put("targetColumnNames", targetColumns);
+                params.put("unordered", scanMode == ScanMode.CTID);
+                applyPartitionRange(params, executionContext);
+                if (scanMode == ScanMode.PK) {
+                    applyRestartCheckpoint(mapper, params, executionContext);
+                } else if (executionContext.containsKey(READ_COUNT_KEY)) {
+                    log.info("Restarting ctid scan for table: {}{} from the start of its range ({} records read before, already encrypted records are skipped)", 
+                            tableName, partitionLabel, executionContext.getLong(READ_COUNT_KEY));
+                }
+                params.put("prefilterMode", prefilterMode.name());
+                params.put("strictEncryptedCheck", strictEncryptedCheck);
+                prefilteredCount = prefilterMode != PrefilterMode.NONE ? countPrefiltered(mapper, params) : -1;
                 
-                cursor = mapper.selectAllTargetColumnsStreaming(params);
-                cursorIterator = cursor.iterator();
+                openRecordStream(sqlSession, params);
+                if (metrics != null) {
+                    fetchTimer = metrics.readerFetchTimer(tableName, MigrationMetrics.currentStepName());
+                }
                 initialized = true;
                 
-                log.info("Initialized streaming reader for table: {} (using Cursor-based streaming)", tableName);
+                log.info("Initialized streaming reader for table: {}{} ({}, scan: {}, prefilter: {})", 
+                        tableName, partitionLabel, getClass().getSimpleName(), scanMode, prefilterMode);
             } catch (Exception e) {
                 log.error("Error initializing streaming reader for table: {}", tableName, e);
                 close();
@@ -160,25 +334,172 @@ public class TableRecordReader implements ItemReader<TargetRecordEntity>, ItemSt
         }
     }
 
+    /**
+     * 파티션 Step으로 실행된 경우 선두 PK 컬럼(또는 ctid 블록)의 범위 조건을 조회 파라미터에 추가
+     */
+    private void applyPartitionRange(Map<String, Object> params,
+                                     org.springframework.batch.item.ExecutionContext executionContext) {
+        if (!executionContext.containsKey(TableRangePartitioner.PARTITION_INDEX_KEY)) {
+            return;
+        }
+        
+        partitionLabel = " [partition" + executionContext.getInt(TableRangePartitioner.PARTITION_INDEX_KEY) + "]";
+        if (scanMode == ScanMode.CTID) {
+            applyCtidRange(params, executionContext);
+            return;
+        }
+        
+        String lowerBound = executionContext.getString(TableRangePartitioner.LOWER_BOUND_KEY, null);
+        String upperBound = executionContext.getString(TableRangePartitioner.UPPER_BOUND_KEY, null);
+        
+        params.put("leadingPkColumn", pkColumnNames.get(0));
+        params.put("leadingPkType", executionContext.getString(TableRangePartitioner.PK_TYPE_KEY));
+        params.put("lowerBound", lowerBound);
+        params.put("upperBound", upperBound);
+        
+        log.info("Table: {}{}, PK range: ({}, {}]", tableName, partitionLabel,
+                lowerBound != null ? lowerBound : "-inf", upperBound != null ? upperBound : "+inf");
+    }
+
+    /**
+     * ctid 블록 범위 조건 (하한 블록 이상 ~ 상한 블록 미만, 블록 번호 → '(블록,0)' tid 문자열)
+     */
+    private void applyCtidRange(Map<String, Object> params,
+                                org.springframework.batch.item.ExecutionContext executionContext) {
+        if (!executionContext.containsKey(CtidRangePartitioner.LOWER_BLOCK_KEY)
+                && !executionContext.containsKey(CtidRangePartitioner.UPPER_BLOCK_KEY)
+                && executionContext.containsKey(TableRangePartitioner.PK_TYPE_KEY)) {
+            throw new IllegalStateException(
+                String.format("Partition was created by PK range, not ctid range: table=%s", tableName));
+        }
+        Long lowerBlock = executionContext.containsKey(CtidRangePartitioner.LOWER_BLOCK_KEY)
+                ? executionContext.getLong(CtidRangePartitioner.LOWER_BLOCK_KEY) : null;
+        Long upperBlock = executionContext.containsKey(CtidRangePartitioner.UPPER_BLOCK_KEY)
+                ? executionContext.getLong(CtidRangePartitioner.UPPER_BLOCK_KEY) : null;
+        
+        params.put("ctidLowerBound", lowerBlock != null ? "(" + lowerBlock + ",0)" : null);
+        params.put("ctidUpperBound", upperBlock != null ? "(" + upperBlock + ",0)" : null);
+        
+        log.info("Table: {}{}, ctid block range: [{}, {})", tableName, partitionLabel,
+                lowerBlock != null ? lowerBlock : 0, upperBlock != null ? upperBlock : "end");
+    }
+
+    /**
+     * 재시작 시 이전 실행의 체크포인트(마지막 커밋 PK) 이후부터 조회하도록 keyset 조건 추가
+     * 
+     * PK 값은 문자열로 저장되어 있으므로 실제 컬럼 타입으로 CAST하여 비교합니다.
+     */
+    private void applyRestartCheckpoint(TargetTableMapper mapper, Map<String, Object> params,
+                                        org.springframework.batch.item.ExecutionContext executionContext) {
+        if (!executionContext.containsKey(LAST_PK_KEY_PREFIX + pkColumnNames.get(0))) {
+            return;
+        }
+        
+        Map<String, Object> resumePkValues = new HashMap<String, Object>();
+        Object[] checkpoint = new Object[pkColumnNames.size()];
+        for (int i = 0; i < checkpoint.length; i++) {
+            String pkCol = pkColumnNames.get(i);
+            String value = executionContext.getString(LAST_PK_KEY_PREFIX + pkCol, null);
+            if (value == null) {
+                throw new IllegalStateException(
+                    String.format("Incomplete restart checkpoint: table=%s, missing pk_column=%s", tableName, pkCol));
+            }
+            resumePkValues.put(pkCol, value);
+            checkpoint[i] = value;
+        }
+        
+        Map<String, Object> typeParams = new HashMap<String, Object>();
+        typeParams.put("tableName", tableName);
+        typeParams.put("schemaName", schemaName);
+        typeParams.put("columnNames", pkColumnNames);
+        Map<String, String> pkColumnTypes = new HashMap<String, String>();
+        for (Map<String, Object> row : mapper.selectColumnTypes(typeParams)) {
+            pkColumnTypes.put((String) row.get("column_name"), (String) row.get("data_type"));
+        }
+        for (String pkCol : pkColumnNames) {
+            if (!pkColumnTypes.containsKey(pkCol)) {
+                throw new IllegalStateException(
+                    String.format("PK column type not found: table=%s, pk_column=%s", tableName, pkCol));
+            }
+        }
+        
+        params.put("resumePkValues", resumePkValues);
+        params.put("pkColumnTypes", pkColumnTypes);
+        lastPkValues = checkpoint;
+        recordCount = executionContext.getLong(READ_COUNT_KEY, 0L);
+        
+        log.info("Restarting reader for table: {}{} after PK {} ({} records already processed)", 
+                tableName, partitionLabel, resumePkValues, recordCount);
+    }
+
+    /**
+     * 사전 필터로 제외될 행 수 (스트리밍 시작 전, 같은 범위/체크포인트 조건)
+     * 
+     * @return 건수 (실패 시 -1, 통계 보정 실패는 데이터 처리 결과에 영향 없음)
+     */
+    private long countPrefiltered(TargetTableMapper mapper, Map<String, Object> params) {
+        try {
+            return mapper.countPrefilteredRecords(params);
+        } catch (Exception e) {
+            log.warn("Failed to count prefiltered records for table: {}{}", tableName, partitionLabel, e);
+            return -1;
+        }
+    }
+
     @Override
     public void update(@NonNull org.springframework.batch.item.ExecutionContext executionContext) throws ItemStreamException {
-        // ItemStream 인터페이스 구현 필수. 현재 프로젝트는 매 실행마다 새 Job 인스턴스로 시작하므로 상태 저장 불필요.
+        // 청크 커밋 직전(같은 트랜잭션)에 호출: 마지막으로 읽은 PK를 체크포인트로 저장
+        saveCheckpoint(executionContext, lastPkValues, recordCount);
+    }
+
+    /**
+     * 체크포인트 저장 (PrefetchingRecordReader는 미리 읽은 레코드가 아니라 청크로 넘긴 마지막 레코드 기준으로 호출)
+     * 
+     * @param pkValues 마지막으로 청크에 넘긴 레코드의 PK 값 (없으면 null, CTID 조회 방식에서는 무시)
+     * @param count 지금까지 청크에 넘긴 레코드 수
+     */
+    void saveCheckpoint(org.springframework.batch.item.ExecutionContext executionContext,
+                        Object[] pkValues, long count) {
+        if (scanMode == ScanMode.CTID) {
+            executionContext.putLong(READ_COUNT_KEY, count);
+            return;
+        }
+        if (pkValues == null) {
+            return;
+        }
+        for (int i = 0; i < pkValues.length; i++) {
+            executionContext.putString(LAST_PK_KEY_PREFIX + pkColumnNames.get(i), pkValues[i].toString());
+        }
+        executionContext.putLong(READ_COUNT_KEY, count);
+    }
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+    }
+
+    /**
+     * 사전 필터로 제외된 행 수를 filterCount에 합산 (Step이 정상 완료된 경우만)
+     * 
+     * 제외된 행은 Reader가 읽지 않으므로 Step 통계에 나타나지 않습니다.
+     * open()에서 스트리밍 전에 같은 범위/체크포인트 조건으로 구한 건수를 "읽었지만 이미 암호화되어 스킵"한 것과 같게 집계합니다.
+     */
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        if (prefilteredCount < 0
+                || !ExitStatus.COMPLETED.getExitCode().equals(stepExecution.getExitStatus().getExitCode())) {
+            return null;
+        }
+        
+        stepExecution.setFilterCount(stepExecution.getFilterCount() + (int) prefilteredCount);
+        log.info("Prefiltered (already encrypted) records for table: {}{}: {}", 
+                tableName, partitionLabel, prefilteredCount);
+        return null;
     }
 
     @Override
     public void close() throws ItemStreamException {
         // 리소스 정리
-        if (cursor != null) {
-            try {
-                cursor.close();
-                log.debug("Cursor closed for table: {}", tableName);
-            } catch (Exception e) {
-                log.warn("Error closing cursor for table: {}", tableName, e);
-            } finally {
-                cursor = null;
-                cursorIterator = null;
-            }
-        }
+        closeRecordStream();
         if (sqlSession != null) {
             try {
                 sqlSession.close();
@@ -190,7 +511,8 @@ public class TableRecordReader implements ItemReader<TargetRecordEntity>, ItemSt
             }
         }
         if (initialized) {
-            log.info("Closed streaming reader for table: {}, processed {} records", tableName, recordCount);
+            log.info("Closed streaming reader for table: {}{}, processed {} records", 
+                    tableName, partitionLabel, recordCount);
         }
     }
 }
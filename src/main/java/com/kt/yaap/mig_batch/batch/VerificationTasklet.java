@@ -0,0 +1,314 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import com.kt.yaap.mig_batch.util.SafeDBUtil;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.lang.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 암호화 결과를 백업 컬럼(컬럼명_bak)과 비교하는 검증 Tasklet (verifyStep_테이블명)
+ *
+ * 모든 행을 복호화하면 SafeDB 호출이 테이블 크기만큼 발생하므로 2단계로 나눕니다.
+ * execute() 1회 = PK 순서 rangeRows건 구간 1개 = 트랜잭션 1개 (TaskletStep이 반복 호출)
+ * 1. 구간 집계 (selectVerificationRange, 서버 측): 행을 가져오지 않고 백업과 맞지 않는 행 수를 셈
+ *    - 백업이 있는데 현재 값이 비었거나 백업과 같음, 빈 백업인데 현재 값이 바뀜
+ *    - safedb.deterministic이면 백업 평문 ↔ 암호문이 1:1이 아닌 경우 (같은 평문이 다른 암호문 등)
+ * 2. 복호화 비교 (selectVerificationRows + decryptBatch): 의심 행이 있는 구간은 전체,
+ *    정상 구간은 앞 sampleRows건만 복호화하여 백업 값과 비교 (다른 키로 암호화된 경우 등 집계로 못 잡는 불일치 확인)
+ * - 마지막 PK와 누적 건수를 같은 트랜잭션에서 ExecutionContext에 저장 → 재시작 시 다음 구간부터
+ * - 파티션 Worker로 실행되면 TableRangePartitioner의 선두 PK 범위 안에서만 검증 (범위별 병렬)
+ * - 대상 테이블은 변경하지 않음
+ *
+ * Step 건수: readCount = 검증한 행 수 (filterCount는 사용하지 않음, 복호화 비교한 값 수는 verify.decryptedCount)
+ * 불일치/검증 불가 건수는 ExecutionContext(verify.*)에 저장 → VerificationReportListener가 테이블별로 합산
+ *
+ * 사용법: Step마다 new로 생성하고 StepExecutionListener로도 등록 (beforeStep에서 범위/체크포인트 초기화)
+ */
+public class VerificationTasklet implements Tasklet, StepExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificationTasklet.class);
+
+    // ExecutionContext 키 (체크포인트 + 결과)
+    static final String LAST_PK_KEY_PREFIX = "verify.lastPk.";  // + PK 컬럼명
+    public static final String SCANNED_COUNT_KEY = "verify.scannedCount";
+    public static final String SUSPICIOUS_RANGE_COUNT_KEY = "verify.suspiciousRangeCount";
+    public static final String DECRYPTED_COUNT_KEY = "verify.decryptedCount";
+    public static final String MISMATCH_COUNT_KEY = "verify.mismatchCount";
+    public static final String MAPPING_CONFLICT_COUNT_KEY = "verify.mappingConflictCount";
+    public static final String NO_BACKUP_COUNT_KEY = "verify.noBackupCount";
+
+    private static final String BACKUP_SUFFIX = "_bak";
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final SafeDBUtil safeDBUtil;
+    private final String tableName;
+    private final List<String> targetColumns;
+    private final String schemaName;
+    private final int rangeRows;
+    private final int sampleRows;
+    private final boolean deterministic;
+    private final int maxLoggedMismatches;
+
+    private Map<String, Object> params;  // beforeStep에서 구성, 구간마다 resumePkValues 갱신
+    private List<String> pkColumnNames;
+    private long scannedCount;
+    private long suspiciousRangeCount;
+    private long decryptedCount;
+    private long mismatchCount;
+    private long mappingConflictCount;
+    private long noBackupCount;
+    private int loggedMismatches;
+    private long rangeCount;  // 이번 실행에서 검증한 구간 수 (진행 로그 주기)
+    private String partitionLabel = "";
+
+    public VerificationTasklet(SqlSessionFactory sqlSessionFactory,
+                               SafeDBUtil safeDBUtil,
+                               String tableName,
+                               List<String> targetColumns,
+                               String schemaName,
+                               int rangeRows,
+                               int sampleRows,
+                               boolean deterministic,
+                               int maxLoggedMismatches) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.safeDBUtil = safeDBUtil;
+        this.tableName = tableName;
+        this.targetColumns = targetColumns;
+        this.schemaName = schemaName;
+        this.rangeRows = Math.max(1, rangeRows);
+        this.sampleRows = Math.max(0, Math.min(sampleRows, this.rangeRows));
+        this.deterministic = deterministic;
+        this.maxLoggedMismatches = maxLoggedMismatches;
+    }
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
+
+            Map<String, Object> pkParams = new HashMap<String, Object>();
+            pkParams.put("tableName", tableName);
+            pkParams.put("schemaName", schemaName);
+            pkColumnNames = mapper.selectPrimaryKeyColumns(pkParams);
+            if (pkColumnNames == null || pkColumnNames.isEmpty()) {
+                throw new RuntimeException("Primary Key not found for table: " + tableName);
+            }
+
+            Map<String, Object> typeParams = new HashMap<String, Object>(pkParams);
+            typeParams.put("columnNames", pkColumnNames);
+            Map<String, String> pkColumnTypes = new HashMap<String, String>();
+            for (Map<String, Object> row : mapper.selectColumnTypes(typeParams)) {
+                pkColumnTypes.put((String) row.get("column_name"), (String) row.get("data_type"));
+            }
+
+            // 백업 컬럼이 없으면 비교 기준이 없으므로 실패 (backup.enabled로 암호화하지 않은 테이블)
+            List<String> backupColumnNames = new ArrayList<String>();
+            for (String column : targetColumns) {
+                backupColumnNames.add(column + BACKUP_SUFFIX);
+            }
+            typeParams.put("columnNames", backupColumnNames);
+            if (mapper.selectColumnTypes(typeParams).size() < backupColumnNames.size()) {
+                throw new IllegalStateException(
+                    String.format("Backup columns not found, cannot verify: table=%s, columns=%s", tableName, backupColumnNames));
+            }
+
+            params = new HashMap<String, Object>();
+            params.put("tableName", tableName);
+            params.put("pkColumnNames", pkColumnNames);
+            params.put("pkColumnTypes", pkColumnTypes);
+            params.put("targetColumnNames", targetColumns);
+            params.put("rangeRows", rangeRows);
+            params.put("deterministic", deterministic);
+        } finally {
+            sqlSession.close();
+        }
+
+        partitionLabel = "";
+        if (executionContext.containsKey(TableRangePartitioner.PARTITION_INDEX_KEY)) {
+            partitionLabel = " [partition" + executionContext.getInt(TableRangePartitioner.PARTITION_INDEX_KEY) + "]";
+            params.put("leadingPkColumn", pkColumnNames.get(0));
+            params.put("leadingPkType", executionContext.getString(TableRangePartitioner.PK_TYPE_KEY));
+            params.put("lowerBound", executionContext.getString(TableRangePartitioner.LOWER_BOUND_KEY, null));
+            params.put("upperBound", executionContext.getString(TableRangePartitioner.UPPER_BOUND_KEY, null));
+        }
+
+        scannedCount = executionContext.getLong(SCANNED_COUNT_KEY, 0L);
+        suspiciousRangeCount = executionContext.getLong(SUSPICIOUS_RANGE_COUNT_KEY, 0L);
+        decryptedCount = executionContext.getLong(DECRYPTED_COUNT_KEY, 0L);
+        mismatchCount = executionContext.getLong(MISMATCH_COUNT_KEY, 0L);
+        mappingConflictCount = executionContext.getLong(MAPPING_CONFLICT_COUNT_KEY, 0L);
+        noBackupCount = executionContext.getLong(NO_BACKUP_COUNT_KEY, 0L);
+        loggedMismatches = 0;
+        rangeCount = 0;
+        if (executionContext.containsKey(LAST_PK_KEY_PREFIX + pkColumnNames.get(0))) {
+            Map<String, Object> resumePkValues = new HashMap<String, Object>();
+            for (String pkCol : pkColumnNames) {
+                String value = executionContext.getString(LAST_PK_KEY_PREFIX + pkCol, null);
+                if (value == null) {
+                    throw new IllegalStateException(
+                        String.format("Incomplete verification checkpoint: table=%s, missing pk_column=%s", tableName, pkCol));
+                }
+                resumePkValues.put(pkCol, value);
+            }
+            params.put("resumePkValues", resumePkValues);
+            log.info("Resuming verification for table: {}{} after PK {} ({} rows verified before)",
+                    tableName, partitionLabel, resumePkValues, scannedCount);
+        } else {
+            log.info("Starting verification for table: {}{}, columns: {} (range: {} rows, sample: {} rows)",
+                    tableName, partitionLabel, targetColumns, rangeRows, sampleRows);
+        }
+    }
+
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) throws Exception {
+        Map<String, Object> aggregate;
+        List<Map<String, Object>> rows = null;
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
+            aggregate = mapper.selectVerificationRange(params);
+
+            int scanned = intValue(aggregate, "scanned_rows");
+            boolean suspicious = intValue(aggregate, "suspicious_rows") > 0 || intValue(aggregate, "mapping_conflicts") > 0;
+            int rowLimit = suspicious ? rangeRows : sampleRows;
+            if (scanned > 0 && rowLimit > 0) {
+                Map<String, Object> rowParams = new HashMap<String, Object>(params);
+                rowParams.put("rowLimit", rowLimit);
+                rows = mapper.selectVerificationRows(rowParams);
+            }
+        } finally {
+            sqlSession.close();
+        }
+
+        int scanned = intValue(aggregate, "scanned_rows");
+        if (scanned == 0) {
+            return RepeatStatus.FINISHED;
+        }
+        int suspiciousRows = intValue(aggregate, "suspicious_rows");
+        int mappingConflicts = intValue(aggregate, "mapping_conflicts");
+        if (suspiciousRows > 0 || mappingConflicts > 0) {
+            suspiciousRangeCount++;
+            log.warn("Suspicious range in table: {}{} after PK {}: {} suspicious rows, {} mapping conflicts in {} rows",
+                    tableName, partitionLabel, params.get("resumePkValues"), suspiciousRows, mappingConflicts, scanned);
+        }
+        int decrypted = rows != null ? compareDecrypted(rows) : 0;
+
+        // 다음 구간의 keyset 조건 + 체크포인트 (트랜잭션 커밋 시 함께 저장)
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        Map<String, Object> resumePkValues = new HashMap<String, Object>();
+        for (String pkCol : pkColumnNames) {
+            String value = (String) aggregate.get("pk_" + pkCol);
+            resumePkValues.put(pkCol, value);
+            executionContext.putString(LAST_PK_KEY_PREFIX + pkCol, value);
+        }
+        params.put("resumePkValues", resumePkValues);
+
+        scannedCount += scanned;
+        decryptedCount += decrypted;
+        mappingConflictCount += mappingConflicts;
+        noBackupCount += intValue(aggregate, "no_backup_rows");
+        executionContext.putLong(SCANNED_COUNT_KEY, scannedCount);
+        executionContext.putLong(SUSPICIOUS_RANGE_COUNT_KEY, suspiciousRangeCount);
+        executionContext.putLong(DECRYPTED_COUNT_KEY, decryptedCount);
+        executionContext.putLong(MISMATCH_COUNT_KEY, mismatchCount);
+        executionContext.putLong(MAPPING_CONFLICT_COUNT_KEY, mappingConflictCount);
+        executionContext.putLong(NO_BACKUP_COUNT_KEY, noBackupCount);
+        // StepContribution에는 읽은 건수를 한 번에 더하는 메서드가 없음 (진행률/ETA는 readCount 기준)
+        for (int i = 0; i < scanned; i++) {
+            contribution.incrementReadCount();
+        }
+
+        if (++rangeCount % 20 == 0) {
+            log.info("Verification for table: {}{}: {} rows verified, {} values decrypted, {} mismatches",
+                    tableName, partitionLabel, scannedCount, decryptedCount, mismatchCount);
+        }
+        return scanned < rangeRows ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    /**
+     * 구간 행의 암호문을 컬럼별로 일괄 복호화하여 백업 값과 비교 (불일치는 mismatchCount에 누적)
+     *
+     * @return 복호화 비교한 값 수
+     */
+    private int compareDecrypted(List<Map<String, Object>> rows) {
+        int compared = 0;
+        for (String column : targetColumns) {
+            List<Map<String, Object>> checkedRows = new ArrayList<Map<String, Object>>();
+            List<String> encryptedValues = new ArrayList<String>();
+            for (Map<String, Object> row : rows) {
+                String backup = (String) row.get(column + BACKUP_SUFFIX);
+                String current = (String) row.get(column);
+                if (backup == null || backup.trim().isEmpty()) {
+                    // 백업 없음(검증 불가) / 빈 값(암호화 대상 아님)은 구간 집계에서 확인
+                    continue;
+                }
+                if (current == null || current.equals(backup)) {
+                    // 유실 또는 미암호화 (복호화 불필요, Mock 복호화는 평문을 그대로 돌려주므로 먼저 판정)
+                    recordMismatch(row, column, current == null ? "missing" : "not encrypted");
+                    compared++;
+                    continue;
+                }
+                checkedRows.add(row);
+                encryptedValues.add(current);
+            }
+            if (encryptedValues.isEmpty()) {
+                continue;
+            }
+
+            List<String> decryptedValues = safeDBUtil.decryptBatch(encryptedValues);
+            for (int i = 0; i < decryptedValues.size(); i++) {
+                Map<String, Object> row = checkedRows.get(i);
+                if (!row.get(column + BACKUP_SUFFIX).equals(decryptedValues.get(i))) {
+                    recordMismatch(row, column, "decrypted value differs from backup");
+                }
+            }
+            compared += encryptedValues.size();
+        }
+        return compared;
+    }
+
+    private void recordMismatch(Map<String, Object> row, String column, String reason) {
+        mismatchCount++;
+        if (loggedMismatches < maxLoggedMismatches) {
+            loggedMismatches++;
+            Map<String, Object> pkValues = new LinkedHashMap<String, Object>();
+            for (String pkCol : pkColumnNames) {
+                pkValues.put(pkCol, row.get("pk_" + pkCol));
+            }
+            log.warn("Verification mismatch: table={}, column={}, pk={}, reason={}", tableName, column, pkValues, reason);
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        log.info("Verification for table: {}{} finished: {} rows verified, {} suspicious ranges, {} values decrypted, "
+                + "{} mismatches, {} mapping conflicts, {} rows without backup ({})",
+                tableName, partitionLabel, scannedCount, suspiciousRangeCount, decryptedCount,
+                mismatchCount, mappingConflictCount, noBackupCount, stepExecution.getStatus());
+        return null;
+    }
+
+    private static int intValue(Map<String, Object> row, String key) {
+        Object value = row != null ? row.get(key) : null;
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+}
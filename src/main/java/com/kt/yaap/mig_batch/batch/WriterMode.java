@@ -0,0 +1,36 @@
+package com.kt.yaap.mig_batch.batch;
+
+/**
+ * 테이블별 Writer 방식 (migration_config.writer_mode)
+ */
+public enum WriterMode {
+
+    /**
+     * 레코드 단위 UPDATE를 MyBatis BATCH 모드로 전송 (EncryptionWriter, 기본값)
+     */
+    BATCH,
+
+    /**
+     * 컬럼 세트별로 묶어 UPDATE ... FROM (VALUES ...) 한 문장으로 반영 (BulkEncryptionWriter)
+     */
+    BULK,
+
+    /**
+     * 청크를 COPY로 임시 테이블에 적재한 뒤 UPDATE ... FROM 한 번으로 반영 (CopyEncryptionWriter)
+     */
+    COPY;
+
+    /**
+     * 설정 문자열을 WriterMode로 변환 (NULL/빈 값이면 defaultMode)
+     */
+    public static WriterMode from(String value, WriterMode defaultMode) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultMode;
+        }
+        try {
+            return WriterMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown writer_mode: " + value + " (supported: BATCH, BULK, COPY)", e);
+        }
+    }
+}
@@ -1,18 +1,61 @@
 package com.kt.yaap.mig_batch.config;
 
+import com.kt.yaap.mig_batch.batch.AdaptiveChunkController;
+import com.kt.yaap.mig_batch.batch.BackupColumnTasklet;
+import com.kt.yaap.mig_batch.batch.BulkEncryptionWriter;
+import com.kt.yaap.mig_batch.batch.CopyEncryptionWriter;
+import com.kt.yaap.mig_batch.batch.CtidRangePartitioner;
+import com.kt.yaap.mig_batch.batch.EncryptionChunkProcessor;
 import com.kt.yaap.mig_batch.batch.EncryptionProcessor;
 import com.kt.yaap.mig_batch.batch.EncryptionWriter;
+import com.kt.yaap.mig_batch.batch.JdbcTableRecordReader;
+import com.kt.yaap.mig_batch.batch.OffHeapRowBuffer;
+import com.kt.yaap.mig_batch.batch.PrefetchingRecordReader;
+import com.kt.yaap.mig_batch.batch.PrefilterMode;
+import com.kt.yaap.mig_batch.batch.ReaderType;
+import com.kt.yaap.mig_batch.batch.ScanMode;
+import com.kt.yaap.mig_batch.batch.TablePartitionHandler;
+import com.kt.yaap.mig_batch.batch.TableRangePartitioner;
 import com.kt.yaap.mig_batch.batch.TableRecordReader;
+import com.kt.yaap.mig_batch.batch.VerificationTasklet;
+import com.kt.yaap.mig_batch.batch.WriterMode;
+import com.kt.yaap.mig_batch.governor.LoadGovernor;
+import com.kt.yaap.mig_batch.listener.LoadGovernorListener;
+import com.kt.yaap.mig_batch.listener.MigrationProgressListener;
 import com.kt.yaap.mig_batch.listener.MigrationStatusListener;
 import com.kt.yaap.mig_batch.mapper.MigrationConfigMapper;
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
+import com.kt.yaap.mig_batch.model.MigrationConfigEntity;
 import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import com.kt.yaap.mig_batch.progress.MigrationProgressService;
+import com.kt.yaap.mig_batch.service.BackupColumnService;
+import com.kt.yaap.mig_batch.util.SafeDBUtil;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.step.builder.AbstractTaskletStepBuilder;
+import org.springframework.batch.core.step.item.ChunkOrientedTasklet;
+import org.springframework.batch.core.step.item.SimpleChunkProvider;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.RepeatListener;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+import org.springframework.batch.repeat.support.RepeatTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -24,6 +67,8 @@ import java.util.List;
 @Configuration
 public class BatchConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(BatchConfig.class);
+
     @Value("${migration.chunk-size:1000}")
     private int chunkSize;
 
@@ -39,12 +84,119 @@ public class BatchConfig {
     @Autowired
     private EncryptionWriter encryptionWriter;
     
+    @Autowired
+    private BulkEncryptionWriter bulkEncryptionWriter;
+    
+    @Autowired
+    private CopyEncryptionWriter copyEncryptionWriter;
+    
     @Autowired
     private MigrationConfigMapper migrationConfigMapper;
+    
+    @Autowired
+    private SafeDBConfig safeDBConfig;
+
+    @Autowired
+    private MigrationMetrics migrationMetrics;
+
+    @Autowired
+    private MigrationProgressService migrationProgressService;
+
+    @Autowired
+    private LoadGovernor loadGovernor;
+
+    @Autowired
+    private BackupColumnService backupColumnService;
+
+    @Value("${migration.backup.batch-size:5000}")
+    private int backupBatchSize;
+
+    @Autowired
+    private SafeDBUtil safeDBUtil;
+
+    @Value("${migration.verify.range-rows:10000}")
+    private int verifyRangeRows;
+
+    @Value("${migration.verify.sample-rows:100}")
+    private int verifySampleRows;
+
+    @Value("${migration.verify.max-logged-mismatches:20}")
+    private int verifyMaxLoggedMismatches;
 
     @Value("${migration.schema-name:public}")
     private String schemaName;
 
+    @Value("${migration.writer-mode:BATCH}")
+    private String defaultWriterMode;
+
+    @Value("${migration.partition.grid-size:1}")
+    private int defaultGridSize;
+
+    @Value("${migration.partition.sample-percent:1.0}")
+    private double partitionSamplePercent;
+
+    @Value("${migration.partition.scan-mode:PK}")
+    private String defaultScanMode;
+
+    @Value("${migration.encryption.threads:1}")
+    private int defaultEncryptionThreads;
+
+    @Value("${migration.prefilter-mode:NONE}")
+    private String prefilterMode;
+
+    @Value("${migration.reader.type:MYBATIS}")
+    private String readerType;
+
+    @Value("${migration.reader.fetch-size:1000}")
+    private int readerFetchSize;
+
+    @Value("${migration.reader.prefetch.enabled:false}")
+    private boolean prefetchEnabled;
+
+    @Value("${migration.reader.prefetch.chunks:2}")
+    private int prefetchChunks;
+
+    @Value("${migration.adaptive.enabled:false}")
+    private boolean adaptiveEnabled;
+
+    @Value("${migration.adaptive.min-chunk-size:100}")
+    private int adaptiveMinChunkSize;
+
+    @Value("${migration.adaptive.max-chunk-size:10000}")
+    private int adaptiveMaxChunkSize;
+
+    @Value("${migration.adaptive.max-fetch-size:5000}")
+    private int adaptiveMaxFetchSize;
+
+    @Value("${migration.adaptive.target-chunk-millis:2000}")
+    private long adaptiveTargetChunkMillis;
+
+    @Value("${migration.adaptive.heap-high-watermark:0.8}")
+    private double adaptiveHeapHighWatermark;
+
+    @Value("${migration.spill.enabled:false}")
+    private boolean spillEnabled;
+
+    @Value("${migration.spill.threshold-bytes:67108864}")
+    private long spillThresholdBytes;
+
+    @Value("${migration.spill.segment-bytes:1048576}")
+    private int spillSegmentBytes;
+
+    @Value("${migration.spill.max-direct-bytes:268435456}")
+    private long spillMaxDirectBytes;
+
+    @Value("${migration.spill.temp-dir:${java.io.tmpdir}}")
+    private String spillTempDir;
+
+    @Autowired
+    @Qualifier("partitionTaskExecutor")
+    private TaskExecutor partitionTaskExecutor;
+
+    @Autowired
+    @Qualifier("encryptionTaskExecutor")
+    private TaskExecutor encryptionTaskExecutor;
+
     /**
      * 테이블별 암호화 Step 생성 (동적 생성용)
      * 
@@ -60,23 +212,430 @@ public class BatchConfig {
      * @return 테이블별 Step
      */
     public Step createTableEncryptionStep(String tableName, List<String> targetColumns) {
-        
-        // Reader: 대상 테이블의 실제 레코드 읽기 (여러 컬럼 포함)
-        TableRecordReader reader = new TableRecordReader(
-                sqlSessionFactory, tableName, targetColumns, schemaName);
+        return createTableEncryptionStep(tableName, targetColumns, null);
+    }
+
+    /**
+     * 테이블별 암호화 Step 생성 (migration_config의 테이블별 설정 반영)
+     * 
+     * 테이블별 설정 (NULL이면 application.yml 기본값):
+     * - chunk_size: 청크 크기 (migration.chunk-size, 자동 조절 시 시작값)
+     * - fetch_size: 조회 fetch size (migration.reader.fetch-size, JDBC Reader에서 적용)
+     * - partitions: 파티션 수 (migration.partition.grid-size)
+     * - scan_mode: 조회/파티션 방식 (migration.partition.scan-mode)
+     * - writer_mode: Writer 방식 (migration.writer-mode)
+     * - thread_count: 청크당 암호화 스레드 수 (migration.encryption.threads)
+     * 
+     * Writer: writer_mode에 따라 선택 (NULL이면 migration.writer-mode)
+     * - BATCH: EncryptionWriter (레코드 단위 UPDATE, MyBatis BATCH)
+     * - BULK: BulkEncryptionWriter (컬럼 세트별 UPDATE ... FROM (VALUES ...))
+     * - COPY: CopyEncryptionWriter (COPY → 임시 테이블 → UPDATE ... FROM 1회)
+     * 
+     * migration.encryption.threads가 2 이상이면 청크의 암호화 단계를 여러 스레드로 병렬 처리합니다.
+     * (EncryptionChunkProcessor, 읽기/쓰기와 청크 트랜잭션은 청크 스레드에서 그대로 수행)
+     * safedb.batch-enabled가 true이면 청크(또는 스레드별 구간) 단위로 SafeDB 일괄 암호화를 호출합니다.
+     * migration.adaptive.enabled가 true이면 Step마다 청크 크기/fetch size를 자동 조절합니다. (AdaptiveChunkController)
+     * migration.spill.enabled가 true이고 writer_mode가 COPY이면 큰 청크를 힙 밖 버퍼로 옮겨 COPY합니다. (OffHeapRowBuffer)
+     * migration.reader.prefetch.enabled가 true이면 다음 레코드를 별도 스레드에서 미리 읽습니다. (PrefetchingRecordReader)
+     * migration.governor.enabled가 true이면 청크 트랜잭션 시작 전 DB 부하를 확인하여 대기합니다. (LoadGovernorListener)
+     * 
+     * partitions가 2 이상이면 범위 파티션 Step을 생성합니다.
+     * - Manager Step(encryptionStep_테이블명)이 범위를 나누고
+     *   (scan_mode PK: TableRangePartitioner로 선두 PK 범위, CTID: CtidRangePartitioner로 물리 블록 범위)
+     * - 범위마다 Worker Step을 partitionTaskExecutor에서 병렬 실행
+     * - Worker들의 read/write/filter 건수는 Manager Step에 합산되어 MigrationStatusListener에 전달
+     * 
+     * @param tableName 테이블명
+     * @param targetColumns 암호화 대상 컬럼들
+     * @param tableConfig 테이블 설정 (null이면 모두 기본값, partitions가 1 이하이면 단일 Step)
+     * @return 테이블별 Step
+     */
+    public Step createTableEncryptionStep(String tableName, List<String> targetColumns, 
+                                          MigrationConfigEntity tableConfig) {
         
         // Listener: Step 완료 시 status 업데이트
         MigrationStatusListener statusListener = new MigrationStatusListener(migrationConfigMapper, tableName);
         
         String stepName = "encryptionStep_" + tableName;
+        int partitions = tableConfig != null && tableConfig.getPartitions() != null 
+                ? tableConfig.getPartitions() : defaultGridSize;
+        final ItemWriter<TargetRecordEntity> writer = resolveWriter(
+                tableConfig != null ? tableConfig.getWriterMode() : null);
+        ScanMode scanMode = ScanMode.from(tableConfig != null ? tableConfig.getScanMode() : null,
+                ScanMode.from(defaultScanMode, ScanMode.PK));
+        
+        if (partitions <= 1) {
+            // Step 완료 시 status 업데이트
+            return createChunkStep(stepName, tableName, targetColumns, tableConfig, scanMode, writer, statusListener);
+        }
+        
+        // 파티션 모드: status 업데이트는 모든 Worker가 끝난 뒤 Manager Step에서 한 번만 수행
+        final String workerStepName = stepName + "_worker";
+        Partitioner partitioner = scanMode == ScanMode.CTID
+                ? new CtidRangePartitioner(sqlSessionFactory, tableName, schemaName)
+                : new TableRangePartitioner(sqlSessionFactory, tableName, schemaName, partitionSamplePercent);
+        TablePartitionHandler partitionHandler = new TablePartitionHandler(
+                partitionTaskExecutor, partitions,
+                () -> createChunkStep(workerStepName, tableName, targetColumns, tableConfig, scanMode, writer, null));
         
         return stepBuilderFactory.get(stepName)
-                .<TargetRecordEntity, TargetRecordEntity>chunk(chunkSize)
-                .reader(reader)
-                .processor(encryptionProcessor)
-                .writer(encryptionWriter)
-                .listener(statusListener)  // Step 완료 시 status 업데이트
+                .partitioner(workerStepName, partitioner)
+                .partitionHandler(partitionHandler)
+                .listener(statusListener)
+                .listener((StepExecutionListener) new MigrationProgressListener(migrationProgressService, tableName))
+                .build();
+    }
+
+    /**
+     * 테이블별 백업 사전 Step 생성 (migration.backup.enabled = true일 때 암호화 Step 앞에 실행)
+     * 
+     * 1. backupColumnStep_테이블명: 없는 백업 컬럼(컬럼명_bak)을 원본과 같은 타입으로 추가 (BackupColumnService)
+     * 2. backupStep_테이블명: 백업이 비어 있는 컬럼을 PK 순서 batch 단위 UPDATE로 채움 (BackupColumnTasklet)
+     *    - batch 크기: migration.backup.batch-size (batch마다 커밋, 마지막 PK를 체크포인트로 저장)
+     *    - partitions가 2 이상이면 TableRangePartitioner의 선두 PK 범위별로 partitionTaskExecutor에서 병렬 실행
+     *    - migration.governor.enabled이면 batch마다 DB 부하 확인
+     * 
+     * @param tableName 테이블명
+     * @param targetColumns 암호화 대상 컬럼들
+     * @param tableConfig 테이블 설정 (partitions만 사용, null이면 기본값)
+     * @return [backupColumnStep, backupStep]
+     */
+    public List<Step> createTableBackupSteps(String tableName, List<String> targetColumns,
+                                             MigrationConfigEntity tableConfig) {
+        Step columnStep = stepBuilderFactory.get("backupColumnStep_" + tableName)
+                .tasklet((contribution, chunkContext) -> {
+                    backupColumnService.ensureBackupColumns(tableName, targetColumns);
+                    return RepeatStatus.FINISHED;
+                })
+                .build();
+        
+        String stepName = "backupStep_" + tableName;
+        int partitions = tableConfig != null && tableConfig.getPartitions() != null 
+                ? tableConfig.getPartitions() : defaultGridSize;
+        if (partitions <= 1) {
+            return Arrays.asList(columnStep,
+                    createBackupCopyStep(stepName, tableName, targetColumns, BackupColumnTasklet.Direction.BACKUP, null));
+        }
+        
+        final String workerStepName = stepName + "_worker";
+        TablePartitionHandler partitionHandler = new TablePartitionHandler(
+                partitionTaskExecutor, partitions,
+                () -> createBackupCopyStep(workerStepName, tableName, targetColumns, BackupColumnTasklet.Direction.BACKUP, null));
+        Step copyStep = stepBuilderFactory.get(stepName)
+                .partitioner(workerStepName,
+                        new TableRangePartitioner(sqlSessionFactory, tableName, schemaName, partitionSamplePercent))
+                .partitionHandler(partitionHandler)
                 .build();
+        return Arrays.asList(columnStep, copyStep);
+    }
+
+    /**
+     * 테이블별 복원 Step 생성 (restoreJob, 백업 컬럼(컬럼명_bak) → 대상 컬럼)
+     * 
+     * 암호화 Step과 같은 방식으로 실행합니다.
+     * - partitions가 2 이상이면 TableRangePartitioner의 선두 PK 범위별로 partitionTaskExecutor에서 병렬 실행
+     * - PK 순서 batch(migration.backup.batch-size)마다 커밋, 실패 후 재시작 시 마지막 커밋 PK 이후부터
+     * - migration.governor.enabled이면 batch마다 DB 부하 확인
+     * - 진행률/ETA는 GET /migration/progress (읽은 행 수 기준)
+     * - Step 성공 시 migration_config status를 'ACTIVE'로 되돌림 (다음 migrationJob에서 다시 암호화 대상)
+     * 
+     * @param tableName 테이블명
+     * @param targetColumns 복원할 컬럼들
+     * @param tableConfig 테이블 설정 (partitions만 사용, null이면 기본값)
+     * @return restoreStep_테이블명
+     */
+    public Step createTableRestoreStep(String tableName, List<String> targetColumns,
+                                       MigrationConfigEntity tableConfig) {
+        MigrationStatusListener statusListener = new MigrationStatusListener(migrationConfigMapper, tableName, "ACTIVE");
+        
+        String stepName = "restoreStep_" + tableName;
+        int partitions = tableConfig != null && tableConfig.getPartitions() != null 
+                ? tableConfig.getPartitions() : defaultGridSize;
+        if (partitions <= 1) {
+            return createBackupCopyStep(stepName, tableName, targetColumns,
+                    BackupColumnTasklet.Direction.RESTORE, statusListener);
+        }
+        
+        final String workerStepName = stepName + "_worker";
+        TablePartitionHandler partitionHandler = new TablePartitionHandler(
+                partitionTaskExecutor, partitions,
+                () -> createBackupCopyStep(workerStepName, tableName, targetColumns,
+                        BackupColumnTasklet.Direction.RESTORE, null));
+        return stepBuilderFactory.get(stepName)
+                .partitioner(workerStepName,
+                        new TableRangePartitioner(sqlSessionFactory, tableName, schemaName, partitionSamplePercent))
+                .partitionHandler(partitionHandler)
+                .listener(statusListener)
+                .listener((StepExecutionListener) new MigrationProgressListener(migrationProgressService, tableName))
+                .build();
+    }
+
+    /**
+     * 테이블별 검증 Step 생성 (verificationJob, 암호화 결과를 백업 컬럼(컬럼명_bak)과 비교, 대상 테이블은 변경하지 않음)
+     * 
+     * - PK 순서 구간(migration.verify.range-rows)마다 서버 측 집계로 의심 구간을 찾고,
+     *   의심 구간은 전체, 정상 구간은 앞 migration.verify.sample-rows건만 복호화하여 비교 (VerificationTasklet)
+     * - partitions가 2 이상이면 TableRangePartitioner의 선두 PK 범위별로 partitionTaskExecutor에서 병렬 실행
+     * - 구간마다 커밋, 실패 후 재시작 시 마지막 구간 이후부터
+     * - migration.governor.enabled이면 구간마다 DB 부하 확인
+     * - migration_config status는 변경하지 않음
+     * 
+     * @param tableName 테이블명
+     * @param targetColumns 검증할 컬럼들
+     * @param tableConfig 테이블 설정 (partitions만 사용, null이면 기본값)
+     * @return verifyStep_테이블명
+     */
+    public Step createTableVerifyStep(String tableName, List<String> targetColumns,
+                                      MigrationConfigEntity tableConfig) {
+        String stepName = "verifyStep_" + tableName;
+        int partitions = tableConfig != null && tableConfig.getPartitions() != null 
+                ? tableConfig.getPartitions() : defaultGridSize;
+        if (partitions <= 1) {
+            return createVerifyStep(stepName, tableName, targetColumns);
+        }
+        
+        final String workerStepName = stepName + "_worker";
+        TablePartitionHandler partitionHandler = new TablePartitionHandler(
+                partitionTaskExecutor, partitions,
+                () -> createVerifyStep(workerStepName, tableName, targetColumns));
+        return stepBuilderFactory.get(stepName)
+                .partitioner(workerStepName,
+                        new TableRangePartitioner(sqlSessionFactory, tableName, schemaName, partitionSamplePercent))
+                .partitionHandler(partitionHandler)
+                .build();
+    }
+
+    /**
+     * 검증 Step (단일 Step 또는 파티션 Worker Step, 호출마다 새 Tasklet 인스턴스 사용)
+     */
+    private Step createVerifyStep(String stepName, String tableName, List<String> targetColumns) {
+        VerificationTasklet tasklet = new VerificationTasklet(
+                sqlSessionFactory, safeDBUtil, tableName, targetColumns, schemaName,
+                verifyRangeRows, verifySampleRows, safeDBConfig.isDeterministic(), verifyMaxLoggedMismatches);
+        AbstractTaskletStepBuilder<?> builder = stepBuilderFactory.get(stepName)
+                .tasklet(tasklet);
+        // beforeStep에서 범위/체크포인트 초기화
+        builder.listener((StepExecutionListener) tasklet);
+        applyLoadGovernor(builder, tableName);
+        return builder.build();
+    }
+
+    /**
+     * 백업 컬럼 채우기/복원 Step (단일 Step 또는 파티션 Worker Step, 호출마다 새 Tasklet 인스턴스 사용)
+     * 
+     * @param listener Step 리스너 (파티션 Worker는 null, 복원 status 업데이트는 Manager Step에서 수행)
+     */
+    private Step createBackupCopyStep(String stepName, String tableName, List<String> targetColumns,
+                                      BackupColumnTasklet.Direction direction, StepExecutionListener listener) {
+        BackupColumnTasklet tasklet = new BackupColumnTasklet(
+                sqlSessionFactory, tableName, targetColumns, schemaName, backupBatchSize, direction);
+        AbstractTaskletStepBuilder<?> builder = stepBuilderFactory.get(stepName)
+                .tasklet(tasklet);
+        // 진행률은 복원만 (백업 사전 Step은 같은 테이블의 암호화 Step 진행률과 섞이지 않도록 제외)
+        MigrationProgressListener progressListener = direction == BackupColumnTasklet.Direction.RESTORE
+                ? new MigrationProgressListener(migrationProgressService, tableName) : null;
+        if (listener != null) {
+            builder.listener(listener);
+            if (progressListener != null) {
+                builder.listener((StepExecutionListener) progressListener);
+            }
+        }
+        // beforeStep에서 범위/체크포인트 초기화
+        builder.listener((StepExecutionListener) tasklet);
+        applyLoadGovernor(builder, tableName);
+        if (progressListener != null) {
+            builder.listener((ChunkListener) progressListener);
+        }
+        return builder.build();
+    }
+
+    /**
+     * DB 부하 대기 등록 (migration.governor.enabled)
+     * 
+     * ChunkListener.beforeChunk는 청크 트랜잭션이 커넥션을 가져온 뒤에 호출되므로, Step의 청크 반복 템플릿에
+     * RepeatListener로 등록하여 트랜잭션 시작 전에 대기합니다. (대기 시간은 AdaptiveChunkController의 청크 시간에도 포함되지 않음)
+     */
+    private void applyLoadGovernor(AbstractTaskletStepBuilder<?> builder, String tableName) {
+        if (!loadGovernor.isEnabled()) {
+            return;
+        }
+        RepeatTemplate stepOperations = new RepeatTemplate();
+        stepOperations.setListeners(new RepeatListener[] {new LoadGovernorListener(loadGovernor, tableName)});
+        builder.stepOperations(stepOperations);
+    }
+
+    /**
+     * 청크 Step 생성 (단일 Step 또는 파티션 Worker Step, 호출마다 새 Reader 인스턴스 사용)
+     * 
+     * 테이블 설정의 chunk_size / fetch_size / thread_count가 있으면 기본값 대신 사용합니다.
+     * 
+     * @param tableConfig 테이블 설정 (null이면 모두 기본값)
+     * @param scanMode 조회 방식 (CTID이면 정렬 없이 조회, 파티션 Worker는 블록 범위만 조회)
+     * @param listener Step 리스너 (파티션 Worker는 null, status 업데이트는 Manager Step에서 수행)
+     */
+    private Step createChunkStep(String stepName, String tableName, List<String> targetColumns,
+                                 MigrationConfigEntity tableConfig, ScanMode scanMode,
+                                 ItemWriter<TargetRecordEntity> writer, StepExecutionListener listener) {
+        int tableChunkSize = valueOrDefault(tableConfig != null ? tableConfig.getChunkSize() : null, chunkSize);
+        int fetchSize = valueOrDefault(tableConfig != null ? tableConfig.getFetchSize() : null, readerFetchSize);
+        int encryptionThreads = valueOrDefault(
+                tableConfig != null ? tableConfig.getThreadCount() : null, defaultEncryptionThreads);
+        boolean batchEncryption = safeDBConfig.isBatchEnabled();
+        TableRecordReader reader = createReader(tableName, targetColumns, fetchSize, scanMode);
+        ItemStreamReader<TargetRecordEntity> stepReader = createPrefetchReader(reader, tableChunkSize);
+        OffHeapRowBuffer spillBuffer = createSpillBuffer(tableName, writer);
+        
+        // 청크 완료 정책: 고정 크기 또는 자동 조절 (Step마다 새 인스턴스)
+        AdaptiveChunkController adaptiveController = adaptiveEnabled
+                ? new AdaptiveChunkController(tableName, reader, tableChunkSize,
+                        adaptiveMinChunkSize, adaptiveMaxChunkSize, adaptiveMaxFetchSize,
+                        adaptiveTargetChunkMillis, adaptiveHeapHighWatermark)
+                : null;
+        CompletionPolicy completionPolicy = adaptiveController != null
+                ? adaptiveController : new SimpleCompletionPolicy(tableChunkSize);
+        
+        // 진행률: 청크마다 건수 전달, Step 시작/종료는 단일 Step에서만 (파티션은 Manager Step에서)
+        MigrationProgressListener progressListener = new MigrationProgressListener(migrationProgressService, tableName);
+        
+        if (encryptionThreads <= 1 && !batchEncryption && spillBuffer == null) {
+            AbstractTaskletStepBuilder<?> builder = stepBuilderFactory.get(stepName)
+                    .<TargetRecordEntity, TargetRecordEntity>chunk(completionPolicy)
+                    .reader(stepReader)
+                    .processor(encryptionProcessor)
+                    .writer(writer);
+            if (listener != null) {
+                builder.listener(listener);
+                builder.listener((StepExecutionListener) progressListener);
+            }
+            applyLoadGovernor(builder, tableName);
+            if (adaptiveController != null) {
+                builder.listener((ChunkListener) adaptiveController);
+            }
+            builder.listener((ChunkListener) progressListener);
+            return builder.build();
+        }
+        
+        // 암호화 병렬/일괄 처리, 힙 밖 청크 버퍼: SimpleStepBuilder 대신 ChunkOrientedTasklet을 직접 구성하여
+        // Processor 단계만 EncryptionChunkProcessor로 교체 (Reader/Writer/트랜잭션은 동일)
+        RepeatTemplate chunkTemplate = new RepeatTemplate();
+        chunkTemplate.setCompletionPolicy(completionPolicy);
+        SimpleChunkProvider<TargetRecordEntity> chunkProvider = 
+                new SimpleChunkProvider<TargetRecordEntity>(stepReader, chunkTemplate);
+        EncryptionChunkProcessor chunkProcessor = new EncryptionChunkProcessor(
+                encryptionProcessor, writer, encryptionTaskExecutor, encryptionThreads, batchEncryption);
+        if (spillBuffer != null) {
+            chunkProcessor.setSpillBuffer(copyEncryptionWriter, spillBuffer);
+        }
+        
+        AbstractTaskletStepBuilder<?> builder = stepBuilderFactory.get(stepName)
+                .tasklet(new ChunkOrientedTasklet<TargetRecordEntity>(chunkProvider, chunkProcessor))
+                .stream(stepReader);
+        if (listener != null) {
+            builder.listener(listener);
+            builder.listener((StepExecutionListener) progressListener);
+        }
+        // chunk() 빌더는 Reader를 리스너로 자동 등록하지만 tasklet()은 직접 등록해야 함
+        // (afterStep은 등록 역순으로 호출되므로 status 리스너보다 먼저 filterCount 보정)
+        builder.listener((StepExecutionListener) stepReader);
+        if (spillBuffer != null) {
+            // Step 종료 시 direct 세그먼트와 임시 파일 해제
+            builder.listener((StepExecutionListener) spillBuffer);
+        }
+        applyLoadGovernor(builder, tableName);
+        if (adaptiveController != null) {
+            builder.listener((ChunkListener) adaptiveController);
+        }
+        builder.listener((ChunkListener) progressListener);
+        return builder.build();
+    }
+
+    /**
+     * Writer 선택 (Writer 빈은 모두 상태가 없으므로 Step/파티션 간 공유 가능)
+     */
+    private ItemWriter<TargetRecordEntity> resolveWriter(String writerMode) {
+        WriterMode mode = WriterMode.from(writerMode, WriterMode.from(defaultWriterMode, WriterMode.BATCH));
+        switch (mode) {
+            case BULK:
+                return bulkEncryptionWriter;
+            case COPY:
+                return copyEncryptionWriter;
+            case BATCH:
+            default:
+                return encryptionWriter;
+        }
+    }
+
+    /**
+     * 힙 밖 청크 버퍼 (migration.spill.enabled, COPY Writer만 지원, Step마다 새 인스턴스)
+     * 
+     * @return 사용하지 않으면 null
+     */
+    private OffHeapRowBuffer createSpillBuffer(String tableName, ItemWriter<TargetRecordEntity> writer) {
+        if (!spillEnabled) {
+            return null;
+        }
+        if (writer != copyEncryptionWriter) {
+            log.warn("migration.spill.enabled is applied only with writer_mode=COPY: table={}", tableName);
+            return null;
+        }
+        return new OffHeapRowBuffer(tableName, spillThresholdBytes, spillSegmentBytes,
+                spillMaxDirectBytes, new File(spillTempDir));
+    }
+
+    /**
+     * 미리 읽기 Reader (migration.reader.prefetch.enabled, Step마다 새 인스턴스)
+     * 
+     * 큐 크기 = 청크 크기 × migration.reader.prefetch.chunks (자동 조절 시 시작 청크 크기 기준)
+     * 
+     * @return 사용하지 않으면 reader 그대로
+     */
+    private ItemStreamReader<TargetRecordEntity> createPrefetchReader(TableRecordReader reader, int tableChunkSize) {
+        if (!prefetchEnabled) {
+            return reader;
+        }
+        PrefetchingRecordReader prefetchReader = new PrefetchingRecordReader(
+                reader, Math.max(1, prefetchChunks) * tableChunkSize);
+        prefetchReader.setMetrics(migrationMetrics);
+        return prefetchReader;
+    }
+
+    /**
+     * Reader: 대상 테이블의 실제 레코드 읽기 (여러 컬럼 포함)
+     * 
+     * migration.reader.type에 따라 선택 (조회 SQL과 범위/체크포인트 조건은 동일)
+     * - MYBATIS: TableRecordReader (MyBatis Cursor)
+     * - JDBC: JdbcTableRecordReader (PreparedStatement + migration.reader.fetch-size, 행 → Entity 직접 변환)
+     * 
+     * migration.prefilter-mode가 NONE이 아니면 이미 암호화된 행은 SQL에서 제외하고 읽습니다.
+     * 
+     * @param fetchSize 조회 fetch size (JDBC만 테이블별로 적용, MYBATIS는 MyBatisConfig 기본값 사용)
+     * @param scanMode 조회 방식 (PK: PK 순서 + 체크포인트, CTID: 정렬 없음)
+     */
+    private TableRecordReader createReader(String tableName, List<String> targetColumns, int fetchSize,
+                                           ScanMode scanMode) {
+        PrefilterMode prefilter = PrefilterMode.from(prefilterMode, PrefilterMode.NONE);
+        TableRecordReader reader;
+        if (ReaderType.from(readerType, ReaderType.MYBATIS) == ReaderType.JDBC) {
+            reader = new JdbcTableRecordReader(sqlSessionFactory, tableName, targetColumns, schemaName,
+                    prefilter, safeDBConfig.isStrictEncryptedCheck(), fetchSize);
+        } else {
+            if (fetchSize != readerFetchSize) {
+                log.warn("fetch_size {} for table {} is applied only with migration.reader.type=JDBC (MYBATIS uses {})",
+                        fetchSize, tableName, readerFetchSize);
+            }
+            reader = new TableRecordReader(sqlSessionFactory, tableName, targetColumns, schemaName,
+                    prefilter, safeDBConfig.isStrictEncryptedCheck());
+        }
+        reader.setMetrics(migrationMetrics);
+        reader.setScanMode(scanMode);
+        return reader;
+    }
+
+    /**
+     * 테이블 설정값 (NULL 또는 0 이하이면 기본값)
+     */
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return value != null && value > 0 ? value : defaultValue;
     }
 }
 
@@ -1,29 +1,53 @@
 package com.kt.yaap.mig_batch.config;
 
+import com.kt.yaap.mig_batch.batch.EncryptedValueCache;
+import com.kt.yaap.mig_batch.listener.MigrationProgressJobListener;
+import com.kt.yaap.mig_batch.listener.RestoreReportListener;
+import com.kt.yaap.mig_batch.listener.VerificationReportListener;
 import com.kt.yaap.mig_batch.mapper.MigrationConfigMapper;
 import com.kt.yaap.mig_batch.model.MigrationConfigEntity;
+import com.kt.yaap.mig_batch.progress.MigrationProgressService;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.builder.FlowJobBuilder;
 import org.springframework.batch.core.job.builder.SimpleJobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
+import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * 마이그레이션 Job 설정
  * 
  * 실행 순서:
- * 1. encryptionStep_테이블명: 각 테이블별 암호화 처리 (순차 실행)
+ * 0. (migration.backup.enabled=true) 테이블마다 암호화 Step 앞에 백업 사전 Step 실행
+ *    - backupColumnStep_테이블명: 백업 컬럼(_bak)이 없으면 추가
+ *    - backupStep_테이블명: 비어 있는 백업 컬럼을 PK 범위별 batch UPDATE로 채움 (재시작 시 마지막 batch 이후부터)
+ * 1. encryptionStep_테이블명: 각 테이블별 암호화 처리
+ *    - 순차 모드 (기본): priority 순으로 한 테이블씩 실행
+ *    - 병렬 모드 (migration.parallel.enabled=true): 같은 priority의 테이블을 동시에 실행,
+ *      다음 priority 그룹은 현재 그룹이 모두 끝난 뒤 시작
  * 
  * 특징:
  * - Reader가 실제 테이블 레코드를 직접 읽음
@@ -31,8 +55,16 @@ import java.util.Map;
  * - 한 테이블의 여러 컬럼을 함께 처리
  * - Step 개수 = 테이블 개수
  * 
+ * 복원 (restoreJob, 수동 실행 전용):
+ * - restoreStep_테이블명: 백업 컬럼(_bak) 값으로 대상 컬럼을 되돌리고 migration_config status를 'ACTIVE'로 복구
+ * - 모든 테이블을 tableFlowTaskExecutor에서 동시에 실행 (테이블 내부는 partitions 범위별 병렬)
+ * 
+ * 검증 (verificationJob, 수동 실행 전용):
+ * - verifyStep_테이블명: 암호화 완료(COMPLETE) 테이블의 대상 컬럼을 백업 컬럼(_bak)과 비교, 테이블별 불일치 건수 보고
+ * - restoreJob과 같이 테이블/범위별 병렬 실행, 대상 테이블과 migration_config는 변경하지 않음
+ * 
  * 주의사항:
- * - 백업 컬럼(_bak)은 사전에 수동으로 생성되어 있어야 함
+ * - migration.backup.enabled=false(기본값)이면 백업 컬럼(_bak)은 사전에 생성/복사되어 있어야 함
  * - migration_config 테이블에 활성 설정이 최소 1개 이상 있어야 함
  */
 @Configuration
@@ -50,38 +82,60 @@ public class MigrationJobConfig {
     @Autowired
     private BatchConfig batchConfig;
 
+    @Autowired
+    private MigrationProgressService migrationProgressService;
+
+    @Autowired
+    private EncryptedValueCache encryptedValueCache;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Value("${migration.schema-name:public}")
+    private String schemaName;
+
+    @Value("${migration.parallel.enabled:false}")
+    private boolean parallelEnabled;
+
+    @Value("${migration.backup.enabled:false}")
+    private boolean backupEnabled;
+
+    @Autowired
+    @Qualifier("tableFlowTaskExecutor")
+    private TaskExecutor tableFlowTaskExecutor;
+
     /**
      * 마이그레이션 Job 생성 (테이블별 Step 동적 생성)
      * 
      * migration_config에서 설정을 읽어 테이블별로 Step을 생성합니다.
      * 같은 테이블의 여러 컬럼은 하나의 Step에서 함께 처리됩니다.
      * 
-     * 주의: 백업 컬럼(_bak)은 사전에 수동으로 생성되어 있어야 합니다.
+     * migration.backup.enabled=true이면 테이블마다 백업 사전 Step이 암호화 Step 앞에 붙습니다.
      */
     @Bean
     public Job migrationJob() {
         
-        // migration_config에서 설정 조회
-        List<MigrationConfigEntity> configs = migrationConfigMapper.selectActiveConfigs();
-        
-        // 테이블별로 그룹화 (target_column_name을 합침)
-        Map<String, List<String>> tableColumnMap = new HashMap<String, List<String>>();
-        for (MigrationConfigEntity config : configs) {
-            String tableName = config.getTargetTableName();
-            String[] columns = config.getTargetColumnName().split(",");
-            
-            tableColumnMap.computeIfAbsent(tableName, k -> new ArrayList<String>());
-            for (String column : columns) {
-                column = column.trim();
-                if (!column.isEmpty() && !tableColumnMap.get(tableName).contains(column)) {
-                    tableColumnMap.get(tableName).add(column);
-                }
-            }
-        }
+        // migration_config에서 설정 조회 (priority, target_table_name 순 정렬) 후 테이블별로 그룹화
+        // (target_column_name을 합침, 조회 순서 유지)
+        // 테이블별 튜닝 설정(priority, partitions, writer_mode 등)은 테이블의 첫 번째 설정을 사용
+        Map<String, List<String>> tableColumnMap = new LinkedHashMap<String, List<String>>();
+        Map<String, MigrationConfigEntity> tableConfigMap = new HashMap<String, MigrationConfigEntity>();
+        groupByTable(migrationConfigMapper.selectActiveConfigs(), tableColumnMap, tableConfigMap);
         
-        log.info("Creating migrationJob with {} table-specific steps", tableColumnMap.size());
+        log.info("Creating migrationJob with {} table-specific steps ({} mode, backup pre-step: {})", 
+                tableColumnMap.size(), parallelEnabled ? "parallel" : "sequential", backupEnabled);
         for (Map.Entry<String, List<String>> entry : tableColumnMap.entrySet()) {
-            log.info("  - Table: {}, Columns: {}", entry.getKey(), entry.getValue());
+            MigrationConfigEntity tableConfig = tableConfigMap.get(entry.getKey());
+            log.info("  - Table: {}, Columns: {}, Priority: {}, Partitions: {}, Scan: {}, Writer: {}, Chunk: {}, Fetch: {}, Threads: {}", 
+                    entry.getKey(), entry.getValue(), tableConfig.getPriority(), 
+                    tableConfig.getPartitions(), tableConfig.getScanMode(), tableConfig.getWriterMode(),
+                    tableConfig.getChunkSize(), tableConfig.getFetchSize(), tableConfig.getThreadCount());
         }
         
         // 테이블이 없는 경우 예외 처리
@@ -89,28 +143,203 @@ public class MigrationJobConfig {
             throw new IllegalStateException("No active migration configs found. Please check migration_config table.");
         }
         
-        // 첫 번째 테이블 스텝으로 Job 시작
-        Iterator<Map.Entry<String, List<String>>> iterator = tableColumnMap.entrySet().iterator();
-        Map.Entry<String, List<String>> firstEntry = iterator.next();
+        if (parallelEnabled) {
+            return createParallelJob(tableColumnMap, tableConfigMap);
+        }
         
-        Step firstStep = batchConfig.createTableEncryptionStep(
-            firstEntry.getKey(), firstEntry.getValue());
+        // 테이블 순서대로 (백업 사전 Step +) 암호화 Step을 모두 나열
+        List<Step> steps = new ArrayList<Step>();
+        for (Map.Entry<String, List<String>> entry : tableColumnMap.entrySet()) {
+            steps.addAll(createTableSteps(entry.getKey(), entry.getValue(), tableConfigMap.get(entry.getKey())));
+        }
         
+        // 첫 번째 스텝으로 Job 시작, 나머지 스텝들을 순차적으로 연결
+        Iterator<Step> iterator = steps.iterator();
         SimpleJobBuilder jobBuilder = jobBuilderFactory.get("migrationJob")
-                .start(firstStep);
-        
-        // 나머지 테이블 스텝들을 순차적으로 연결
+                .listener(createProgressListener(tableColumnMap))
+                .listener(encryptedValueCache)
+                .start(iterator.next());
         while (iterator.hasNext()) {
-            Map.Entry<String, List<String>> entry = iterator.next();
-            String tableName = entry.getKey();
-            List<String> columns = entry.getValue();
-            
-            Step tableStep = batchConfig.createTableEncryptionStep(tableName, columns);
-            jobBuilder = jobBuilder.next(tableStep);
+            jobBuilder = jobBuilder.next(iterator.next());
         }
         
         return jobBuilder.build();
     }
-}
 
+    /**
+     * priority 그룹 단위 병렬 Job 생성
+     * 
+     * - 같은 priority의 테이블 Step들은 split Flow로 tableFlowTaskExecutor에서 동시 실행
+     * - priority 그룹끼리는 next()로 연결되어 낮은 priority 그룹이 모두 끝나야 다음 그룹 시작
+     * - 그룹 내 한 테이블이 실패해도 같은 그룹의 나머지 테이블은 끝까지 실행되고, Job은 FAILED로 종료
+     *   (다음 priority 그룹은 실행되지 않음, 재실행 시 COMPLETE 테이블은 제외됨)
+     */
+    private Job createParallelJob(Map<String, List<String>> tableColumnMap,
+                                  Map<String, MigrationConfigEntity> tableConfigMap) {
+        
+        // priority별 테이블 그룹 (TreeMap: priority 오름차순)
+        Map<Integer, List<String>> priorityGroups = new TreeMap<Integer, List<String>>();
+        for (String tableName : tableColumnMap.keySet()) {
+            Integer priority = tableConfigMap.get(tableName).getPriority();
+            priorityGroups.computeIfAbsent(priority != null ? priority : 0, k -> new ArrayList<String>())
+                    .add(tableName);
+        }
+        
+        List<Flow> groupFlows = new ArrayList<Flow>();
+        for (Map.Entry<Integer, List<String>> group : priorityGroups.entrySet()) {
+            List<Flow> tableFlows = new ArrayList<Flow>();
+            for (String tableName : group.getValue()) {
+                List<Step> tableSteps = createTableSteps(
+                    tableName, tableColumnMap.get(tableName), tableConfigMap.get(tableName));
+                FlowBuilder<SimpleFlow> tableFlow = new FlowBuilder<SimpleFlow>("tableFlow_" + tableName)
+                        .start(tableSteps.get(0));
+                for (int i = 1; i < tableSteps.size(); i++) {
+                    tableFlow = tableFlow.next(tableSteps.get(i));
+                }
+                tableFlows.add(tableFlow.build());
+            }
+            
+            log.info("  - Priority group {}: {} tables run concurrently {}", 
+                    group.getKey(), tableFlows.size(), group.getValue());
+            
+            groupFlows.add(new FlowBuilder<SimpleFlow>("priorityGroup_" + group.getKey())
+                    .split(tableFlowTaskExecutor)
+                    .add(tableFlows.toArray(new Flow[0]))
+                    .build());
+        }
+        
+        FlowBuilder<FlowJobBuilder> jobFlowBuilder = jobBuilderFactory.get("migrationJob")
+                .listener(createProgressListener(tableColumnMap))
+                .listener(encryptedValueCache)
+                .start(groupFlows.get(0));
+        for (int i = 1; i < groupFlows.size(); i++) {
+            jobFlowBuilder = jobFlowBuilder.next(groupFlows.get(i));
+        }
+        
+        return jobFlowBuilder.end().build();
+    }
 
+    /**
+     * 백업 컬럼 복원 Job 생성 (SafeDB 키 문제 등으로 암호화 결과를 되돌려야 할 때 수동 실행)
+     * 
+     * migration_config의 완료/진행 중 설정(status NULL, ACTIVE, COMPLETE)으로 테이블별 restoreStep을 만들고,
+     * 모든 테이블을 split Flow로 tableFlowTaskExecutor에서 동시에 실행합니다. (동시 테이블 수 = max-concurrent-tables)
+     * - 테이블 내부는 암호화 Step과 같은 partitions / migration.governor 설정 사용
+     * - 시작 시 예상 행 수/시간, 종료 시 테이블별 행 수/소요 시간 보고 (RestoreReportListener)
+     * 
+     * 필요할 때만 생성 (@Lazy, 애플리케이션 시작 시 설정 조회/Step 생성 안 함)
+     */
+    @Bean
+    @Lazy
+    public Job restoreJob() {
+        Map<String, List<String>> tableColumnMap = new LinkedHashMap<String, List<String>>();
+        Map<String, MigrationConfigEntity> tableConfigMap = new HashMap<String, MigrationConfigEntity>();
+        groupByTable(migrationConfigMapper.selectRestorableConfigs(), tableColumnMap, tableConfigMap);
+        if (tableColumnMap.isEmpty()) {
+            throw new IllegalStateException("No restorable migration configs found. Please check migration_config table.");
+        }
+        
+        List<Flow> tableFlows = new ArrayList<Flow>();
+        for (Map.Entry<String, List<String>> entry : tableColumnMap.entrySet()) {
+            log.info("  - Restore table: {}, Columns: {}, Partitions: {}", 
+                    entry.getKey(), entry.getValue(), tableConfigMap.get(entry.getKey()).getPartitions());
+            Step restoreStep = batchConfig.createTableRestoreStep(
+                entry.getKey(), entry.getValue(), tableConfigMap.get(entry.getKey()));
+            tableFlows.add(new FlowBuilder<SimpleFlow>("restoreFlow_" + entry.getKey())
+                    .start(restoreStep)
+                    .build());
+        }
+        
+        Flow restoreFlow = new FlowBuilder<SimpleFlow>("restoreTables")
+                .split(tableFlowTaskExecutor)
+                .add(tableFlows.toArray(new Flow[0]))
+                .build();
+        return jobBuilderFactory.get("restoreJob")
+                .listener(createProgressListener(tableColumnMap))
+                .listener(new RestoreReportListener(sqlSessionFactory, jobExplorer, jobRepository,
+                        schemaName, new ArrayList<String>(tableColumnMap.keySet())))
+                .start(restoreFlow)
+                .end()
+                .build();
+    }
+
+    /**
+     * 암호화 결과 검증 Job 생성 (마이그레이션 완료 후 수동 실행)
+     * 
+     * migration_config의 완료 설정(status COMPLETE)으로 테이블별 verifyStep을 만들고,
+     * restoreJob과 같이 split Flow로 tableFlowTaskExecutor에서 동시에 실행합니다.
+     * - 테이블 내부는 암호화 Step과 같은 partitions / migration.governor 설정 사용
+     * - 종료 시 테이블별 불일치 건수 보고, 불일치가 있으면 ExitStatus MISMATCH (VerificationReportListener)
+     * 
+     * 필요할 때만 생성 (@Lazy, 애플리케이션 시작 시 설정 조회/Step 생성 안 함)
+     */
+    @Bean
+    @Lazy
+    public Job verificationJob() {
+        Map<String, List<String>> tableColumnMap = new LinkedHashMap<String, List<String>>();
+        Map<String, MigrationConfigEntity> tableConfigMap = new HashMap<String, MigrationConfigEntity>();
+        groupByTable(migrationConfigMapper.selectCompletedConfigs(), tableColumnMap, tableConfigMap);
+        if (tableColumnMap.isEmpty()) {
+            throw new IllegalStateException("No completed migration configs found. Please check migration_config table.");
+        }
+        
+        List<Flow> tableFlows = new ArrayList<Flow>();
+        for (Map.Entry<String, List<String>> entry : tableColumnMap.entrySet()) {
+            log.info("  - Verify table: {}, Columns: {}, Partitions: {}", 
+                    entry.getKey(), entry.getValue(), tableConfigMap.get(entry.getKey()).getPartitions());
+            Step verifyStep = batchConfig.createTableVerifyStep(
+                entry.getKey(), entry.getValue(), tableConfigMap.get(entry.getKey()));
+            tableFlows.add(new FlowBuilder<SimpleFlow>("verifyFlow_" + entry.getKey())
+                    .start(verifyStep)
+                    .build());
+        }
+        
+        Flow verifyFlow = new FlowBuilder<SimpleFlow>("verifyTables")
+                .split(tableFlowTaskExecutor)
+                .add(tableFlows.toArray(new Flow[0]))
+                .build();
+        return jobBuilderFactory.get("verificationJob")
+                .listener(new VerificationReportListener(jobRepository, new ArrayList<String>(tableColumnMap.keySet())))
+                .start(verifyFlow)
+                .end()
+                .build();
+    }
+
+    /**
+     * 설정 목록을 테이블별로 묶음 (대상 컬럼은 중복 제거, 테이블 설정은 처음 나온 설정 사용)
+     */
+    private static void groupByTable(List<MigrationConfigEntity> configs,
+                                     Map<String, List<String>> tableColumnMap,
+                                     Map<String, MigrationConfigEntity> tableConfigMap) {
+        for (MigrationConfigEntity config : configs) {
+            String tableName = config.getTargetTableName();
+            tableConfigMap.putIfAbsent(tableName, config);
+            List<String> columns = tableColumnMap.computeIfAbsent(tableName, k -> new ArrayList<String>());
+            for (String column : config.getTargetColumnName().split(",")) {
+                column = column.trim();
+                if (!column.isEmpty() && !columns.contains(column)) {
+                    columns.add(column);
+                }
+            }
+        }
+    }
+
+    /**
+     * 테이블 1개의 Step 목록 (백업 사전 Step 사용 시 backupColumnStep → backupStep → encryptionStep)
+     */
+    private List<Step> createTableSteps(String tableName, List<String> columns, MigrationConfigEntity tableConfig) {
+        List<Step> steps = new ArrayList<Step>();
+        if (backupEnabled) {
+            steps.addAll(batchConfig.createTableBackupSteps(tableName, columns, tableConfig));
+        }
+        steps.add(batchConfig.createTableEncryptionStep(tableName, columns, tableConfig));
+        return steps;
+    }
+
+    /**
+     * 진행률 리스너 (Job 시작 시 전체 테이블을 등록하여 Job 전체 ETA 계산)
+     */
+    private MigrationProgressJobListener createProgressListener(Map<String, List<String>> tableColumnMap) {
+        return new MigrationProgressJobListener(migrationProgressService, new ArrayList<String>(tableColumnMap.keySet()));
+    }
+}
@@ -3,6 +3,7 @@ package com.kt.yaap.mig_batch.config;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -16,6 +17,12 @@ import javax.sql.DataSource;
 @MapperScan(basePackages = "com.kt.yaap.mig_batch.mapper", sqlSessionFactoryRef = "sqlSessionFactory")
 public class MyBatisConfig {
 
+    /**
+     * 기본 fetch size (매퍼 XML에 fetchSize가 없는 조회, TableRecordReader의 Cursor 조회 포함)
+     */
+    @Value("${migration.reader.fetch-size:1000}")
+    private int defaultFetchSize;
+
     /**
      * SqlSessionFactory (단일 데이터소스)
      */
@@ -29,7 +36,7 @@ public class MyBatisConfig {
         
         org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration();
         configuration.setMapUnderscoreToCamelCase(true);
-        configuration.setDefaultFetchSize(1000);
+        configuration.setDefaultFetchSize(defaultFetchSize);
         sessionFactory.setConfiguration(configuration);
         
         return sessionFactory.getObject();
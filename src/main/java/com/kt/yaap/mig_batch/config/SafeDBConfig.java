@@ -15,6 +15,13 @@ public class SafeDBConfig {
     private String serverUrl;
     private String apiKey;
     private int timeout = 30000;
+    private boolean batchEnabled = false;    // 청크 단위 일괄 암호화 (encryptBatch) 사용 여부, Mock 모드 전용
+    private int batchSize = 1000;            // encryptBatch/decryptBatch 1회 호출당 최대 값 수
+    private long mockLatencyMillis = 0;      // Mock 모드 호출당 지연 시간 (원격 SafeDB 왕복 시뮬레이션용)
+    private long mockLatencyJitterMillis = 0;  // Mock 모드 지연에 더하는 무작위 시간 상한 (0 ~ 이 값)
+    private int maxInFlight = 0;             // SafeDB endpoint 동시 호출 상한 (0 이하이면 제한 없음)
+    private boolean strictEncryptedCheck = false;  // isEncrypted에서 Base64 패딩/AES 블록 길이까지 검사
+    private boolean deterministic = false;   // 같은 평문 → 항상 같은 암호문 (고정 IV 등), 암호문 캐시 사용 조건
 
     public boolean isEnabled() {
         return enabled;
@@ -55,6 +62,60 @@ public class SafeDBConfig {
     public void setTimeout(int timeout) {
         this.timeout = timeout;
     }
-}
 
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getMockLatencyMillis() {
+        return mockLatencyMillis;
+    }
+
+    public void setMockLatencyMillis(long mockLatencyMillis) {
+        this.mockLatencyMillis = mockLatencyMillis;
+    }
+
+    public long getMockLatencyJitterMillis() {
+        return mockLatencyJitterMillis;
+    }
+
+    public void setMockLatencyJitterMillis(long mockLatencyJitterMillis) {
+        this.mockLatencyJitterMillis = mockLatencyJitterMillis;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public boolean isStrictEncryptedCheck() {
+        return strictEncryptedCheck;
+    }
+
+    public void setStrictEncryptedCheck(boolean strictEncryptedCheck) {
+        this.strictEncryptedCheck = strictEncryptedCheck;
+    }
 
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+}
@@ -0,0 +1,134 @@
+package com.kt.yaap.mig_batch.config;
+
+import com.kt.yaap.mig_batch.batch.EncryptionExecutorType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 배치 병렬 실행용 TaskExecutor 설정
+ */
+@Configuration
+public class TaskExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskExecutorConfig.class);
+
+    /**
+     * 테이블 Step 1개가 사용하는 DB 커넥션 수 (Reader Cursor + 청크 트랜잭션)
+     */
+    private static final int CONNECTIONS_PER_STEP = 2;
+
+    /**
+     * Spring Batch JobRepository 등 공용으로 남겨두는 커넥션 수
+     */
+    private static final int RESERVED_CONNECTIONS = 1;
+
+    /**
+     * 파티션 Worker Step 실행용 TaskExecutor
+     * 
+     * 모든 테이블의 파티션이 이 풀을 공유하므로, 동시에 실행되는 Worker 수는 max-threads로 제한됩니다.
+     * Worker 1개당 DB 커넥션 2개(Reader Cursor + 청크 트랜잭션)를 사용하므로
+     * Hikari maximum-pool-size를 고려하여 설정하세요.
+     */
+    @Bean(name = "partitionTaskExecutor")
+    public TaskExecutor partitionTaskExecutor(@Value("${migration.partition.max-threads:4}") int maxThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxThreads);
+        executor.setMaxPoolSize(maxThreads);
+        executor.setThreadNamePrefix("partition-");
+        return executor;
+    }
+
+    /**
+     * 병렬 모드에서 같은 priority 그룹의 테이블 Flow를 실행하는 TaskExecutor
+     * 
+     * 동시 실행 테이블 수 = min(max-concurrent-tables, (Hikari 풀 크기 - 예약분) / Step당 커넥션 수)
+     * 그룹 내 테이블이 상한보다 많으면 나머지는 큐에서 대기하다가 앞 테이블이 끝나는 대로 실행됩니다.
+     * 
+     * 주의: 파티션 테이블의 Worker 커넥션은 partitionTaskExecutor(max-threads) 기준으로 별도 계산해야 합니다.
+     */
+    @Bean(name = "tableFlowTaskExecutor")
+    public TaskExecutor tableFlowTaskExecutor(
+            @Value("${migration.parallel.max-concurrent-tables:4}") int maxConcurrentTables,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        int poolBound = Math.max(1, (maximumPoolSize - RESERVED_CONNECTIONS) / CONNECTIONS_PER_STEP);
+        int concurrency = Math.max(1, Math.min(maxConcurrentTables, poolBound));
+        
+        if (concurrency < maxConcurrentTables) {
+            log.warn("max-concurrent-tables {} exceeds Hikari pool capacity (pool size: {}), limited to {}", 
+                    maxConcurrentTables, maximumPoolSize, concurrency);
+        }
+        log.info("Table flow concurrency: {}", concurrency);
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("table-flow-");
+        return executor;
+    }
+
+    /**
+     * 청크 내 암호화 병렬 처리용 TaskExecutor (EncryptionChunkProcessor)
+     * 
+     * 모든 Step이 공유합니다. DB 커넥션을 사용하지 않으므로 Hikari 풀과 무관합니다.
+     * 
+     * migration.encryption.executor:
+     * - POOL: pool-size 고정 스레드 + queue-capacity 대기 큐, 큐가 가득 차면 청크 스레드가 직접 실행 (역압)
+     *   로컬 SafeDB 라이브러리는 CPU 코어 수, 원격 SafeDB는 왕복 지연을 가릴 만큼 크게 (예: 64~256)
+     * - VIRTUAL: 작업마다 가상 스레드 (Java 21 이상, 그 외 JDK는 POOL로 대체)
+     * 
+     * 어느 방식이든 SafeDB 동시 호출 수는 safedb.max-in-flight로 따로 제한됩니다. (SafeDBUtil)
+     */
+    @Bean(name = "encryptionTaskExecutor")
+    public TaskExecutor encryptionTaskExecutor(
+            @Value("${migration.encryption.executor:POOL}") String executorType,
+            @Value("${migration.encryption.pool-size:8}") int poolSize,
+            @Value("${migration.encryption.queue-capacity:256}") int queueCapacity) {
+        if (EncryptionExecutorType.from(executorType, EncryptionExecutorType.POOL) == EncryptionExecutorType.VIRTUAL) {
+            ExecutorService virtualExecutor = newVirtualThreadExecutor();
+            if (virtualExecutor != null) {
+                log.info("Encryption executor: virtual threads");
+                return new ConcurrentTaskExecutor(virtualExecutor);
+            }
+            log.warn("Virtual threads are not available on Java {}, falling back to POOL (pool size: {})",
+                    System.getProperty("java.specification.version"), poolSize);
+        }
+        
+        log.info("Encryption executor: pool (size: {}, queue capacity: {})", poolSize, queueCapacity);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("encrypt-");
+        return executor;
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() (Java 21 API, Java 8로 컴파일하므로 리플렉션으로 호출)
+     * 
+     * @return 가상 스레드를 지원하지 않는 JDK이면 null
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            // Java 19/20에서 --enable-preview 없이 호출한 경우 등
+            log.debug("Virtual thread executor unavailable", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.kt.yaap.mig_batch.controller;
+
+import com.kt.yaap.mig_batch.progress.JobProgress;
+import com.kt.yaap.mig_batch.progress.MigrationProgressService;
+import com.kt.yaap.mig_batch.progress.TableProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 마이그레이션 진행률 조회 API
+ *
+ * - GET /migration/progress: Job 전체 + 테이블별 진행률, 초당 처리 건수(EWMA), ETA
+ * - GET /migration/progress/{tableName}: 테이블 1개
+ *
+ * Job을 한 번도 실행하지 않았으면 204, 마지막 실행 결과는 다음 Job 시작 전까지 조회 가능
+ */
+@RestController
+@RequestMapping("/migration/progress")
+public class MigrationProgressController {
+
+    @Autowired
+    private MigrationProgressService migrationProgressService;
+
+    @GetMapping
+    public ResponseEntity<JobProgress> getProgress() {
+        JobProgress progress = migrationProgressService.getCurrent();
+        if (progress == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(progress);
+    }
+
+    @GetMapping("/{tableName}")
+    public ResponseEntity<TableProgress> getTableProgress(@PathVariable String tableName) {
+        JobProgress progress = migrationProgressService.getCurrent();
+        TableProgress table = progress != null ? progress.findTable(tableName) : null;
+        if (table == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(table);
+    }
+}
@@ -0,0 +1,275 @@
+package com.kt.yaap.mig_batch.governor;
+
+import com.kt.yaap.mig_batch.mapper.DatabaseLoadMapper;
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 운영 DB 부하 기준 청크 속도 조절 (migration.governor.enabled = true)
+ *
+ * 운영 primary에서 큰 청크를 쉬지 않고 커밋하면 WAL 증가 → 복제 지연, 온라인 트랜잭션의 락 대기가 늘어납니다.
+ * 청크 시작 전마다 아래 지표를 목표값과 비교하여 가장 높은 비율(pressure)로 상태를 정합니다.
+ * - 복제 지연 (pg_stat_replication): max-replication-lag-bytes, max-replication-lag-seconds
+ * - 세션 (pg_stat_activity): max-lock-waiting-sessions, max-active-sessions
+ * - 커밋 지연 (txid 할당 + autocommit 커밋 왕복 시간): max-commit-millis
+ * 목표값이 0 이하인 지표는 보지 않습니다.
+ *
+ * 상태:
+ * - NORMAL (pressure < pace-ratio): 대기 없음
+ * - PACED (pace-ratio 이상 ~ 1 미만): 청크마다 0 ~ max-pace-delay-millis 대기 (pressure에 비례)
+ * - PAUSED (1 이상): 목표 이하로 내려갈 때까지 sample-interval마다 다시 측정하며 대기,
+ *   max-pause-millis를 넘으면 Step 실패 (체크포인트부터 재시작 가능)
+ *
+ * 측정값은 sample-interval-millis 동안 모든 Step이 공유합니다. (측정 쿼리는 Job 전체에서 주기당 1회)
+ * 측정 쿼리가 실패하면 경고 후 제한 없이 진행합니다. (권한 부족 등으로 마이그레이션을 멈추지 않음)
+ *
+ * 지표: migration.governor.state (0 NORMAL, 1 PACED, 2 PAUSED), migration.governor.pressure,
+ * migration.governor.wait (table), 측정값별 migration.governor.* Gauge
+ */
+@Component
+public class DatabaseLoadGovernor implements LoadGovernor {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseLoadGovernor.class);
+
+    /**
+     * 조절 상태 (Gauge 값 = ordinal)
+     */
+    public enum State {
+        NORMAL, PACED, PAUSED
+    }
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private MigrationMetrics migrationMetrics;
+
+    @Value("${migration.governor.enabled:false}")
+    private boolean enabled;
+
+    @Value("${migration.governor.sample-interval-millis:5000}")
+    private long sampleIntervalMillis;
+
+    @Value("${migration.governor.max-replication-lag-bytes:268435456}")
+    private long maxReplicationLagBytes;
+
+    @Value("${migration.governor.max-replication-lag-seconds:30}")
+    private double maxReplicationLagSeconds;
+
+    @Value("${migration.governor.max-lock-waiting-sessions:5}")
+    private int maxLockWaitingSessions;
+
+    @Value("${migration.governor.max-active-sessions:0}")
+    private int maxActiveSessions;
+
+    @Value("${migration.governor.max-commit-millis:200}")
+    private double maxCommitMillis;
+
+    @Value("${migration.governor.pace-ratio:0.7}")
+    private double paceRatio;
+
+    @Value("${migration.governor.max-pace-delay-millis:2000}")
+    private long maxPaceDelayMillis;
+
+    @Value("${migration.governor.max-pause-millis:1800000}")
+    private long maxPauseMillis;
+
+    private volatile LoadSample sample = LoadSample.EMPTY;
+    private volatile State state = State.NORMAL;
+    private volatile double pressure;
+    private volatile String pressureSource = "-";
+    private boolean sampleFailureLogged;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        MeterRegistry registry = migrationMetrics.getRegistry();
+        Gauge.builder("migration.governor.state", this, g -> g.state.ordinal())
+                .description("Load governor throttle state (0 NORMAL, 1 PACED, 2 PAUSED)")
+                .register(registry);
+        Gauge.builder("migration.governor.pressure", this, g -> g.pressure)
+                .description("Highest ratio of a sampled load metric to its target")
+                .register(registry);
+        Gauge.builder("migration.governor.replication.lag.bytes", this, g -> g.sample.getReplicationLagBytes())
+                .register(registry);
+        Gauge.builder("migration.governor.replication.lag.seconds", this, g -> g.sample.getReplicationLagSeconds())
+                .register(registry);
+        Gauge.builder("migration.governor.sessions.active", this, g -> g.sample.getActiveSessions())
+                .register(registry);
+        Gauge.builder("migration.governor.sessions.lock.waiting", this, g -> g.sample.getLockWaitingSessions())
+                .register(registry);
+        Gauge.builder("migration.governor.commit.millis", this, g -> g.sample.getCommitMillis())
+                .register(registry);
+        log.info("Load governor enabled (lag: {}B/{}s, lock waits: {}, active sessions: {}, commit: {}ms, sample every {}ms)",
+                maxReplicationLagBytes, maxReplicationLagSeconds, maxLockWaitingSessions,
+                maxActiveSessions, maxCommitMillis, sampleIntervalMillis);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    @Override
+    public void awaitCapacity(String tableName) throws InterruptedException {
+        long waitStart = System.nanoTime();
+        while (true) {
+            State current = evaluate(currentSample(), tableName);
+            if (current == State.NORMAL) {
+                break;
+            }
+            if (current == State.PACED) {
+                double ratio = (pressure - paceRatio) / Math.max(1e-9, 1.0 - paceRatio);
+                Thread.sleep((long) (maxPaceDelayMillis * Math.min(1.0, ratio)));
+                break;
+            }
+
+            long pausedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart);
+            if (pausedMillis > maxPauseMillis) {
+                throw new IllegalStateException(String.format(
+                    "Load governor paused table %s for %dms (max %dms): %s over target (%s)",
+                    tableName, pausedMillis, maxPauseMillis, pressureSource, sample));
+            }
+            Thread.sleep(sampleIntervalMillis);
+        }
+
+        long waitedNanos = System.nanoTime() - waitStart;
+        waitTimer(tableName).record(waitedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * sample-interval이 지났으면 다시 측정 (동시에 호출한 Step 중 하나만 측정)
+     */
+    private synchronized LoadSample currentSample() {
+        long now = System.nanoTime();
+        if (sample != LoadSample.EMPTY
+                && now - sample.getSampledAtNanos() < TimeUnit.MILLISECONDS.toNanos(sampleIntervalMillis)) {
+            return sample;
+        }
+        try {
+            sample = takeSample();
+            sampleFailureLogged = false;
+        } catch (Exception e) {
+            if (!sampleFailureLogged) {
+                log.warn("Failed to sample database load, continuing without throttling", e);
+                sampleFailureLogged = true;
+            }
+            sample = new LoadSample(0, 0, 0, 0, 0, now);
+        }
+        return sample;
+    }
+
+    private LoadSample takeSample() {
+        SqlSession sqlSession = sqlSessionFactory.openSession(true);
+        try {
+            DatabaseLoadMapper mapper = sqlSession.getMapper(DatabaseLoadMapper.class);
+            Map<String, Object> replication = mapper.selectReplicationLag();
+            Map<String, Object> activity = mapper.selectSessionActivity();
+
+            long probeStart = System.nanoTime();
+            mapper.selectCommitProbe();
+            double commitMillis = (System.nanoTime() - probeStart) / 1000000.0;
+
+            return new LoadSample(
+                    longValue(replication, "lag_bytes"),
+                    doubleValue(replication, "lag_seconds"),
+                    (int) longValue(activity, "active_sessions"),
+                    (int) longValue(activity, "lock_waiting_sessions"),
+                    commitMillis,
+                    System.nanoTime());
+        } finally {
+            sqlSession.close();
+        }
+    }
+
+    /**
+     * 측정값 / 목표값 중 가장 큰 비율로 상태 결정 (상태가 바뀌면 로그 1회)
+     */
+    private synchronized State evaluate(LoadSample current, String tableName) {
+        double worst = 0;
+        String source = "-";
+        double ratio = ratio(current.getReplicationLagBytes(), maxReplicationLagBytes);
+        if (ratio > worst) {
+            worst = ratio;
+            source = "replication lag bytes";
+        }
+        ratio = ratio(current.getReplicationLagSeconds(), maxReplicationLagSeconds);
+        if (ratio > worst) {
+            worst = ratio;
+            source = "replication lag seconds";
+        }
+        ratio = ratio(current.getLockWaitingSessions(), maxLockWaitingSessions);
+        if (ratio > worst) {
+            worst = ratio;
+            source = "lock waiting sessions";
+        }
+        ratio = ratio(current.getActiveSessions(), maxActiveSessions);
+        if (ratio > worst) {
+            worst = ratio;
+            source = "active sessions";
+        }
+        ratio = ratio(current.getCommitMillis(), maxCommitMillis);
+        if (ratio > worst) {
+            worst = ratio;
+            source = "commit latency";
+        }
+
+        State previous = state;
+        pressure = worst;
+        pressureSource = source;
+        state = worst >= 1.0 ? State.PAUSED : worst >= paceRatio ? State.PACED : State.NORMAL;
+        if (state != previous) {
+            logTransition(previous, tableName);
+        }
+        return state;
+    }
+
+    private static double ratio(double value, double target) {
+        return target > 0 ? value / target : 0;
+    }
+
+    private void logTransition(State previous, String tableName) {
+        if (state == State.NORMAL) {
+            log.info("Load governor: {} -> NORMAL (table: {}, {})", previous, tableName, sample);
+        } else {
+            log.warn("Load governor: {} -> {} (table: {}, {} at {}% of target, {})", previous, state, tableName,
+                    pressureSource, Math.round(pressure * 100), sample);
+        }
+    }
+
+    private Timer waitTimer(String tableName) {
+        return Timer.builder("migration.governor.wait")
+                .description("Time a chunk waited for the load governor")
+                .tags(MigrationMetrics.TAG_TABLE, tableName)
+                .register(migrationMetrics.getRegistry());
+    }
+
+    private static long longValue(Map<String, Object> row, String key) {
+        Object value = row != null ? row.get(key) : null;
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    private static double doubleValue(Map<String, Object> row, String key) {
+        Object value = row != null ? row.get(key) : null;
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.kt.yaap.mig_batch.governor;
+
+/**
+ * 청크 사이에 호출되어 데이터베이스 부하에 따라 다음 청크 시작을 늦추는 정책
+ *
+ * 기본 구현은 DatabaseLoadGovernor (migration.governor.enabled)입니다.
+ * 다른 기준(업무 시간대, 외부 모니터링 등)을 쓰려면 이 인터페이스를 구현한 빈을 @Primary로 등록하세요.
+ * LoadGovernorListener가 Step마다 청크 시작 전(청크 트랜잭션 밖)에 호출하며, 여러 Step에서 동시에 호출됩니다.
+ */
+public interface LoadGovernor {
+
+    /**
+     * @return false이면 Step에 리스너를 등록하지 않음
+     */
+    boolean isEnabled();
+
+    /**
+     * 다음 청크를 시작해도 되는 상태가 될 때까지 대기 (필요 없으면 바로 반환)
+     *
+     * @param tableName 청크를 시작하려는 테이블 (로그/지표용)
+     * @throws InterruptedException 대기 중 인터럽트 (Step 중지)
+     */
+    void awaitCapacity(String tableName) throws InterruptedException;
+}
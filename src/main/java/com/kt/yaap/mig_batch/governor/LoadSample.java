@@ -0,0 +1,56 @@
+package com.kt.yaap.mig_batch.governor;
+
+/**
+ * 데이터베이스 부하 측정값 1회 (DatabaseLoadGovernor가 sample-interval마다 갱신, 모든 Step이 공유)
+ */
+public class LoadSample {
+
+    static final LoadSample EMPTY = new LoadSample(0, 0, 0, 0, 0, 0L);
+
+    private final long replicationLagBytes;
+    private final double replicationLagSeconds;
+    private final int activeSessions;
+    private final int lockWaitingSessions;
+    private final double commitMillis;
+    private final long sampledAtNanos;
+
+    LoadSample(long replicationLagBytes, double replicationLagSeconds, int activeSessions,
+               int lockWaitingSessions, double commitMillis, long sampledAtNanos) {
+        this.replicationLagBytes = replicationLagBytes;
+        this.replicationLagSeconds = replicationLagSeconds;
+        this.activeSessions = activeSessions;
+        this.lockWaitingSessions = lockWaitingSessions;
+        this.commitMillis = commitMillis;
+        this.sampledAtNanos = sampledAtNanos;
+    }
+
+    public long getReplicationLagBytes() {
+        return replicationLagBytes;
+    }
+
+    public double getReplicationLagSeconds() {
+        return replicationLagSeconds;
+    }
+
+    public int getActiveSessions() {
+        return activeSessions;
+    }
+
+    public int getLockWaitingSessions() {
+        return lockWaitingSessions;
+    }
+
+    public double getCommitMillis() {
+        return commitMillis;
+    }
+
+    long getSampledAtNanos() {
+        return sampledAtNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("lag=%dB/%.1fs, active=%d, lockWaits=%d, commit=%.1fms",
+                replicationLagBytes, replicationLagSeconds, activeSessions, lockWaitingSessions, commitMillis);
+    }
+}
@@ -0,0 +1,37 @@
+package com.kt.yaap.mig_batch.listener;
+
+import com.kt.yaap.mig_batch.governor.LoadGovernor;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.listener.RepeatListenerSupport;
+
+/**
+ * 청크 시작 전에 LoadGovernor를 호출하여 DB 부하가 높으면 대기하는 리스너
+ *
+ * ChunkListener.beforeChunk는 TaskletStep의 청크 트랜잭션 안(트랜잭션 매니저가 커넥션을 가져온 뒤)에서 호출되므로,
+ * 거기서 대기하면 일시 정지(PAUSED)된 Step마다 풀 커넥션을 최대 max-pause-millis 동안 잡고 있게 됩니다.
+ * 이 리스너는 Step의 청크 반복 템플릿(stepOperations)에 RepeatListener로 등록되어
+ * 청크 트랜잭션을 시작하기 전에 호출되므로 대기 중에는 커넥션을 잡지 않습니다.
+ * (Reader 세션 커넥션은 Step 동안 계속 열려 있음)
+ *
+ * BatchConfig에서 Step(파티션 Worker 포함)마다 new로 생성합니다.
+ */
+public class LoadGovernorListener extends RepeatListenerSupport {
+
+    private final LoadGovernor loadGovernor;
+    private final String tableName;
+
+    public LoadGovernorListener(LoadGovernor loadGovernor, String tableName) {
+        this.loadGovernor = loadGovernor;
+        this.tableName = tableName;
+    }
+
+    @Override
+    public void before(RepeatContext context) {
+        try {
+            loadGovernor.awaitCapacity(tableName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for load governor: table=" + tableName, e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.kt.yaap.mig_batch.listener;
+
+import com.kt.yaap.mig_batch.progress.MigrationProgressService;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.lang.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * migrationJob 시작/종료를 MigrationProgressService에 전달하는 리스너
+ *
+ * Job 시작 시 Job에 포함된 테이블 전체를 등록하여 아직 시작하지 않은 테이블까지 Job 전체 ETA에 포함합니다.
+ * MigrationJobConfig에서 Job 생성 시 테이블 목록과 함께 new로 생성합니다.
+ */
+public class MigrationProgressJobListener implements JobExecutionListener {
+
+    private final MigrationProgressService progressService;
+    private final List<String> tableNames;
+
+    public MigrationProgressJobListener(MigrationProgressService progressService, List<String> tableNames) {
+        this.progressService = progressService;
+        this.tableNames = new ArrayList<String>(tableNames);
+    }
+
+    @Override
+    public void beforeJob(@NonNull JobExecution jobExecution) {
+        progressService.jobStarted(jobExecution.getJobInstance().getJobName(), jobExecution.getId(), tableNames);
+    }
+
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        progressService.jobFinished(jobExecution.getStatus().name());
+    }
+}
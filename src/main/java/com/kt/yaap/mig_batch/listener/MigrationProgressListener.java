@@ -0,0 +1,71 @@
+package com.kt.yaap.mig_batch.listener;
+
+import com.kt.yaap.mig_batch.progress.MigrationProgressService;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.lang.NonNull;
+
+/**
+ * 테이블 Step의 진행 상황을 MigrationProgressService에 전달하는 리스너
+ *
+ * - StepExecutionListener: Step 시작/종료 (단일 Step 또는 파티션 Manager Step에 등록)
+ * - ChunkListener: 청크 커밋마다 직전 청크 이후 늘어난 read/write 건수 전달 (청크 Step, 파티션 Worker Step에 등록)
+ *
+ * 사용법:
+ * - MigrationStatusListener와 같이 Step마다 new로 직접 생성 (Spring 빈 아님)
+ * - Job Bean은 한 번 만들어 여러 번 실행되므로, 청크 건수는 StepExecution이 바뀌면 0부터 다시 계산
+ */
+public class MigrationProgressListener implements StepExecutionListener, ChunkListener {
+
+    private final MigrationProgressService progressService;
+    private final String tableName;
+
+    private Long lastStepExecutionId;
+    private long lastReadCount;
+    private long lastWriteCount;
+
+    public MigrationProgressListener(MigrationProgressService progressService, String tableName) {
+        this.progressService = progressService;
+        this.tableName = tableName;
+    }
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        progressService.stepStarted(tableName);
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        progressService.stepFinished(tableName, stepExecution.getStatus() == BatchStatus.COMPLETED);
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        if (!stepExecution.getId().equals(lastStepExecutionId)) {
+            lastStepExecutionId = stepExecution.getId();
+            lastReadCount = 0;
+            lastWriteCount = 0;
+        }
+
+        long readCount = stepExecution.getReadCount();
+        long writeCount = stepExecution.getWriteCount();
+        progressService.chunkCompleted(tableName, readCount - lastReadCount, writeCount - lastWriteCount);
+        lastReadCount = readCount;
+        lastWriteCount = writeCount;
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        // 실패한 청크는 롤백되므로 건수에 반영하지 않음 (다음 afterChunk에서 누적값 기준으로 계산)
+    }
+}
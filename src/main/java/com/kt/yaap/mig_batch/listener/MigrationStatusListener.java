@@ -1,11 +1,13 @@
 package com.kt.yaap.mig_batch.listener;
 
+import com.kt.yaap.mig_batch.batch.AdaptiveChunkController;
 import com.kt.yaap.mig_batch.mapper.MigrationConfigMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.lang.NonNull;
 
 /**
@@ -13,7 +15,7 @@ import org.springframework.lang.NonNull;
  * 
  * 역할:
  * - beforeStep: Step 시작 시 상태 확인 (선택)
- * - afterStep: Step 성공 완료 시 status를 'COMPLETE'로 업데이트
+ * - afterStep: Step 성공 완료 시 status를 'COMPLETE'로 업데이트 (restoreJob은 'ACTIVE'로 되돌림)
  * 
  * 주의:
  * - Writer가 아닌 Step 완료 시점에 한 번만 업데이트하여 성능 최적화
@@ -30,18 +32,27 @@ public class MigrationStatusListener implements StepExecutionListener {
 
     private final MigrationConfigMapper migrationConfigMapper;
     private final String tableName;
+    private final String completedStatus;  // Step 성공 시 설정할 status
 
     /**
-     * 생성자 (Step 생성 시 테이블명과 Mapper 주입)
+     * 생성자 (Step 생성 시 테이블명과 Mapper 주입, 성공 시 'COMPLETE')
      */
     public MigrationStatusListener(MigrationConfigMapper migrationConfigMapper, String tableName) {
+        this(migrationConfigMapper, tableName, "COMPLETE");
+    }
+
+    /**
+     * 생성자 (성공 시 설정할 status 지정, restoreStep은 'ACTIVE')
+     */
+    public MigrationStatusListener(MigrationConfigMapper migrationConfigMapper, String tableName, String completedStatus) {
         this.migrationConfigMapper = migrationConfigMapper;
         this.tableName = tableName;
+        this.completedStatus = completedStatus;
     }
 
     @Override
     public void beforeStep(@NonNull StepExecution stepExecution) {
-        log.info("Starting encryption step for table: {}", tableName);
+        log.info("Starting {} for table: {}", stepExecution.getStepName(), tableName);
     }
 
     @Override
@@ -55,14 +66,25 @@ public class MigrationStatusListener implements StepExecutionListener {
         log.info("📊 Step execution statistics for table: {} | Read: {}, Write: {}, Filter (Skipped): {}, Skip (Error): {}", 
                 tableName, readCount, writeCount, filterCount, skipCount);
         
+        // 청크 크기 자동 조절 결과 (migration.adaptive.enabled, 단일 Step인 경우)
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        if (executionContext.containsKey(AdaptiveChunkController.CHUNK_SIZE_KEY)) {
+            log.info("📊 Adaptive chunk for table: {} | Chunk size: {}, Fetch size: {}, Adjustments: {}, Last decision: {}", 
+                    tableName, 
+                    executionContext.getInt(AdaptiveChunkController.CHUNK_SIZE_KEY),
+                    executionContext.getInt(AdaptiveChunkController.FETCH_SIZE_KEY, 0),
+                    executionContext.getInt(AdaptiveChunkController.ADJUSTMENT_COUNT_KEY, 0),
+                    executionContext.getString(AdaptiveChunkController.LAST_DECISION_KEY, "-"));
+        }
+        
         // Step이 성공적으로 완료된 경우에만 status 업데이트
         if (stepExecution.getExitStatus().getExitCode().equals(ExitStatus.COMPLETED.getExitCode())) {
             try {
-                int statusUpdated = migrationConfigMapper.updateStatus(tableName, "COMPLETE");
+                int statusUpdated = migrationConfigMapper.updateStatus(tableName, completedStatus);
                 
                 if (statusUpdated > 0) {
-                    log.info("✅ Updated migration_config status to COMPLETE for table: {} | Processed: {}, Skipped: {}", 
-                            tableName, writeCount, filterCount);
+                    log.info("✅ Updated migration_config status to {} for table: {} | Processed: {}, Skipped: {}", 
+                            completedStatus, tableName, writeCount, filterCount);
                 } else {
                     // 워닝이지만 치명적이지 않음 (테스트 테이블 등)
                     log.warn("⚠️ No migration_config record found for table: {} (test table?)", tableName);
@@ -0,0 +1,163 @@
+package com.kt.yaap.mig_batch.listener;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * restoreJob 시작 시 복원 예상 규모/시간, 종료 시 테이블별 복원 행 수/소요 시간을 보고하는 리스너
+ *
+ * - beforeJob: 테이블별 예상 행 수(pg_class.reltuples) 합계와,
+ *   이전 restoreJob(리허설 등)의 초당 처리 행 수가 있으면 예상 소요 시간을 로그로 출력
+ * - afterJob: restoreStep_테이블명마다 읽은/복원한 행 수, 소요 초, 초당 처리 행 수를 로그로 출력하고
+ *   합계를 Job ExecutionContext(restore.*)에 저장 (다음 실행의 예상 시간 계산에 사용, BATCH_JOB_EXECUTION_CONTEXT로 조회 가능)
+ *
+ * 실행 중 진행률/ETA는 GET /migration/progress로 조회합니다.
+ *
+ * 사용법: MigrationProgressJobListener와 같이 Job 생성 시 new로 직접 생성 (Spring 빈 아님)
+ */
+public class RestoreReportListener implements JobExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RestoreReportListener.class);
+
+    static final String STEP_PREFIX = "restoreStep_";
+    static final String ROWS_KEY = "restore.rows";
+    static final String RESTORED_ROWS_KEY = "restore.restoredRows";
+    static final String SECONDS_KEY = "restore.seconds";
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final JobExplorer jobExplorer;  // 선택 (null이면 예상 시간 생략)
+    private final JobRepository jobRepository;  // 선택 (null이면 합계를 저장하지 않음)
+    private final String schemaName;
+    private final List<String> tableNames;
+
+    public RestoreReportListener(SqlSessionFactory sqlSessionFactory, JobExplorer jobExplorer,
+                                 JobRepository jobRepository, String schemaName, List<String> tableNames) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.jobExplorer = jobExplorer;
+        this.jobRepository = jobRepository;
+        this.schemaName = schemaName;
+        this.tableNames = new ArrayList<String>(tableNames);
+    }
+
+    @Override
+    public void beforeJob(@NonNull JobExecution jobExecution) {
+        long totalRows = 0;
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
+            for (String tableName : tableNames) {
+                Map<String, Object> params = new HashMap<String, Object>();
+                params.put("tableName", tableName);
+                params.put("schemaName", schemaName);
+                Long estimated = mapper.selectEstimatedRowCount(params);
+                long rows = estimated != null && estimated > 0 ? estimated : 0L;
+                totalRows += rows;
+                log.info("[restore] plan table={} estimatedRows={}", tableName, rows > 0 ? rows : "-");
+            }
+        } catch (Exception e) {
+            log.warn("Failed to estimate restore size", e);
+        } finally {
+            sqlSession.close();
+        }
+
+        double previousRate = previousRowsPerSecond(jobExecution);
+        if (previousRate > 0 && totalRows > 0) {
+            log.info("[restore] plan tables={} estimatedRows={} estimatedSeconds={} (previous run: {} rows/s)",
+                    tableNames.size(), totalRows, Math.round(totalRows / previousRate), Math.round(previousRate));
+        } else {
+            log.info("[restore] plan tables={} estimatedRows={} estimatedSeconds=- (no previous restore run)",
+                    tableNames.size(), totalRows);
+        }
+    }
+
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        long totalRows = 0;
+        long totalRestored = 0;
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            String stepName = stepExecution.getStepName();
+            // 파티션 Worker(restoreStep_테이블명_worker:partitionN)는 Manager Step에 합산되어 있으므로 제외
+            if (!stepName.startsWith(STEP_PREFIX) || stepName.indexOf(':') >= 0) {
+                continue;
+            }
+            double seconds = elapsedSeconds(stepExecution);
+            totalRows += stepExecution.getReadCount();
+            totalRestored += stepExecution.getWriteCount();
+            log.info("[restore] table={} status={} rows={} restoredRows={} seconds={} rowsPerSec={}",
+                    stepName.substring(STEP_PREFIX.length()), stepExecution.getStatus(),
+                    stepExecution.getReadCount(), stepExecution.getWriteCount(), Math.round(seconds),
+                    seconds > 0 ? Math.round(stepExecution.getReadCount() / seconds) : "-");
+        }
+
+        // 테이블 병렬 실행 시 Step 시간 합이 아니라 Job 경과 시간 기준
+        double jobSeconds = elapsedSeconds(jobExecution.getStartTime(), jobExecution.getEndTime());
+        ExecutionContext executionContext = jobExecution.getExecutionContext();
+        executionContext.putLong(ROWS_KEY, totalRows);
+        executionContext.putLong(RESTORED_ROWS_KEY, totalRestored);
+        executionContext.putDouble(SECONDS_KEY, jobSeconds);
+        if (jobRepository != null) {
+            // afterJob 이후에는 Job ExecutionContext를 다시 저장하지 않으므로 직접 저장
+            jobRepository.updateExecutionContext(jobExecution);
+        }
+        log.info("[restore] total status={} rows={} restoredRows={} seconds={} rowsPerSec={}",
+                jobExecution.getStatus(), totalRows, totalRestored, Math.round(jobSeconds),
+                jobSeconds > 0 ? Math.round(totalRows / jobSeconds) : "-");
+    }
+
+    /**
+     * 이전 restoreJob 실행(현재 실행 제외)의 초당 처리 행 수 (없으면 0)
+     */
+    private double previousRowsPerSecond(JobExecution current) {
+        if (jobExplorer == null) {
+            return 0;
+        }
+        try {
+            String jobName = current.getJobInstance().getJobName();
+            for (JobInstance instance : jobExplorer.getJobInstances(jobName, 0, 10)) {
+                for (JobExecution execution : jobExplorer.getJobExecutions(instance)) {
+                    if (execution.getId().equals(current.getId())) {
+                        continue;
+                    }
+                    ExecutionContext context = execution.getExecutionContext();
+                    long rows = context.getLong(ROWS_KEY, 0L);
+                    double seconds = context.getDouble(SECONDS_KEY, 0.0);
+                    if (rows > 0 && seconds > 0) {
+                        return rows / seconds;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read previous restore runs", e);
+        }
+        return 0;
+    }
+
+    private static double elapsedSeconds(StepExecution stepExecution) {
+        return elapsedSeconds(stepExecution.getStartTime(), stepExecution.getEndTime());
+    }
+
+    private static double elapsedSeconds(Date start, Date end) {
+        if (start == null) {
+            return 0;
+        }
+        long endMillis = end != null ? end.getTime() : System.currentTimeMillis();
+        return (endMillis - start.getTime()) / 1000.0;
+    }
+}
@@ -0,0 +1,116 @@
+package com.kt.yaap.mig_batch.listener;
+
+import com.kt.yaap.mig_batch.batch.VerificationTasklet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * verificationJob 종료 시 테이블별 검증 결과(불일치 건수 등)를 보고하는 리스너
+ *
+ * - verifyStep_테이블명 및 파티션 Worker(verifyStep_테이블명_worker:partitionN)의 ExecutionContext(verify.*)를 테이블별로 합산
+ *   (Manager Step은 Worker의 건수만 합산하고 ExecutionContext는 합치지 않으므로 Worker 기준)
+ * - 테이블별 검증 행 수, 의심 구간 수, 복호화 비교 수, 불일치/매핑 충돌/백업 없는 행 수를 로그로 출력하고
+ *   합계를 Job ExecutionContext(verify.*)에 저장 (BATCH_JOB_EXECUTION_CONTEXT로 조회 가능)
+ * - Job이 완료되었는데 불일치 또는 매핑 충돌이 있으면 ExitStatus를 MISMATCH로 변경 (스케줄러/모니터링에서 구분)
+ *
+ * 사용법: RestoreReportListener와 같이 Job 생성 시 new로 직접 생성 (Spring 빈 아님)
+ */
+public class VerificationReportListener implements JobExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificationReportListener.class);
+
+    public static final String EXIT_CODE_MISMATCH = "MISMATCH";
+
+    static final String STEP_PREFIX = "verifyStep_";
+    static final String WORKER_SUFFIX = "_worker";
+
+    private static final String[] COUNT_KEYS = {
+        VerificationTasklet.SCANNED_COUNT_KEY,
+        VerificationTasklet.SUSPICIOUS_RANGE_COUNT_KEY,
+        VerificationTasklet.DECRYPTED_COUNT_KEY,
+        VerificationTasklet.MISMATCH_COUNT_KEY,
+        VerificationTasklet.MAPPING_CONFLICT_COUNT_KEY,
+        VerificationTasklet.NO_BACKUP_COUNT_KEY
+    };
+
+    private final JobRepository jobRepository;  // 선택 (null이면 합계를 저장하지 않음)
+    private final List<String> tableNames;
+
+    public VerificationReportListener(JobRepository jobRepository, List<String> tableNames) {
+        this.jobRepository = jobRepository;
+        this.tableNames = new ArrayList<String>(tableNames);
+    }
+
+    @Override
+    public void beforeJob(@NonNull JobExecution jobExecution) {
+        log.info("[verify] plan tables={} ({})", tableNames.size(), tableNames);
+    }
+
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        long[] totals = new long[COUNT_KEYS.length];
+        for (String tableName : tableNames) {
+            long[] counts = tableCounts(jobExecution, tableName);
+            for (int i = 0; i < counts.length; i++) {
+                totals[i] += counts[i];
+            }
+            boolean failed = counts[3] > 0 || counts[4] > 0;
+            String message = "[verify] table={} rows={} suspiciousRanges={} decrypted={} mismatches={} mappingConflicts={} noBackupRows={}";
+            Object[] args = {tableName, counts[0], counts[1], counts[2], counts[3], counts[4], counts[5]};
+            if (failed) {
+                log.warn(message, args);
+            } else {
+                log.info(message, args);
+            }
+        }
+
+        ExecutionContext executionContext = jobExecution.getExecutionContext();
+        for (int i = 0; i < COUNT_KEYS.length; i++) {
+            executionContext.putLong(COUNT_KEYS[i], totals[i]);
+        }
+        if (jobRepository != null) {
+            // afterJob 이후에는 Job ExecutionContext를 다시 저장하지 않으므로 직접 저장
+            jobRepository.updateExecutionContext(jobExecution);
+        }
+
+        boolean failed = totals[3] > 0 || totals[4] > 0;
+        if (failed && jobExecution.getStatus() == BatchStatus.COMPLETED) {
+            // ExitStatus는 afterJob 이후 JobRepository.update에서 저장됨
+            jobExecution.setExitStatus(new ExitStatus(EXIT_CODE_MISMATCH, String.format(
+                    "%d mismatches, %d mapping conflicts", totals[3], totals[4])));
+        }
+        log.info("[verify] total status={} rows={} suspiciousRanges={} decrypted={} mismatches={} mappingConflicts={} noBackupRows={}",
+                jobExecution.getStatus(), totals[0], totals[1], totals[2], totals[3], totals[4], totals[5]);
+    }
+
+    /**
+     * 테이블의 verify.* 합계 (COUNT_KEYS 순서)
+     */
+    private static long[] tableCounts(JobExecution jobExecution, String tableName) {
+        long[] counts = new long[COUNT_KEYS.length];
+        String stepName = STEP_PREFIX + tableName;
+        String workerPrefix = stepName + WORKER_SUFFIX + ":";
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            String name = stepExecution.getStepName();
+            if (!name.equals(stepName) && !name.startsWith(workerPrefix)) {
+                continue;
+            }
+            ExecutionContext context = stepExecution.getExecutionContext();
+            for (int i = 0; i < COUNT_KEYS.length; i++) {
+                counts[i] += context.getLong(COUNT_KEYS[i], 0L);
+            }
+        }
+        return counts;
+    }
+}
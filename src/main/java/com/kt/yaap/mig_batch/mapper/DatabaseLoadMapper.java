@@ -0,0 +1,33 @@
+package com.kt.yaap.mig_batch.mapper;
+
+import java.util.Map;
+
+/**
+ * 데이터베이스 부하 지표 조회 Mapper (DatabaseLoadGovernor)
+ *
+ * pg_stat_replication의 LSN/지연 컬럼과 다른 사용자의 pg_stat_activity 행은
+ * superuser 또는 pg_monitor 역할이 있어야 보입니다. (권한이 없으면 0으로 조회됨)
+ */
+public interface DatabaseLoadMapper {
+
+    /**
+     * 복제 지연 조회 (가장 느린 standby 기준)
+     *
+     * @return {lag_bytes, lag_seconds, replica_count} (standby가 없으면 0)
+     */
+    Map<String, Object> selectReplicationLag();
+
+    /**
+     * 현재 데이터베이스의 세션 상태 조회 (이 세션 제외, 마이그레이션 배치 세션 포함)
+     *
+     * @return {active_sessions, lock_waiting_sessions}
+     */
+    Map<String, Object> selectSessionActivity();
+
+    /**
+     * 커밋 지연 측정용 최소 쓰기 트랜잭션 (txid 할당 → autocommit 커밋 시 WAL flush / 동기 복제 대기 포함)
+     *
+     * @return 할당된 트랜잭션 ID
+     */
+    Long selectCommitProbe();
+}
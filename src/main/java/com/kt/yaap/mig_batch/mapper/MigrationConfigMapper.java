@@ -18,6 +18,22 @@ public interface MigrationConfigMapper {
      */
     List<MigrationConfigEntity> selectActiveConfigs();
 
+    /**
+     * 백업 컬럼에서 복원할 설정 목록 조회 (restoreJob)
+     * (status가 NULL, 'ACTIVE', 'COMPLETE'인 설정, 'INACTIVE' 등은 제외)
+     * 
+     * @return 마이그레이션 설정 목록 (priority, target_table_name 순)
+     */
+    List<MigrationConfigEntity> selectRestorableConfigs();
+
+    /**
+     * 암호화 결과를 검증할 설정 목록 조회 (verificationJob)
+     * (status가 'COMPLETE'인 설정만, 진행 중 설정은 미암호화 행이 모두 불일치로 집계되므로 제외)
+     * 
+     * @return 마이그레이션 설정 목록 (priority, target_table_name 순)
+     */
+    List<MigrationConfigEntity> selectCompletedConfigs();
+
     /**
      * 마이그레이션 설정의 상태를 업데이트
      * 
@@ -39,6 +39,50 @@ public interface TargetTableMapper {
     @Deprecated
     List<Map<String, Object>> selectTargetRecords(@Param("params") Map<String, Object> params);
 
+    /**
+     * 컬럼 데이터 타입 조회 (pg_attribute + format_type)
+     * 
+     * @param params 조회 파라미터 (tableName, schemaName, columnNames)
+     * @return 컬럼별 {column_name, data_type} 목록 (예: data_type = "bigint", "character varying(20)")
+     */
+    List<Map<String, Object>> selectColumnTypes(@Param("params") Map<String, Object> params);
+
+    /**
+     * 테이블 예상 행 수 조회 (pg_class.reltuples, 진행률/ETA 계산용)
+     * 
+     * @param params 조회 파라미터 (tableName, schemaName)
+     * @return 예상 행 수 (테이블이 없으면 null, 통계가 없으면 0 이하)
+     */
+    Long selectEstimatedRowCount(@Param("params") Map<String, Object> params);
+
+    /**
+     * 테이블 블록 수 조회 (pg_relation_size / block_size, ctid 범위 분할용)
+     * 
+     * @param params 조회 파라미터 (tableName, schemaName)
+     * @return 블록 수 (테이블이 없으면 null)
+     */
+    Long selectRelationBlockCount(@Param("params") Map<String, Object> params);
+
+    /**
+     * 선두 PK 컬럼의 MIN/MAX 조회 (정수형 PK 범위 분할용)
+     * 
+     * @param params 조회 파라미터 (tableName, pkColumn)
+     * @return {min_value, max_value} (테이블이 비어 있으면 두 값 모두 null)
+     */
+    Map<String, Object> selectPkMinMax(@Param("params") Map<String, Object> params);
+
+    /**
+     * 선두 PK 컬럼의 분할 경계값 조회 (percentile_disc 기반, 비정수형 PK용)
+     * 
+     * @param params 조회 파라미터
+     *               - tableName: 대상 테이블명
+     *               - pkColumn: 선두 PK 컬럼명
+     *               - fractions: 분할 지점 배열 리터럴 (예: ARRAY[0.25,0.5,0.75])
+     *               - samplePercent: TABLESAMPLE SYSTEM 비율 (null이면 전체 테이블)
+     * @return 경계값 목록 (text, 오름차순, 중복 가능)
+     */
+    List<String> selectPkRangeBoundaries(@Param("params") Map<String, Object> params);
+
     /**
      * 대상 테이블에서 PK와 모든 대상 컬럼을 한 번에 조회 (단일 쿼리 - 성능 최적화)
      * 
@@ -63,17 +107,92 @@ public interface TargetTableMapper {
      *               - tableName: 대상 테이블명
      *               - pkColumnNames: PK 컬럼명 리스트
      *               - targetColumnNames: 암호화 대상 컬럼명 리스트
+     *               - leadingPkColumn, leadingPkType, lowerBound, upperBound: 파티션 범위 조건 (선택)
+     *               - resumePkValues, pkColumnTypes: 재시작 체크포인트 이후 조건 (선택, PK 컬럼명 → 값/타입)
+     *               - prefilterMode, strictEncryptedCheck: 이미 암호화된 행 사전 필터 (선택, NONE/PATTERN/BACKUP)
      * @return Cursor로 스트리밍 조회 (메모리 효율적)
      */
     Cursor<Map<String, Object>> selectAllTargetColumnsStreaming(@Param("params") Map<String, Object> params);
 
     /**
-     * 대상 테이블 레코드 단위 업데이트 (실제 업데이트할 컬럼만 SET, 재수행 시 안전)
+     * 사전 필터로 제외된(이미 암호화된) 행 수 조회
+     * 
+     * @param params selectAllTargetColumnsStreaming과 동일한 파라미터 (같은 범위/체크포인트 조건 적용)
+     * @return 제외된 행 수
+     */
+    long countPrefilteredRecords(@Param("params") Map<String, Object> params);
+
+    /**
+     * 백업 컬럼(컬럼명_bak) 추가 (ADD COLUMN IF NOT EXISTS, 원본 컬럼과 동일 타입)
+     *
+     * @param params tableName, backupColumns (selectColumnTypes 결과: {column_name, data_type})
+     */
+    void addBackupColumns(@Param("params") Map<String, Object> params);
+
+    /**
+     * 현재 트랜잭션의 lock_timeout 설정 (set_config(..., true))
+     *
+     * @param params lockTimeout (예: "5000ms")
+     * @return 설정된 값
+     */
+    String setLocalLockTimeout(@Param("params") Map<String, Object> params);
+
+    /**
+     * 백업 컬럼 채우기 1회분 (PK 순서로 batchSize건 중 백업이 비어 있는 컬럼만 원본 값 복사)
+     *
+     * @param params tableName, pkColumnNames, targetColumnNames, batchSize,
+     *               readRangeCondition 파라미터 (leadingPkColumn/leadingPkType/lowerBound/upperBound, resumePkValues/pkColumnTypes)
+     * @return {scanned_rows, copied_rows, pk_PK컬럼명...} (pk 값은 batch의 마지막 PK, text, batch가 비면 null)
+     */
+    Map<String, Object> copyBackupColumnsBatch(@Param("params") Map<String, Object> params);
+
+    /**
+     * 백업 컬럼에서 복원 1회분 (PK 순서로 batchSize건 중 백업이 있고 현재 값과 다른 컬럼만 백업 값으로 되돌림)
+     *
+     * @param params copyBackupColumnsBatch와 동일
+     * @return {scanned_rows, copied_rows(복원한 행 수), pk_PK컬럼명...}
+     */
+    Map<String, Object> restoreFromBackupBatch(@Param("params") Map<String, Object> params);
+
+    /**
+     * 검증 구간 서버 측 집계 (PK 순서로 rangeRows건, 백업 컬럼과 비교)
+     *
+     * @param params tableName, pkColumnNames, targetColumnNames, rangeRows, deterministic,
+     *               readRangeCondition 파라미터 (파티션 범위, resumePkValues/pkColumnTypes)
+     * @return {scanned_rows, suspicious_rows, no_backup_rows, mapping_conflicts, pk_PK컬럼명...} (pk 값은 구간의 마지막 PK, text)
+     */
+    Map<String, Object> selectVerificationRange(@Param("params") Map<String, Object> params);
+
+    /**
+     * 검증 구간의 행 조회 (복호화 비교용, selectVerificationRange와 같은 시작 PK)
+     *
+     * @param params selectVerificationRange 파라미터 + rowLimit
+     * @return PK("pk_" + PK 컬럼명), 대상 컬럼, 백업 컬럼(컬럼명_bak) 값 목록
+     */
+    List<Map<String, Object>> selectVerificationRows(@Param("params") Map<String, Object> params);
+
+    /**
+     * 대상 테이블 레코드 단위 업데이트 (암호화 값이 없는 컬럼은 COALESCE로 기존 값 유지, 재수행 시 안전)
+     *
+     * @param params tableName, pkColumnNames, targetColumnNames, record(TargetRecordEntity)
+     * @return 업데이트된 행 수
+     */
+    int updateTargetRecord(@Param("params") Map<String, Object> params);
+
+    /**
+     * COPY 적재용 세션 임시 테이블 생성 (이미 있으면 무시, ON COMMIT DELETE ROWS)
+     *
+     * @param params stagingTableName, tableName, pkColumnNames, targetColumnNames
+     */
+    void createStagingTable(@Param("params") Map<String, Object> params);
+
+    /**
+     * 임시 테이블의 암호화 값으로 대상 테이블 집합 UPDATE (UPDATE ... FROM)
      *
-     * @param params tableName, columnUpdates(List of {columnName, encryptedValue}), pkColumnNames, pkValues
+     * @param params tableName, stagingTableName, pkColumnNames, targetColumnNames
      * @return 업데이트된 행 수
      */
-    int updateTargetRecordWithMultipleColumns(@Param("params") Map<String, Object> params);
+    int updateFromStagingTable(@Param("params") Map<String, Object> params);
 
     /**
      * 대상 테이블 벌크 업데이트 (여러 레코드를 한 번의 SQL로 처리)
@@ -81,10 +200,10 @@ public interface TargetTableMapper {
      * @param params 벌크 업데이트 파라미터
      *               - tableName: 대상 테이블명
      *               - pkColumnNames: PK 컬럼명 리스트
-     *               - records: 업데이트할 레코드 리스트
-     *                 각 레코드는 Map 형태로 {pkValues, columnUpdates} 포함
-     *                 pkValues: PK 값들 (Map<String, Object>)
-     *                 columnUpdates: 컬럼 업데이트 정보 (List<Map>)
+     *               - pkColumnTypes: PK 컬럼명 → 데이터 타입 (CAST용, selectColumnTypes 결과)
+     *               - allColumnNames: 업데이트할 컬럼명 리스트 (모든 레코드 공통)
+     *               - columnSlots: allColumnNames와 같은 순서의 대상 컬럼 슬롯 (TableSchema 기준)
+     *               - records: 업데이트할 TargetRecordEntity 리스트 (pkValues/encryptedValues 슬롯 배열 사용)
      * @return 업데이트된 행 수
      */
     int bulkUpdateTargetRecords(@Param("params") Map<String, Object> params);
@@ -0,0 +1,171 @@
+package com.kt.yaap.mig_batch.metrics;
+
+import com.kt.yaap.mig_batch.model.TableSchema;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 단계별 Micrometer 지표 (Actuator /actuator/prometheus, /actuator/metrics)
+ *
+ * 지표 (태그):
+ * - migration.reader.fetch (table, step): Reader가 레코드 1건을 가져오는 시간 (fetch size마다 DB 왕복 포함)
+ * - migration.reader.wait (table, step): 미리 읽기 사용 시 청크 스레드가 다음 레코드를 기다린 시간 (읽기가 병목이면 증가)
+ * - migration.encrypt (table, step, column): 컬럼 값 1건 암호화 시간 (레코드 단위 처리)
+ * - migration.encrypt.batch (table, step): 청크(또는 구간) 일괄 암호화 1회 시간 (safedb.batch-enabled)
+ * - migration.encrypt.values (table, step, column): 암호화한 값 수
+ * - migration.writer.flush (table, step, writer): Writer의 청크 1건 UPDATE 시간
+ * - migration.writer.rows (table, step, writer): UPDATE된 행 수
+ * - safedb.call (operation): SafeDB 호출 1회 시간 (일괄 호출은 batchSize 단위 1회)
+ * - safedb.inflight (endpoint): SafeDB 동시 호출 수 (safedb.max-in-flight 설정 시)
+ * - migration.governor.* : DB 부하 조절 상태/측정값/대기 시간 (DatabaseLoadGovernor, migration.governor.enabled 설정 시)
+ *
+ * 레코드/값마다 기록하는 Timer는 호출부에서 한 번 조회해 재사용합니다.
+ * (Reader는 open() 시점, 컬럼별 Timer는 테이블/Step별로 캐시)
+ */
+@Component
+public class MigrationMetrics {
+
+    public static final String TAG_TABLE = "table";
+    public static final String TAG_STEP = "step";
+    public static final String TAG_COLUMN = "column";
+    public static final String TAG_WRITER = "writer";
+    public static final String TAG_OPERATION = "operation";
+    public static final String TAG_ENDPOINT = "endpoint";
+
+    private static final String NO_STEP = "none";
+
+    private final MeterRegistry registry;
+
+    // [테이블명, Step 이름] → 대상 컬럼 슬롯 순서의 Timer/Counter
+    private final Map<List<String>, Timer[]> encryptTimers = new ConcurrentHashMap<List<String>, Timer[]>();
+    private final Map<List<String>, Counter[]> encryptCounters = new ConcurrentHashMap<List<String>, Counter[]>();
+
+    public MigrationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    public Timer readerFetchTimer(String tableName, String stepName) {
+        return Timer.builder("migration.reader.fetch")
+                .description("Time to fetch one record from the source table")
+                .tags(TAG_TABLE, tableName, TAG_STEP, stepName)
+                .register(registry);
+    }
+
+    public Timer readerWaitTimer(String tableName, String stepName) {
+        return Timer.builder("migration.reader.wait")
+                .description("Time the chunk thread waits for the next prefetched record")
+                .tags(TAG_TABLE, tableName, TAG_STEP, stepName)
+                .register(registry);
+    }
+
+    /**
+     * 컬럼별 암호화 Timer (TableSchema 대상 컬럼 슬롯 순서, 현재 Step)
+     */
+    public Timer[] encryptTimers(TableSchema schema) {
+        final String tableName = schema.getTableName();
+        final String stepName = currentStepName();
+        return encryptTimers.computeIfAbsent(Arrays.asList(tableName, stepName), key -> {
+            List<String> columns = schema.getTargetColumnNames();
+            Timer[] timers = new Timer[columns.size()];
+            for (int i = 0; i < timers.length; i++) {
+                timers[i] = Timer.builder("migration.encrypt")
+                        .description("SafeDB encryption latency per value")
+                        .tags(TAG_TABLE, tableName, TAG_STEP, stepName, TAG_COLUMN, columns.get(i))
+                        .register(registry);
+            }
+            return timers;
+        });
+    }
+
+    /**
+     * 컬럼별 암호화 건수 Counter (TableSchema 대상 컬럼 슬롯 순서, 현재 Step)
+     */
+    public Counter[] encryptCounters(TableSchema schema) {
+        final String tableName = schema.getTableName();
+        final String stepName = currentStepName();
+        return encryptCounters.computeIfAbsent(Arrays.asList(tableName, stepName), key -> {
+            List<String> columns = schema.getTargetColumnNames();
+            Counter[] counters = new Counter[columns.size()];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = Counter.builder("migration.encrypt.values")
+                        .description("Number of values encrypted")
+                        .tags(TAG_TABLE, tableName, TAG_STEP, stepName, TAG_COLUMN, columns.get(i))
+                        .register(registry);
+            }
+            return counters;
+        });
+    }
+
+    public Timer encryptBatchTimer(String tableName) {
+        return Timer.builder("migration.encrypt.batch")
+                .description("SafeDB batch encryption latency per chunk or slice")
+                .tags(TAG_TABLE, tableName, TAG_STEP, currentStepName())
+                .register(registry);
+    }
+
+    public Timer writerFlushTimer(String tableName, String writerMode) {
+        return Timer.builder("migration.writer.flush")
+                .description("Time to write one chunk to the target table")
+                .tags(TAG_TABLE, tableName, TAG_STEP, currentStepName(), TAG_WRITER, writerMode)
+                .register(registry);
+    }
+
+    public Counter writerRowsCounter(String tableName, String writerMode) {
+        return Counter.builder("migration.writer.rows")
+                .description("Number of rows updated in the target table")
+                .tags(TAG_TABLE, tableName, TAG_STEP, currentStepName(), TAG_WRITER, writerMode)
+                .register(registry);
+    }
+
+    /**
+     * Writer 청크 1건 기록 (flush 시간 + UPDATE 행 수)
+     *
+     * @param startNanos write() 시작 시각 (System.nanoTime)
+     */
+    public void recordWrite(String tableName, String writerMode, long startNanos, long rows) {
+        writerFlushTimer(tableName, writerMode).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        writerRowsCounter(tableName, writerMode).increment(rows);
+    }
+
+    public Timer safeDbCallTimer(String operation) {
+        return Timer.builder("safedb.call")
+                .description("SafeDB call latency (one round trip)")
+                .tags(TAG_OPERATION, operation)
+                .register(registry);
+    }
+
+    /**
+     * SafeDB 동시 호출 수 Gauge (maxPermits - 남은 permit 수)
+     */
+    public void registerSafeDbInFlight(String endpoint, Semaphore permits, int maxPermits) {
+        Gauge.builder("safedb.inflight", permits, p -> maxPermits - p.availablePermits())
+                .description("SafeDB calls currently in flight")
+                .tags(TAG_ENDPOINT, endpoint)
+                .register(registry);
+    }
+
+    /**
+     * 현재 스레드에서 실행 중인 Step 이름
+     * (Reader/Writer는 청크 스레드에서 호출되므로 항상 있음, 암호화 executor 스레드는 EncryptionChunkProcessor가 등록)
+     */
+    public static String currentStepName() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? context.getStepName() : NO_STEP;
+    }
+}
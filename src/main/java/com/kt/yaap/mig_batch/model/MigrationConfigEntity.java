@@ -13,6 +13,13 @@ public class MigrationConfigEntity {
     private String targetTableName;      // 대상 테이블명
     private String targetColumnName;     // 대상 컬럼명 (PK는 INFORMATION_SCHEMA에서 조회)
     private String pkColumnName;         // Primary Key 컬럼명 (동적 조회용, DB 저장 안함)
+    private Integer priority;            // 처리 우선순위 (낮을수록 먼저, 병렬 모드에서는 같은 값끼리 동시 실행)
+    private Integer partitions;          // PK 범위 파티션 수 (NULL이면 migration.partition.grid-size 사용)
+    private String writerMode;           // Writer 방식 (BATCH, BULK, COPY / NULL이면 migration.writer-mode 사용)
+    private Integer chunkSize;           // 청크 크기 (NULL이면 migration.chunk-size 사용)
+    private Integer fetchSize;           // 조회 fetch size (NULL이면 migration.reader.fetch-size 사용)
+    private Integer threadCount;         // 청크당 암호화 스레드 수 (NULL이면 migration.encryption.threads 사용)
+    private String scanMode;             // 조회/파티션 방식 (PK, CTID / NULL이면 migration.partition.scan-mode 사용)
     
     public MigrationConfigEntity(String targetTableName, String targetColumnName) {
         this.targetTableName = targetTableName;
@@ -0,0 +1,78 @@
+package com.kt.yaap.mig_batch.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 테이블별 레코드 구조 (PK 컬럼 / 암호화 대상 컬럼의 슬롯 위치)
+ * 
+ * Reader가 open() 시점에 테이블당 한 번 생성하고, 같은 테이블의 모든 TargetRecordEntity가 공유합니다.
+ * - 레코드는 컬럼명 Map 대신 이 스키마의 슬롯 순서대로 배열에 값을 보관
+ * - PK 슬롯 i = pkColumnNames.get(i), 대상 컬럼 슬롯 i = targetColumnNames.get(i)
+ * 
+ * 불변 객체이므로 여러 스레드(파티션, 암호화 병렬 처리)에서 공유해도 안전합니다.
+ */
+public final class TableSchema {
+
+    private final String tableName;
+    private final List<String> pkColumnNames;
+    private final List<String> targetColumnNames;
+    private final String[] pkResultKeys;                  // 조회 결과 Map의 PK 키 ("pk_" + 소문자 컬럼명)
+    private final Map<String, Integer> targetColumnSlots;
+
+    public TableSchema(String tableName, List<String> pkColumnNames, List<String> targetColumnNames) {
+        this.tableName = tableName;
+        this.pkColumnNames = Collections.unmodifiableList(new ArrayList<String>(pkColumnNames));
+        this.targetColumnNames = Collections.unmodifiableList(new ArrayList<String>(targetColumnNames));
+        
+        this.pkResultKeys = new String[pkColumnNames.size()];
+        for (int i = 0; i < pkResultKeys.length; i++) {
+            pkResultKeys[i] = "pk_" + pkColumnNames.get(i).toLowerCase(Locale.ROOT);
+        }
+        
+        Map<String, Integer> slots = new HashMap<String, Integer>();
+        for (int i = 0; i < targetColumnNames.size(); i++) {
+            slots.put(targetColumnNames.get(i), i);
+        }
+        this.targetColumnSlots = Collections.unmodifiableMap(slots);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<String> getPkColumnNames() {
+        return pkColumnNames;
+    }
+
+    public List<String> getTargetColumnNames() {
+        return targetColumnNames;
+    }
+
+    public int getPkColumnCount() {
+        return pkColumnNames.size();
+    }
+
+    public int getTargetColumnCount() {
+        return targetColumnNames.size();
+    }
+
+    /**
+     * 조회 결과 Map에서 PK 슬롯 값을 꺼낼 키 (selectAllTargetColumnsStreaming의 "pk_컬럼명" 별칭)
+     */
+    public String getPkResultKey(int pkSlot) {
+        return pkResultKeys[pkSlot];
+    }
+
+    /**
+     * 대상 컬럼명 → 슬롯 (없으면 -1)
+     */
+    public int getTargetColumnSlot(String columnName) {
+        Integer slot = targetColumnSlots.get(columnName);
+        return slot != null ? slot : -1;
+    }
+}
@@ -1,10 +1,7 @@
 package com.kt.yaap.mig_batch.model;
 
-import lombok.Data;
-
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 대상 테이블의 실제 레코드를 나타내는 Entity
@@ -12,38 +9,143 @@ import java.util.Map;
  * 
  * Reader가 실제 테이블 레코드를 직접 읽어서 사용하므로
  * read_count = 실제 처리 레코드 수가 됩니다.
+ * 
+ * 메모리 구조 (슬롯 배열):
+ * - 컬럼명/PK명은 테이블당 하나인 TableSchema가 보관하고, 레코드는 슬롯 순서대로 값만 배열에 보관
+ * - 레코드당 객체 수: Entity + 배열 3개 (기존: Entity + HashMap 3개 + 컬럼 수만큼의 Entry)
+ * - encryptedValues[i]가 null이면 해당 컬럼은 업데이트하지 않음 (NULL/빈 값 또는 이미 암호화됨)
+ * 
+ * MyBatis에서는 #{record.pkValues[0]}, #{record.encryptedValues[1]}처럼 슬롯 인덱스로 접근합니다.
  */
-@Data
 public class TargetRecordEntity {
     
-    private String tableName;                                              // 테이블명
+    private final TableSchema schema;
+    private final Object[] pkValues;            // PK 슬롯별 값
+    private final String[] originalValues;      // 대상 컬럼 슬롯별 원본 값
+    private final String[] encryptedValues;     // 대상 컬럼 슬롯별 암호화 값 (null = 업데이트 안 함)
+    
+    public TargetRecordEntity(TableSchema schema) {
+        this.schema = schema;
+        this.pkValues = new Object[schema.getPkColumnCount()];
+        this.originalValues = new String[schema.getTargetColumnCount()];
+        this.encryptedValues = new String[schema.getTargetColumnCount()];
+    }
+    
+    public TableSchema getSchema() {
+        return schema;
+    }
+    
+    public String getTableName() {
+        return schema.getTableName();
+    }
+    
+    public List<String> getPkColumnNames() {
+        return schema.getPkColumnNames();
+    }
+    
+    public List<String> getTargetColumnNames() {
+        return schema.getTargetColumnNames();
+    }
+    
+    /**
+     * PK 슬롯별 값 배열 (MyBatis 바인딩용, 직접 수정 가능)
+     */
+    public Object[] getPkValues() {
+        return pkValues;
+    }
+    
+    /**
+     * 대상 컬럼 슬롯별 원본 값 배열 (직접 수정 가능)
+     */
+    public String[] getOriginalValues() {
+        return originalValues;
+    }
+    
+    /**
+     * 대상 컬럼 슬롯별 암호화 값 배열 (MyBatis 바인딩용, 직접 수정 가능)
+     */
+    public String[] getEncryptedValues() {
+        return encryptedValues;
+    }
+    
+    public Object getPkValue(int pkSlot) {
+        return pkValues[pkSlot];
+    }
+    
+    public String getOriginalValue(int slot) {
+        return originalValues[slot];
+    }
+    
+    public String getEncryptedValue(int slot) {
+        return encryptedValues[slot];
+    }
+    
+    public void setEncryptedValue(int slot, String encryptedValue) {
+        encryptedValues[slot] = encryptedValue;
+    }
+    
+    /**
+     * 암호화 값 초기화 (Processor 재실행 시 이전 결과 제거)
+     */
+    public void clearEncryptedValues() {
+        Arrays.fill(encryptedValues, null);
+    }
     
-    // PK 정보
-    private List<String> pkColumnNames;                                    // PK 컬럼명들 (단일 또는 복합)
-    private Map<String, Object> pkValues;                                  // PK 값들
+    /**
+     * 원본/암호화 값 해제 (청크를 OffHeapRowBuffer로 옮긴 뒤 힙에서 문자열 제거, PK는 유지)
+     */
+    public void releaseValues() {
+        Arrays.fill(originalValues, null);
+        Arrays.fill(encryptedValues, null);
+    }
     
-    // 암호화 대상 컬럼들 (여러 컬럼 지원)
-    private List<String> targetColumnNames;                                // 암호화 대상 컬럼명들
-    private Map<String, String> originalValues;                            // 컬럼명 → 원본 값
-    private Map<String, String> encryptedValues;                           // 컬럼명 → 암호화된 값
+    /**
+     * 업데이트할 컬럼이 하나라도 있는지
+     */
+    public boolean hasEncryptedValues() {
+        for (String encryptedValue : encryptedValues) {
+            if (encryptedValue != null) {
+                return true;
+            }
+        }
+        return false;
+    }
     
     /**
-     * 기본 생성자 - Map 필드들을 명시적으로 초기화
-     * NPE 방지를 위해 모든 Map을 빈 HashMap으로 초기화
+     * 암호화 값이 있는 대상 컬럼 슬롯의 비트마스크 (슬롯 i → 비트 i, 대상 컬럼 64개까지)
+     * 
+     * BulkEncryptionWriter가 같은 컬럼 세트끼리 묶을 때 레코드별 List 대신 사용합니다.
      */
-    public TargetRecordEntity() {
-        this.pkValues = new HashMap<>();
-        this.originalValues = new HashMap<>();
-        this.encryptedValues = new HashMap<>();
+    public long getEncryptedColumnMask() {
+        long mask = 0L;
+        for (int i = 0; i < encryptedValues.length && i < Long.SIZE; i++) {
+            if (encryptedValues[i] != null) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
     }
     
     /**
      * PK 값을 문자열로 표시 (로깅용)
      */
     public String getPkDisplay() {
-        if (pkValues == null || pkValues.isEmpty()) {
+        if (pkValues.length == 0) {
             return "null";
         }
-        return pkValues.toString();
+        StringBuilder display = new StringBuilder("{");
+        List<String> pkColumnNames = schema.getPkColumnNames();
+        for (int i = 0; i < pkValues.length; i++) {
+            if (i > 0) {
+                display.append(", ");
+            }
+            display.append(pkColumnNames.get(i)).append('=').append(pkValues[i]);
+        }
+        return display.append('}').toString();
+    }
+    
+    @Override
+    public String toString() {
+        return "TargetRecordEntity(tableName=" + getTableName() + ", pk=" + getPkDisplay() + ")";
     }
 }
@@ -0,0 +1,168 @@
+package com.kt.yaap.mig_batch.progress;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * migrationJob 1회 실행의 진행 상황 (GET /migration/progress 응답)
+ *
+ * 테이블별 TableProgress를 합산합니다.
+ * - 진행률 = 읽은 행 수 / (읽은 행 수 + 남은 예상 행 수), 남은 행 수는 대기/실행 중 테이블의 예상 행 수 기준
+ * - 초당 처리 건수 = Job 전체 읽은 행 수의 EWMA (병렬/파티션 실행 시 테이블 합계 속도)
+ * - ETA = 남은 예상 행 수 / 초당 처리 건수
+ *
+ * 예상 행 수를 모르는 테이블(통계 없음)은 남은 행 수에 포함되지 않으므로 진행률이 실제보다 높게 보일 수 있습니다.
+ */
+public class JobProgress {
+
+    private final String jobName;
+    private final Long jobExecutionId;
+    private final Date startTime;
+    private final double ewmaAlpha;
+    private final RateEstimator rateEstimator;
+
+    // 테이블명 → 진행 상황 (Job 설정의 테이블 순서 유지)
+    private final Map<String, TableProgress> tables = new LinkedHashMap<String, TableProgress>();
+
+    private volatile String status = "STARTED";
+    private volatile Date endTime;
+
+    JobProgress(String jobName, Long jobExecutionId, double ewmaAlpha, long nowNanos) {
+        this.jobName = jobName;
+        this.jobExecutionId = jobExecutionId;
+        this.startTime = new Date();
+        this.ewmaAlpha = ewmaAlpha;
+        this.rateEstimator = new RateEstimator(ewmaAlpha);
+        this.rateEstimator.start(0, nowNanos);
+    }
+
+    /**
+     * 테이블 진행 상황 조회 (Job 설정에 없던 테이블이면 새로 추가)
+     */
+    synchronized TableProgress table(String tableName) {
+        return tables.computeIfAbsent(tableName, name -> new TableProgress(name, ewmaAlpha));
+    }
+
+    public synchronized TableProgress findTable(String tableName) {
+        return tables.get(tableName);
+    }
+
+    void sample(long nowNanos) {
+        for (TableProgress table : getTables()) {
+            table.sample(nowNanos);
+        }
+        rateEstimator.sample(getReadCount(), nowNanos);
+    }
+
+    void finish(String status) {
+        this.status = status;
+        this.endTime = new Date();
+    }
+
+    boolean isRunning() {
+        return endTime == null;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public Long getJobExecutionId() {
+        return jobExecutionId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Date getStartTime() {
+        return startTime;
+    }
+
+    public Date getEndTime() {
+        return endTime;
+    }
+
+    public int getTableCount() {
+        return getTables().size();
+    }
+
+    public int getCompletedTableCount() {
+        int count = 0;
+        for (TableProgress table : getTables()) {
+            if (table.getStatus() == TableProgress.Status.COMPLETED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long getReadCount() {
+        long sum = 0;
+        for (TableProgress table : getTables()) {
+            sum += table.getReadCount();
+        }
+        return sum;
+    }
+
+    public long getWriteCount() {
+        long sum = 0;
+        for (TableProgress table : getTables()) {
+            sum += table.getWriteCount();
+        }
+        return sum;
+    }
+
+    public long getRemainingRows() {
+        long sum = 0;
+        for (TableProgress table : getTables()) {
+            sum += table.remainingRows();
+        }
+        return sum;
+    }
+
+    /**
+     * @return 진행률(%), 어떤 테이블도 예상 행 수를 모르면 null
+     */
+    public Double getPercentDone() {
+        boolean estimated = false;
+        for (TableProgress table : getTables()) {
+            estimated |= table.isEstimated();
+        }
+        if (!estimated) {
+            return null;
+        }
+        long read = getReadCount();
+        long total = read + getRemainingRows();
+        return total > 0 ? read * 100.0 / total : 100.0;
+    }
+
+    /**
+     * @return Job 전체 초당 읽은 행 수 (EWMA), 아직 측정 전이면 null
+     */
+    public Double getRowsPerSecond() {
+        double rate = rateEstimator.getRate();
+        return isRunning() && rate >= 0 ? rate : null;
+    }
+
+    /**
+     * @return Job 전체 남은 예상 시간(초), 처리 속도를 모르면 null
+     */
+    public Long getEtaSeconds() {
+        if (!isRunning()) {
+            return 0L;
+        }
+        Double rate = getRowsPerSecond();
+        if (rate == null || rate <= 0 || getPercentDone() == null) {
+            return null;
+        }
+        return (long) Math.ceil(getRemainingRows() / rate);
+    }
+
+    public synchronized List<TableProgress> getTables() {
+        return new ArrayList<TableProgress>(tables.values());
+    }
+}
@@ -0,0 +1,181 @@
+package com.kt.yaap.mig_batch.progress;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * migrationJob 진행률/ETA 추적
+ *
+ * 동작:
+ * 1. Job 시작 시 설정된 테이블을 모두 등록하고 pg_class.reltuples로 예상 행 수 조회
+ *    (Step 시작 직전에 한 번 더 조회 → 앞 테이블 처리 중 ANALYZE된 통계 반영)
+ * 2. 청크 커밋마다 MigrationProgressListener가 읽은/쓴 행 수를 테이블별로 누적
+ * 3. migration.progress.interval-millis마다 초당 처리 건수(EWMA)를 갱신하고 진행 로그 출력
+ *
+ * 조회: GET /migration/progress (MigrationProgressController), 마지막 실행 결과는 다음 Job 시작 전까지 유지
+ *
+ * 진행 로그는 key=value 형식의 한 줄이며 Job 1줄 + 실행 중인 테이블마다 1줄입니다.
+ * 예) [progress] table=TB_USER status=RUNNING read=1200000 written=1180000 estimated=5000000 percent=24.0 rowsPerSec=8250.4 etaSec=461
+ */
+@Component
+public class MigrationProgressService {
+
+    private static final Logger log = LoggerFactory.getLogger(MigrationProgressService.class);
+
+    private static final String UNKNOWN = "-";
+
+    @Autowired
+    private TargetTableMapper targetTableMapper;
+
+    @Value("${migration.schema-name:public}")
+    private String schemaName;
+
+    @Value("${migration.progress.ewma-alpha:0.3}")
+    private double ewmaAlpha;
+
+    @Value("${migration.progress.log-enabled:true}")
+    private boolean logEnabled;
+
+    private volatile JobProgress current;
+
+    /**
+     * Job 시작: 테이블 등록 및 예상 행 수 조회
+     */
+    public void jobStarted(String jobName, Long jobExecutionId, List<String> tableNames) {
+        JobProgress job = new JobProgress(jobName, jobExecutionId, ewmaAlpha, System.nanoTime());
+        for (String tableName : tableNames) {
+            job.table(tableName).setEstimatedRows(estimateRowCount(tableName));
+        }
+        current = job;
+
+        log.info("[progress] job={} executionId={} status=STARTED tables={} estimated={}",
+                jobName, jobExecutionId, tableNames.size(), format(job.getRemainingRows()));
+    }
+
+    public void jobFinished(String status) {
+        JobProgress job = current;
+        if (job == null) {
+            return;
+        }
+        job.sample(System.nanoTime());
+        job.finish(status);
+        logJob(job);
+    }
+
+    /**
+     * Step 시작 (파티션 Step은 Manager Step 시작 시 1회)
+     */
+    public void stepStarted(String tableName) {
+        JobProgress job = current;
+        if (job == null || !job.isRunning()) {
+            return;
+        }
+        TableProgress table = job.table(tableName);
+        table.setEstimatedRows(estimateRowCount(tableName));
+        table.start(System.nanoTime());
+    }
+
+    /**
+     * 청크 커밋 (파티션 Worker는 Worker마다 호출되어 테이블 단위로 합산)
+     */
+    public void chunkCompleted(String tableName, long readRows, long writtenRows) {
+        JobProgress job = current;
+        if (job == null || !job.isRunning()) {
+            return;
+        }
+        job.table(tableName).addChunk(readRows, writtenRows);
+    }
+
+    public void stepFinished(String tableName, boolean completed) {
+        JobProgress job = current;
+        if (job == null || !job.isRunning()) {
+            return;
+        }
+        TableProgress table = job.table(tableName);
+        table.sample(System.nanoTime());
+        table.finish(completed);
+        logTable(table);
+    }
+
+    /**
+     * @return 현재(또는 마지막) Job 진행 상황, Job을 한 번도 실행하지 않았으면 null
+     */
+    public JobProgress getCurrent() {
+        return current;
+    }
+
+    /**
+     * 초당 처리 건수 갱신 및 진행 로그 출력 (Job 실행 중에만)
+     *
+     * MigrationScheduler의 Job 실행이 스케줄러 스레드를 점유하므로
+     * spring.task.scheduling.pool.size를 2 이상으로 설정해야 실행 중에도 호출됩니다.
+     */
+    @Scheduled(fixedDelayString = "${migration.progress.interval-millis:30000}",
+               initialDelayString = "${migration.progress.interval-millis:30000}")
+    public void sample() {
+        JobProgress job = current;
+        if (job == null || !job.isRunning()) {
+            return;
+        }
+        job.sample(System.nanoTime());
+
+        if (logEnabled) {
+            logJob(job);
+            for (TableProgress table : job.getTables()) {
+                if (table.getStatus() == TableProgress.Status.RUNNING) {
+                    logTable(table);
+                }
+            }
+        }
+    }
+
+    /**
+     * 예상 행 수 (pg_class.reltuples, 통계가 없거나 조회 실패 시 -1)
+     */
+    private long estimateRowCount(String tableName) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("tableName", tableName);
+        params.put("schemaName", schemaName);
+        try {
+            Long estimate = targetTableMapper.selectEstimatedRowCount(params);
+            return estimate != null && estimate > 0 ? estimate : -1;
+        } catch (Exception e) {
+            log.warn("Failed to estimate row count for table: {}", tableName, e);
+            return -1;
+        }
+    }
+
+    private void logJob(JobProgress job) {
+        log.info("[progress] job={} executionId={} status={} tables={}/{} read={} written={} remaining={} percent={} rowsPerSec={} etaSec={}",
+                job.getJobName(), job.getJobExecutionId(), job.getStatus(),
+                job.getCompletedTableCount(), job.getTableCount(),
+                job.getReadCount(), job.getWriteCount(), job.getRemainingRows(),
+                format(job.getPercentDone()), format(job.getRowsPerSecond()), format(job.getEtaSeconds()));
+    }
+
+    private void logTable(TableProgress table) {
+        log.info("[progress] table={} status={} read={} written={} estimated={} percent={} rowsPerSec={} etaSec={}",
+                table.getTableName(), table.getStatus(), table.getReadCount(), table.getWriteCount(),
+                format(table.getEstimatedRows()), format(table.getPercentDone()),
+                format(table.getRowsPerSecond()), format(table.getEtaSeconds()));
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+        if (value instanceof Double) {
+            return String.format("%.1f", (Double) value);
+        }
+        return String.valueOf(value);
+    }
+}
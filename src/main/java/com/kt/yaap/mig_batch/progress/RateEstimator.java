@@ -0,0 +1,54 @@
+package com.kt.yaap.mig_batch.progress;
+
+/**
+ * 초당 처리 건수의 지수 이동 평균 (EWMA)
+ *
+ * 샘플링 주기마다 누적 건수를 넘기면 직전 샘플 이후의 처리 속도를 구해 평균에 반영합니다.
+ * rate = alpha × 이번 구간 속도 + (1 - alpha) × 이전 rate (첫 구간은 그대로 사용)
+ *
+ * 청크 처리 시간이 들쭉날쭉해도(파티션 동시 커밋, GC 등) ETA가 크게 흔들리지 않도록 평균을 사용합니다.
+ */
+class RateEstimator {
+
+    private final double alpha;
+
+    private long lastCount;
+    private long lastNanos;
+    private boolean started = false;
+    private double rate = -1;   // 아직 측정 구간이 없으면 음수
+
+    RateEstimator(double alpha) {
+        this.alpha = alpha;
+    }
+
+    /**
+     * 측정 시작 (이후 sample()은 이 시점부터의 속도를 계산)
+     */
+    synchronized void start(long count, long nowNanos) {
+        lastCount = count;
+        lastNanos = nowNanos;
+        started = true;
+    }
+
+    synchronized void sample(long count, long nowNanos) {
+        if (!started) {
+            start(count, nowNanos);
+            return;
+        }
+        long elapsedNanos = nowNanos - lastNanos;
+        if (elapsedNanos <= 0) {
+            return;
+        }
+        double instant = (count - lastCount) * 1000000000.0 / elapsedNanos;
+        rate = rate < 0 ? instant : alpha * instant + (1 - alpha) * rate;
+        lastCount = count;
+        lastNanos = nowNanos;
+    }
+
+    /**
+     * @return 초당 처리 건수 (측정 구간이 없으면 음수)
+     */
+    synchronized double getRate() {
+        return rate;
+    }
+}
@@ -0,0 +1,144 @@
+package com.kt.yaap.mig_batch.progress;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블 1개의 진행 상황 (GET /migration/progress 응답 항목)
+ *
+ * - 예상 행 수: pg_class.reltuples (Step 시작 직전에 다시 조회, 통계가 없으면 알 수 없음)
+ * - 읽은/쓴 행 수: 청크 커밋마다 MigrationProgressListener가 증가 (파티션 Worker 합산)
+ * - 진행률/ETA: 예상 행 수 대비 읽은 행 수, 초당 처리 건수는 EWMA
+ *
+ * 통계가 오래되어 읽은 행 수가 예상 행 수를 넘으면 실행 중에는 99.9%, ETA 0초로 표시합니다.
+ */
+public class TableProgress {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private static final double RUNNING_PERCENT_CAP = 99.9;
+
+    private final String tableName;
+    private final RateEstimator rateEstimator;
+    private final AtomicLong readCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+
+    private volatile long estimatedRows = -1;   // 알 수 없으면 음수
+    private volatile Status status = Status.PENDING;
+    private volatile Date startTime;
+    private volatile Date endTime;
+
+    TableProgress(String tableName, double ewmaAlpha) {
+        this.tableName = tableName;
+        this.rateEstimator = new RateEstimator(ewmaAlpha);
+    }
+
+    void setEstimatedRows(long estimatedRows) {
+        this.estimatedRows = estimatedRows;
+    }
+
+    void start(long nowNanos) {
+        status = Status.RUNNING;
+        startTime = new Date();
+        endTime = null;
+        rateEstimator.start(readCount.get(), nowNanos);
+    }
+
+    void addChunk(long readRows, long writtenRows) {
+        readCount.addAndGet(readRows);
+        writeCount.addAndGet(writtenRows);
+    }
+
+    void sample(long nowNanos) {
+        if (status == Status.RUNNING) {
+            rateEstimator.sample(readCount.get(), nowNanos);
+        }
+    }
+
+    void finish(boolean completed) {
+        status = completed ? Status.COMPLETED : Status.FAILED;
+        endTime = new Date();
+    }
+
+    /**
+     * 남은 행 수 (완료했거나 예상 행 수를 모르면 0)
+     */
+    long remainingRows() {
+        if (status == Status.COMPLETED || estimatedRows < 0) {
+            return 0;
+        }
+        return Math.max(0, estimatedRows - readCount.get());
+    }
+
+    boolean isEstimated() {
+        return status == Status.COMPLETED || estimatedRows >= 0;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getEstimatedRows() {
+        return estimatedRows >= 0 ? estimatedRows : null;
+    }
+
+    public long getReadCount() {
+        return readCount.get();
+    }
+
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    public Date getStartTime() {
+        return startTime;
+    }
+
+    public Date getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return 진행률(%), 예상 행 수를 모르면 null
+     */
+    public Double getPercentDone() {
+        if (status == Status.COMPLETED) {
+            return 100.0;
+        }
+        if (estimatedRows < 0) {
+            return null;
+        }
+        if (estimatedRows == 0) {
+            return status == Status.PENDING ? 0.0 : RUNNING_PERCENT_CAP;
+        }
+        return Math.min(RUNNING_PERCENT_CAP, readCount.get() * 100.0 / estimatedRows);
+    }
+
+    /**
+     * @return 초당 읽은 행 수 (EWMA), 실행 중이 아니거나 아직 측정 전이면 null
+     */
+    public Double getRowsPerSecond() {
+        double rate = rateEstimator.getRate();
+        return status == Status.RUNNING && rate >= 0 ? rate : null;
+    }
+
+    /**
+     * @return 남은 예상 시간(초), 예상 행 수나 처리 속도를 모르면 null
+     */
+    public Long getEtaSeconds() {
+        if (status == Status.COMPLETED) {
+            return 0L;
+        }
+        Double rate = getRowsPerSecond();
+        if (estimatedRows < 0 || rate == null || rate <= 0) {
+            return null;
+        }
+        return (long) Math.ceil(remainingRows() / rate);
+    }
+}
@@ -2,12 +2,17 @@ package com.kt.yaap.mig_batch.scheduler;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -30,6 +35,21 @@ public class MigrationScheduler {
     @Qualifier("migrationJob")
     private Job migrationJob;
 
+    @Autowired(required = false)
+    private JobExplorer jobExplorer;
+
+    // 복원 Job은 실행할 때 생성 (@Lazy 프록시)
+    @Autowired(required = false)
+    @Qualifier("restoreJob")
+    @Lazy
+    private Job restoreJob;
+
+    // 검증 Job도 실행할 때 생성 (@Lazy 프록시)
+    @Autowired(required = false)
+    @Qualifier("verificationJob")
+    @Lazy
+    private Job verificationJob;
+
     /**
      * 매일 새벽 2시에 실행
      * cron 표현식: 초 분 시 일 월 요일
@@ -80,6 +100,95 @@ public class MigrationScheduler {
             throw new RuntimeException("마이그레이션 실행 실패", e);
         }
     }
-}
 
+    /**
+     * 마지막으로 실패(또는 중지)한 Job 인스턴스를 같은 JobParameters로 재시작
+     * 
+     * 새 timestamp로 실행하면 새 Job 인스턴스가 되어 테이블을 처음부터 다시 읽지만,
+     * 재시작하면 완료된 Step은 건너뛰고 실패한 Step은 Reader 체크포인트(마지막 커밋 PK) 이후부터 이어서 처리합니다.
+     * 
+     * @return 재시작했으면 true, 재시작할 실패 Job이 없으면 false
+     */
+    public boolean restartLastFailedJob() {
+        if (jobLauncher == null || migrationJob == null || jobExplorer == null) {
+            throw new IllegalStateException("JobLauncher, migrationJob 또는 JobExplorer가 주입되지 않았습니다.");
+        }
+        
+        JobInstance lastInstance = jobExplorer.getLastJobInstance(migrationJob.getName());
+        JobExecution lastExecution = lastInstance != null ? jobExplorer.getLastJobExecution(lastInstance) : null;
+        if (lastExecution == null 
+                || (lastExecution.getStatus() != BatchStatus.FAILED && lastExecution.getStatus() != BatchStatus.STOPPED)) {
+            log.info("재시작할 실패 Job이 없습니다. (마지막 실행 상태: {})", 
+                    lastExecution != null ? lastExecution.getStatus() : "없음");
+            return false;
+        }
+        
+        try {
+            log.info("=== 마이그레이션 Job 재시작 (jobExecutionId={}, parameters={}) ===", 
+                    lastExecution.getId(), lastExecution.getJobParameters());
+            
+            jobLauncher.run(migrationJob, lastExecution.getJobParameters());
+            
+            log.info("=== 마이그레이션 Job 재시작 완료 ===");
+            return true;
+        } catch (Exception e) {
+            log.error("마이그레이션 Job 재시작 중 오류 발생", e);
+            throw new RuntimeException("마이그레이션 재시작 실패", e);
+        }
+    }
 
+    /**
+     * 백업 컬럼 복원 Job 수동 실행 (restoreJob)
+     * 
+     * 암호화된 대상 컬럼을 _bak 컬럼 값으로 되돌리고 migration_config status를 'ACTIVE'로 복구합니다.
+     * 스케줄로는 실행하지 않습니다. 실패 후 다시 실행하면 범위를 처음부터 읽지만 이미 복원된 행은 UPDATE하지 않습니다.
+     */
+    public void runRestoreJobManually() {
+        if (jobLauncher == null || restoreJob == null) {
+            throw new IllegalStateException("JobLauncher 또는 restoreJob이 주입되지 않았습니다.");
+        }
+        
+        try {
+            log.info("=== 백업 컬럼 복원 Job 시작 ===");
+            
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .toJobParameters();
+
+            JobExecution execution = jobLauncher.run(restoreJob, jobParameters);
+            
+            log.info("=== 백업 컬럼 복원 Job 완료 (status={}) ===", execution.getStatus());
+        } catch (Exception e) {
+            log.error("백업 컬럼 복원 Job 실행 중 오류 발생", e);
+            throw new RuntimeException("복원 실행 실패", e);
+        }
+    }
+
+    /**
+     * 암호화 결과 검증 Job 수동 실행 (verificationJob)
+     * 
+     * 암호화 완료 테이블의 대상 컬럼을 _bak 컬럼과 비교하여 테이블별 불일치 건수를 보고합니다. (대상 테이블은 변경하지 않음)
+     * 불일치가 있으면 Job ExitStatus가 MISMATCH입니다. 스케줄로는 실행하지 않습니다.
+     */
+    public void runVerificationJobManually() {
+        if (jobLauncher == null || verificationJob == null) {
+            throw new IllegalStateException("JobLauncher 또는 verificationJob이 주입되지 않았습니다.");
+        }
+        
+        try {
+            log.info("=== 암호화 결과 검증 Job 시작 ===");
+            
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .toJobParameters();
+
+            JobExecution execution = jobLauncher.run(verificationJob, jobParameters);
+            
+            log.info("=== 암호화 결과 검증 Job 완료 (status={}, exitStatus={}) ===",
+                    execution.getStatus(), execution.getExitStatus().getExitCode());
+        } catch (Exception e) {
+            log.error("암호화 결과 검증 Job 실행 중 오류 발생", e);
+            throw new RuntimeException("검증 실행 실패", e);
+        }
+    }
+}
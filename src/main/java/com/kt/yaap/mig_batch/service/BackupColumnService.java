@@ -0,0 +1,109 @@
+package com.kt.yaap.mig_batch.service;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 백업 컬럼 자동 생성 서비스
+ *
+ * 암호화 대상 컬럼마다 같은 타입의 컬럼명_bak 컬럼을 추가합니다. (이미 있으면 그대로)
+ * ALTER TABLE은 ACCESS EXCLUSIVE 락이 필요하므로 migration.backup.lock-timeout-millis 안에 락을 못 잡으면
+ * 실패시켜 온라인 트랜잭션이 DDL 뒤에 줄 서지 않도록 합니다. (Step 재실행으로 다시 시도)
+ *
+ * 호출부(backupColumnStep)의 트랜잭션에 참여하므로 lock_timeout은 해당 트랜잭션에만 적용됩니다.
+ */
+@Service
+public class BackupColumnService {
+
+    private static final Logger log = LoggerFactory.getLogger(BackupColumnService.class);
+
+    public static final String BACKUP_SUFFIX = "_bak";
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Value("${migration.schema-name:public}")
+    private String schemaName;
+
+    @Value("${migration.backup.lock-timeout-millis:5000}")
+    private long lockTimeoutMillis;
+
+    /**
+     * 대상 컬럼의 백업 컬럼(컬럼명_bak) 생성 (없는 것만)
+     *
+     * @param tableName 테이블명
+     * @param targetColumns 암호화 대상 컬럼들
+     */
+    public void ensureBackupColumns(String tableName, List<String> targetColumns) {
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            TargetTableMapper mapper = sqlSession.getMapper(TargetTableMapper.class);
+
+            Map<String, Object> typeParams = new HashMap<String, Object>();
+            typeParams.put("tableName", tableName);
+            typeParams.put("schemaName", schemaName);
+            typeParams.put("columnNames", targetColumns);
+            List<Map<String, Object>> columnTypes = mapper.selectColumnTypes(typeParams);
+
+            Set<String> foundColumns = new HashSet<String>();
+            for (Map<String, Object> row : columnTypes) {
+                foundColumns.add((String) row.get("column_name"));
+            }
+            for (String column : targetColumns) {
+                if (!foundColumns.contains(column)) {
+                    throw new IllegalStateException(
+                        String.format("Target column not found: table=%s, column=%s", tableName, column));
+                }
+            }
+
+            // 이미 있는 백업 컬럼은 제외 (IF NOT EXISTS여도 ALTER TABLE은 락부터 잡으므로 모두 있으면 DDL 생략)
+            List<String> backupColumnNames = new ArrayList<String>();
+            for (String column : targetColumns) {
+                backupColumnNames.add(column + BACKUP_SUFFIX);
+            }
+            typeParams.put("columnNames", backupColumnNames);
+            Set<String> existingBackups = new HashSet<String>();
+            for (Map<String, Object> row : mapper.selectColumnTypes(typeParams)) {
+                existingBackups.add((String) row.get("column_name"));
+            }
+            List<Map<String, Object>> missing = new ArrayList<Map<String, Object>>();
+            for (Map<String, Object> row : columnTypes) {
+                if (!existingBackups.contains(row.get("column_name") + BACKUP_SUFFIX)) {
+                    missing.add(row);
+                }
+            }
+            if (missing.isEmpty()) {
+                log.info("Backup columns already exist for table: {} ({})", tableName, backupColumnNames);
+                return;
+            }
+
+            if (lockTimeoutMillis > 0) {
+                Map<String, Object> lockParams = new HashMap<String, Object>();
+                lockParams.put("lockTimeout", lockTimeoutMillis + "ms");
+                mapper.setLocalLockTimeout(lockParams);
+            }
+
+            Map<String, Object> params = new HashMap<String, Object>();
+            params.put("tableName", tableName);
+            params.put("backupColumns", missing);
+            mapper.addBackupColumns(params);
+
+            log.info("Added backup columns for table: {} ({})", tableName, missing);
+        } finally {
+            sqlSession.close();
+        }
+    }
+}
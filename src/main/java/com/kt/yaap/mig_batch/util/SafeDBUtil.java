@@ -1,12 +1,19 @@
 package com.kt.yaap.mig_batch.util;
 
 import com.kt.yaap.mig_batch.config.SafeDBConfig;
+import com.kt.yaap.mig_batch.metrics.MigrationMetrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * SafeDB 유틸리티 클래스
@@ -15,6 +22,15 @@ import javax.annotation.PostConstruct;
  * 1. pom.xml에 SafeDB 의존성 추가
  * 2. 아래 주석 처리된 실제 SafeDB 코드를 활성화하고 임시 구현 부분 제거
  * 3. SafeDBConfig에 필요한 설정 추가
+ * 
+ * 동시 호출 제한 (safedb.max-in-flight):
+ * - 암호화 스레드 수(migration.encryption.threads, 가상 스레드 포함)와 별개로 SafeDB endpoint에 동시에 보내는 호출 수 제한
+ * - 호출마다 permit을 얻고 끝나면 반환, safedb.timeout(ms) 안에 얻지 못하면 호출 실패 (청크 롤백)
+ * - endpoint = safedb.server-url (없으면 "local", 로컬 라이브러리 모드)
+ * 
+ * 일괄 호출 (safedb.batch-enabled, encryptBatch/decryptBatch):
+ * - 현재 SafeDB 라이브러리에는 일괄 API가 없어 Mock 모드 전용 (원격 왕복 감소 효과 측정용)
+ * - 실제 SafeDB(safedb.server-url 또는 safedb.config-file)가 설정되어 있으면 init()에서 실패
  */
 @Component
 public class SafeDBUtil {
@@ -27,6 +43,26 @@ public class SafeDBUtil {
     // 실제 SafeDB 인스턴스 (싱글톤)
     // private SafeDB safeDBInstance;
 
+    // SafeDB 호출 1회 시간 (safedb.call, 값마다 호출되므로 Timer를 미리 조회해 둠)
+    private Timer encryptCallTimer;
+    private Timer decryptCallTimer;
+    private Timer encryptBatchCallTimer;
+    private Timer decryptBatchCallTimer;
+
+    private MigrationMetrics migrationMetrics;
+
+    // SafeDB endpoint 동시 호출 permit (null이면 제한 없음, init()에서 생성)
+    private Semaphore inFlightPermits;
+
+    @Autowired
+    public void setMigrationMetrics(MigrationMetrics migrationMetrics) {
+        this.migrationMetrics = migrationMetrics;
+        this.encryptCallTimer = migrationMetrics.safeDbCallTimer("encrypt");
+        this.decryptCallTimer = migrationMetrics.safeDbCallTimer("decrypt");
+        this.encryptBatchCallTimer = migrationMetrics.safeDbCallTimer("encryptBatch");
+        this.decryptBatchCallTimer = migrationMetrics.safeDbCallTimer("decryptBatch");
+    }
+
     @PostConstruct
     public void init() {
         if (!safeDBConfig.isEnabled()) {
@@ -34,6 +70,20 @@ public class SafeDBUtil {
             return;
         }
 
+        if (safeDBConfig.isBatchEnabled()
+                && (safeDBConfig.getServerUrl() != null || safeDBConfig.getConfigFile() != null)) {
+            throw new IllegalStateException(
+                "safedb.batch-enabled는 Mock 모드 전용입니다. SafeDB 일괄 API가 없으므로 "
+                + "safedb.server-url/config-file 사용 시 safedb.batch-enabled=false로 설정하세요.");
+        }
+
+        if (safeDBConfig.getMaxInFlight() > 0) {
+            String endpoint = safeDBConfig.getServerUrl() != null ? safeDBConfig.getServerUrl() : "local";
+            inFlightPermits = new Semaphore(safeDBConfig.getMaxInFlight(), true);
+            migrationMetrics.registerSafeDbInFlight(endpoint, inFlightPermits, safeDBConfig.getMaxInFlight());
+            log.info("SafeDB 동시 호출 제한: {} (endpoint: {})", safeDBConfig.getMaxInFlight(), endpoint);
+        }
+
         try {
             // TODO: 실제 SafeDB 초기화 로직
             // 예시:
@@ -73,6 +123,8 @@ public class SafeDBUtil {
             return plainText;
         }
 
+        acquireCallPermit();
+        long callStart = System.nanoTime();
         try {
             // TODO: 실제 SafeDB 암호화 로직으로 교체 필요
             // 실제 SafeDB 사용 예시:
@@ -88,6 +140,7 @@ public class SafeDBUtil {
             // 임시 구현 (실제 SafeDB 라이브러리로 교체 필요)
             // 테스트용: "[ENCRYPTED]" 접두사를 추가하여 암호화된 것을 시각적으로 확인 가능
             log.debug("Encrypting value (Mock 모드): {} -> [ENCRYPTED]{}", plainText, plainText);
+            simulateLatency();
             
             // 주의: 실제 운영 환경에서는 반드시 실제 SafeDB 라이브러리를 사용해야 합니다!
             return "[ENCRYPTED]" + plainText;
@@ -95,9 +148,22 @@ public class SafeDBUtil {
         } catch (Exception e) {
             log.error("SafeDB 암호화 실패: {}", plainText, e);
             throw new RuntimeException("SafeDB 암호화 실패: " + e.getMessage(), e);
+        } finally {
+            encryptCallTimer.record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+            releaseCallPermit();
         }
     }
 
+    /**
+     * AES128 암호화 값의 최소 Base64 길이 (1블록 16바이트 → 24자)
+     */
+    private static final int MIN_ENCRYPTED_LENGTH = 24;
+
+    /**
+     * AES 블록 크기 (바이트)
+     */
+    private static final int AES_BLOCK_SIZE = 16;
+
     /**
      * AES128 암호화 후 Base64 인코딩된 값인지 체크
      * 
@@ -108,26 +174,72 @@ public class SafeDBUtil {
      * - 대문자 [A-Z], 숫자 [0-9] 각각 최소 1개 이상 (숫자만/영문만 반복 오탐 방지)
      * - 기호 [+/=]는 있을 수도 없을 수도 있음
      * 
+     * 모든 컬럼·모든 레코드에서 호출되므로 정규식 없이 문자열을 한 번만 순회합니다.
+     * (String.matches는 호출마다 Pattern을 컴파일하고, 기존 구현은 문자열을 최대 4번 스캔)
+     * 
+     * safedb.strict-encrypted-check가 true이면 추가로 검사:
+     * - 길이가 4의 배수, '='는 끝에만 최대 2개
+     * - 디코딩 길이가 AES 블록 크기(16바이트)의 배수
+     * 
      * @param value 체크할 값
      * @return 암호화된 값이면 true, 평문이면 false
      */
     public boolean isEncrypted(String value) {
-        if (value == null || value.trim().isEmpty()) {
+        return isEncrypted(value, safeDBConfig.isStrictEncryptedCheck());
+    }
+
+    static boolean isEncrypted(String value, boolean strict) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        // 공백만 있는 값은 Base64 문자가 아니므로 아래 스캔에서 false (기존 trim().isEmpty() 체크와 동일)
+        if (length < MIN_ENCRYPTED_LENGTH) {
+            return false;
+        }
+
+        boolean hasUppercase = false;
+        boolean hasDigit = false;
+        int paddingStart = -1;  // 첫 '=' 위치
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                hasUppercase = true;
+            } else if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if (c == '=') {
+                if (paddingStart < 0) {
+                    paddingStart = i;
+                }
+                continue;
+            } else if (!((c >= 'a' && c <= 'z') || c == '+' || c == '/')) {
+                return false;
+            }
+            // '=' 뒤에 일반 문자가 오는 경우 (strict 모드에서만 오류)
+            if (strict && paddingStart >= 0) {
+                return false;
+            }
+        }
+
+        if (!hasUppercase || !hasDigit) {
+            return false;
+        }
+
+        if (!strict) {
+            // Base64 길이 규칙: 4의 배수이거나 =로 끝남
+            return length % 4 == 0 || value.charAt(length - 1) == '=';
+        }
+
+        if (length % 4 != 0) {
+            return false;
+        }
+        int padding = paddingStart < 0 ? 0 : length - paddingStart;
+        if (padding > 2) {
             return false;
         }
-        
-        // Base64 패턴 체크: Base64 문자만 포함하고 24자 이상
-        // AES128 암호화 후 Base64 인코딩된 값은 최소 24자 이상
-        boolean matchesBase64Pattern = value.matches("^[A-Za-z0-9+/=]{24,}$");
-        
-        // Base64 길이 규칙 체크: 4의 배수이거나 =로 끝남
-        boolean validBase64Length = (value.length() % 4 == 0 || value.endsWith("="));
-        
-        // 대문자·숫자 각각 최소 1개 이상 (숫자만/영문만 반복 오탐 방지, 기호는 선택)
-        boolean hasUppercase = value.matches(".*[A-Z].*");
-        boolean hasDigit = value.matches(".*[0-9].*");
-        
-        return matchesBase64Pattern && validBase64Length && hasUppercase && hasDigit;
+        int decodedLength = length / 4 * 3 - padding;
+        return decodedLength % AES_BLOCK_SIZE == 0;
     }
 
     /**
@@ -146,6 +258,8 @@ public class SafeDBUtil {
             return encryptedText;
         }
 
+        acquireCallPermit();
+        long callStart = System.nanoTime();
         try {
             // TODO: 실제 SafeDB 복호화 로직으로 교체 필요
             // 실제 SafeDB 사용 예시:
@@ -161,6 +275,7 @@ public class SafeDBUtil {
             // 임시 구현 (Mock 모드)
             // "[ENCRYPTED]" 접두사가 있으면 제거하여 복호화된 것처럼 처리
             log.debug("Decrypting value (Mock 모드): {}", encryptedText);
+            simulateLatency();
             if (encryptedText.startsWith("[ENCRYPTED]")) {
                 return encryptedText.substring("[ENCRYPTED]".length());
             }
@@ -169,8 +284,118 @@ public class SafeDBUtil {
         } catch (Exception e) {
             log.error("SafeDB 복호화 실패: {}", encryptedText, e);
             throw new RuntimeException("SafeDB 복호화 실패: " + e.getMessage(), e);
+        } finally {
+            decryptCallTimer.record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+            releaseCallPermit();
+        }
+    }
+
+    /**
+     * SafeDB 일괄 암호화 (Mock 모드 전용)
+     * 
+     * 여러 값을 batchSize 단위로 묶어 호출 1회로 처리하는 일괄 API를 Mock으로 흉내냅니다. (호출 1회당 지연 1회)
+     * SafeDB 라이브러리에 일괄 API가 없으므로 실제 SafeDB 설정과 함께 사용할 수 없습니다. (init()에서 실패)
+     * NULL/빈 값은 encrypt()와 동일하게 그대로 반환합니다.
+     * 
+     * @param plainTexts 평문 목록
+     * @return 암호화된 값 목록 (입력과 같은 순서, 같은 크기)
+     */
+    public List<String> encryptBatch(List<String> plainTexts) {
+        return processBatch(plainTexts, true);
+    }
+
+    /**
+     * SafeDB 일괄 복호화 (Mock 모드 전용, encryptBatch 참고)
+     * 
+     * @param encryptedTexts 암호화된 값 목록
+     * @return 복호화된 값 목록 (입력과 같은 순서, 같은 크기)
+     */
+    public List<String> decryptBatch(List<String> encryptedTexts) {
+        return processBatch(encryptedTexts, false);
+    }
+
+    private List<String> processBatch(List<String> values, boolean encrypt) {
+        List<String> results = new ArrayList<String>(values);
+        if (values.isEmpty() || !safeDBConfig.isEnabled()) {
+            return results;
+        }
+
+        int batchSize = Math.max(1, safeDBConfig.getBatchSize());
+        Timer callTimer = encrypt ? encryptBatchCallTimer : decryptBatchCallTimer;
+        for (int from = 0; from < values.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, values.size());
+            acquireCallPermit();
+            long callStart = System.nanoTime();
+            try {
+                // Mock 모드: 호출 1회당 지연 1회 (실제 SafeDB 설정 시에는 init()에서 거부됨)
+                simulateLatency();
+                for (int i = from; i < to; i++) {
+                    String value = values.get(i);
+                    if (value == null || value.trim().isEmpty()) {
+                        continue;
+                    }
+                    if (encrypt) {
+                        results.set(i, "[ENCRYPTED]" + value);
+                    } else if (value.startsWith("[ENCRYPTED]")) {
+                        results.set(i, value.substring("[ENCRYPTED]".length()));
+                    }
+                }
+                log.debug("{} batch (Mock 모드): {} values", encrypt ? "Encrypted" : "Decrypted", to - from);
+                
+            } catch (Exception e) {
+                log.error("SafeDB 일괄 {} 실패: {} values", encrypt ? "암호화" : "복호화", to - from, e);
+                throw new RuntimeException("SafeDB 일괄 " + (encrypt ? "암호화" : "복호화") + " 실패: " + e.getMessage(), e);
+            } finally {
+                callTimer.record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+                releaseCallPermit();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * SafeDB 호출 1회 permit 획득 (safedb.max-in-flight, 대기 시간은 safedb.call에 포함하지 않음)
+     */
+    private void acquireCallPermit() {
+        if (inFlightPermits == null) {
+            return;
+        }
+        try {
+            if (!inFlightPermits.tryAcquire(safeDBConfig.getTimeout(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException(String.format(
+                    "SafeDB 동시 호출 대기 시간 초과: %dms (max-in-flight: %d)",
+                    safeDBConfig.getTimeout(), safeDBConfig.getMaxInFlight()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("SafeDB 호출 대기 중 인터럽트 발생", e);
         }
     }
-}
 
+    private void releaseCallPermit() {
+        if (inFlightPermits != null) {
+            inFlightPermits.release();
+        }
+    }
 
+    /**
+     * Mock 모드에서 원격 SafeDB 호출 1회의 왕복 지연을 흉내냄
+     * (safedb.mock-latency-millis + 0 ~ safedb.mock-latency-jitter-millis 무작위 지연)
+     */
+    private void simulateLatency() {
+        long latency = safeDBConfig.getMockLatencyMillis();
+        long jitter = safeDBConfig.getMockLatencyJitterMillis();
+        if (jitter > 0) {
+            latency += ThreadLocalRandom.current().nextLong(jitter + 1);
+        }
+        if (latency <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("SafeDB 호출 대기 중 인터럽트 발생", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.kt.yaap.mig_batch;
+
+import com.kt.yaap.mig_batch.scheduler.MigrationScheduler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * STS에서 실패한 Job을 중단 지점부터 재시작하기 위한 클래스
+ * 
+ * ManualJobRerun은 새 timestamp로 새 Job 인스턴스를 만들어 테이블을 처음부터 다시 읽지만,
+ * 이 클래스는 마지막 실패 Job 인스턴스를 같은 JobParameters로 재시작합니다.
+ * - 완료된 테이블 Step은 건너뜀
+ * - 실패한 Step은 마지막으로 커밋된 PK 이후부터 이어서 처리
+ * 
+ * 실행 방법:
+ * 1. 이 클래스를 우클릭 → Run As → Java Application
+ * 2. 또는 이 클래스에서 main 메서드를 선택하고 Run 버튼 클릭
+ */
+public class ManualJobRestart {
+
+    public static void main(String[] args) {
+        // Spring 애플리케이션 컨텍스트 시작
+        ConfigurableApplicationContext context = SpringApplication.run(CrmMigrationApplication.class, args);
+        
+        try {
+            MigrationScheduler scheduler = context.getBean(MigrationScheduler.class);
+            
+            System.out.println("========================================");
+            System.out.println("실패한 Job 재시작");
+            System.out.println("========================================");
+            
+            boolean restarted = scheduler.restartLastFailedJob();
+            
+            System.out.println("========================================");
+            System.out.println(restarted ? "Job 재시작 완료" : "재시작할 실패 Job이 없습니다");
+            System.out.println("========================================");
+            
+        } catch (Exception e) {
+            System.err.println("========================================");
+            System.err.println("Job 재시작 중 오류 발생");
+            System.err.println("========================================");
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            // 애플리케이션 종료
+            context.close();
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.kt.yaap.mig_batch.batch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BulkEncryptionWriter 문장당 행 수 테스트 (바인드 파라미터 32767개 제한)
+ */
+class BulkEncryptionWriterTest {
+
+    @Test
+    void usesConfiguredRowsWhenUnderBindLimit() {
+        assertThat(BulkEncryptionWriter.rowsPerStatement(1000, 3)).isEqualTo(1000);
+    }
+
+    @Test
+    void capsRowsAtBindLimit() {
+        // 2개 × 16383행 = 32766 ≤ 32767, 16384행이면 32768로 초과
+        assertThat(BulkEncryptionWriter.rowsPerStatement(100000, 2)).isEqualTo(16383);
+        assertThat(BulkEncryptionWriter.rowsPerStatement(100000, 7)).isEqualTo(4681);
+    }
+
+    @Test
+    void neverExceedsBindLimit() {
+        for (int parametersPerRow = 1; parametersPerRow <= 200; parametersPerRow++) {
+            int rows = BulkEncryptionWriter.rowsPerStatement(Integer.MAX_VALUE, parametersPerRow);
+            assertThat(rows * parametersPerRow)
+                    .as("parametersPerRow=%d", parametersPerRow)
+                    .isLessThanOrEqualTo(BulkEncryptionWriter.MAX_BIND_PARAMETERS);
+            assertThat((rows + 1) * parametersPerRow).isGreaterThan(BulkEncryptionWriter.MAX_BIND_PARAMETERS);
+        }
+    }
+
+    @Test
+    void exactlyFillsBindLimitWithOneParameterPerRow() {
+        assertThat(BulkEncryptionWriter.rowsPerStatement(Integer.MAX_VALUE, 1))
+                .isEqualTo(BulkEncryptionWriter.MAX_BIND_PARAMETERS);
+    }
+
+    @Test
+    void alwaysWritesAtLeastOneRow() {
+        assertThat(BulkEncryptionWriter.rowsPerStatement(0, 3)).isEqualTo(1);
+        assertThat(BulkEncryptionWriter.rowsPerStatement(1000, BulkEncryptionWriter.MAX_BIND_PARAMETERS + 1))
+                .isEqualTo(1);
+    }
+}
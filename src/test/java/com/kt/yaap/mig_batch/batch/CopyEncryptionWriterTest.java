@@ -0,0 +1,75 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.model.TableSchema;
+import com.kt.yaap.mig_batch.model.TargetRecordEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CopyEncryptionWriter CSV 행 생성 테스트 (COPY ... WITH (FORMAT csv))
+ *
+ * PostgreSQL CSV 형식에서는 따옴표 없는 빈 값만 NULL이고, 따옴표로 감싼 값 안의 구분자/줄바꿈/\.은 데이터로 취급됩니다.
+ */
+class CopyEncryptionWriterTest {
+
+    private static final TableSchema SCHEMA = new TableSchema(
+            "customer", Collections.singletonList("id"), Arrays.asList("name", "phone"));
+
+    @Test
+    void quotesValuesAndDoublesEmbeddedQuotes() {
+        assertThat(csvRow(1L, "say \"hi\"", "010")).isEqualTo("\"1\",\"say \"\"hi\"\"\",\"010\"\n");
+    }
+
+    @Test
+    void writesNullAsUnquotedEmptyValue() {
+        // 암호화하지 않은 컬럼은 NULL → UPDATE에서 COALESCE로 기존 값 유지
+        assertThat(csvRow(1L, null, "010")).isEqualTo("\"1\",,\"010\"\n");
+        assertThat(csvRow(1L, "a", null)).isEqualTo("\"1\",\"a\",\n");
+    }
+
+    @Test
+    void keepsEmptyStringDistinctFromNull() {
+        assertThat(csvRow(1L, "", null)).isEqualTo("\"1\",\"\",\n");
+    }
+
+    @Test
+    void keepsDelimitersAndLineBreaksInsideQuotes() {
+        assertThat(csvRow(1L, "a,b\r\nc", "x\ny")).isEqualTo("\"1\",\"a,b\r\nc\",\"x\ny\"\n");
+    }
+
+    @Test
+    void quotesEndOfDataMarker() {
+        // 따옴표 안의 \.은 COPY 데이터 끝 표시로 해석되지 않음
+        assertThat(csvRow(1L, "\\.", null)).isEqualTo("\"1\",\"\\.\",\n");
+    }
+
+    @Test
+    void writesCompositeAndNonStringPrimaryKeys() {
+        TableSchema schema = new TableSchema(
+                "orders", Arrays.asList("order_id", "line_no"), Collections.singletonList("memo"));
+        TargetRecordEntity item = new TargetRecordEntity(schema);
+        item.getPkValues()[0] = "A\"1";
+        item.getPkValues()[1] = 3;
+        item.setEncryptedValue(0, "enc");
+
+        StringBuilder line = new StringBuilder();
+        CopyEncryptionWriter.appendCsvRow(line, item);
+
+        assertThat(line.toString()).isEqualTo("\"A\"\"1\",\"3\",\"enc\"\n");
+    }
+
+    private static String csvRow(Object pk, String name, String phone) {
+        TargetRecordEntity item = new TargetRecordEntity(SCHEMA);
+        item.getPkValues()[0] = pk;
+        item.setEncryptedValue(0, name);
+        item.setEncryptedValue(1, phone);
+
+        StringBuilder line = new StringBuilder();
+        CopyEncryptionWriter.appendCsvRow(line, item);
+        return line.toString();
+    }
+}
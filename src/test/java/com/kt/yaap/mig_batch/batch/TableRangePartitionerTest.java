@@ -0,0 +1,174 @@
+package com.kt.yaap.mig_batch.batch;
+
+import com.kt.yaap.mig_batch.mapper.TargetTableMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * TableRangePartitioner 경계값 계산 테스트
+ *
+ * 경계값이 잘못되면 파티션 사이에서 행이 빠지거나 두 번 처리되므로,
+ * 모든 PK 값이 정확히 한 파티션(lowerBound 초과 ~ upperBound 이하)에 속하는지 확인합니다.
+ */
+class TableRangePartitionerTest {
+
+    private SqlSessionFactory sqlSessionFactory;
+    private TargetTableMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        sqlSessionFactory = mock(SqlSessionFactory.class);
+        SqlSession sqlSession = mock(SqlSession.class);
+        mapper = mock(TargetTableMapper.class);
+        when(sqlSessionFactory.openSession()).thenReturn(sqlSession);
+        when(sqlSession.getMapper(TargetTableMapper.class)).thenReturn(mapper);
+        when(mapper.selectPrimaryKeyColumns(any())).thenReturn(Collections.singletonList("id"));
+    }
+
+    @Test
+    void splitIntegerRangeEvenly() {
+        assertThat(TableRangePartitioner.splitIntegerRange(1, 100, 4))
+                .containsExactly("25", "50", "75");
+    }
+
+    @Test
+    void splitIntegerRangeWithSingleValue() {
+        // min == max: 경계값 1개 (모든 행이 첫 파티션), 마지막 파티션은 비어 있음
+        List<String> boundaries = TableRangePartitioner.splitIntegerRange(7, 7, 4);
+
+        assertThat(boundaries).containsExactly("7");
+        assertEveryValueInExactlyOnePartition(boundaries, 7, 7);
+    }
+
+    @Test
+    void splitIntegerRangeWithMorePartitionsThanValues() {
+        // gridSize > 값 개수: 중복 경계값 제거로 파티션 수가 줄어도 값이 빠지지 않아야 함
+        List<String> boundaries = TableRangePartitioner.splitIntegerRange(1, 3, 8);
+
+        assertThat(boundaries).containsExactly("1", "2");
+        assertEveryValueInExactlyOnePartition(boundaries, 1, 3);
+    }
+
+    @Test
+    void splitIntegerRangeWithoutOverflow() {
+        List<String> boundaries = TableRangePartitioner.splitIntegerRange(Long.MIN_VALUE, Long.MAX_VALUE, 4);
+
+        assertThat(boundaries).hasSize(3);
+        assertThat(boundaries).isSortedAccordingTo(Comparator.comparing(BigInteger::new));
+        assertThat(new BigInteger(boundaries.get(0))).isGreaterThan(BigInteger.valueOf(Long.MIN_VALUE));
+        assertThat(new BigInteger(boundaries.get(2))).isLessThan(BigInteger.valueOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void partitionIntegerPkSingleValueTable() {
+        givenColumnType("bigint");
+        when(mapper.selectPkMinMax(any())).thenReturn(minMax(5L, 5L));
+
+        Map<String, ExecutionContext> partitions = partitioner(0).partition(4);
+
+        assertThat(partitions).hasSize(2);
+        assertThat(partitions.get("partition0").getString(TableRangePartitioner.UPPER_BOUND_KEY)).isEqualTo("5");
+        assertThat(partitions.get("partition1").getString(TableRangePartitioner.LOWER_BOUND_KEY)).isEqualTo("5");
+        assertThat(partitions.get("partition1").containsKey(TableRangePartitioner.UPPER_BOUND_KEY)).isFalse();
+    }
+
+    @Test
+    void partitionEmptyTableIntoSingleUnboundedRange() {
+        givenColumnType("integer");
+        when(mapper.selectPkMinMax(any())).thenReturn(minMax(null, null));
+
+        Map<String, ExecutionContext> partitions = partitioner(0).partition(4);
+
+        assertThat(partitions).hasSize(1);
+        ExecutionContext only = partitions.get("partition0");
+        assertThat(only.containsKey(TableRangePartitioner.LOWER_BOUND_KEY)).isFalse();
+        assertThat(only.containsKey(TableRangePartitioner.UPPER_BOUND_KEY)).isFalse();
+    }
+
+    @Test
+    void partitionWithGridSizeOneSkipsBoundaryQuery() {
+        givenColumnType("bigint");
+
+        Map<String, ExecutionContext> partitions = partitioner(0).partition(1);
+
+        assertThat(partitions).hasSize(1);
+        verify(mapper, never()).selectPkMinMax(any());
+        verify(mapper, never()).selectPkRangeBoundaries(any());
+    }
+
+    @Test
+    void partitionPercentileBoundariesDropsDuplicatesAndNulls() {
+        givenColumnType("character varying");
+        when(mapper.selectPkRangeBoundaries(any())).thenReturn(Arrays.asList("a", "a", "m", null));
+
+        Map<String, ExecutionContext> partitions = partitioner(0).partition(4);
+
+        assertThat(partitions).hasSize(3);
+        assertThat(partitions.get("partition0").getString(TableRangePartitioner.UPPER_BOUND_KEY)).isEqualTo("a");
+        assertThat(partitions.get("partition1").getString(TableRangePartitioner.LOWER_BOUND_KEY)).isEqualTo("a");
+        assertThat(partitions.get("partition1").getString(TableRangePartitioner.UPPER_BOUND_KEY)).isEqualTo("m");
+        assertThat(partitions.get("partition2").getString(TableRangePartitioner.LOWER_BOUND_KEY)).isEqualTo("m");
+        verify(mapper).selectPkRangeBoundaries(argThat(params ->
+                "ARRAY[0.25,0.5,0.75]".equals(params.get("fractions"))));
+    }
+
+    @Test
+    void partitionPercentileFallsBackToFullTableWhenSampleIsEmpty() {
+        givenColumnType("uuid");
+        when(mapper.selectPkRangeBoundaries(any()))
+                .thenReturn(Collections.singletonList(null))
+                .thenReturn(Collections.singletonList("8000"));
+
+        Map<String, ExecutionContext> partitions = partitioner(1.0).partition(2);
+
+        assertThat(partitions).hasSize(2);
+        assertThat(partitions.get("partition0").getString(TableRangePartitioner.UPPER_BOUND_KEY)).isEqualTo("8000");
+        verify(mapper, times(2)).selectPkRangeBoundaries(any());
+    }
+
+    private TableRangePartitioner partitioner(double samplePercent) {
+        return new TableRangePartitioner(sqlSessionFactory, "customer", "public", samplePercent);
+    }
+
+    private void givenColumnType(String dataType) {
+        Map<String, Object> type = new HashMap<String, Object>();
+        type.put("column_name", "id");
+        type.put("data_type", dataType);
+        when(mapper.selectColumnTypes(any())).thenReturn(Collections.singletonList(type));
+    }
+
+    private static Map<String, Object> minMax(Long min, Long max) {
+        Map<String, Object> minMax = new HashMap<String, Object>();
+        minMax.put("min_value", min);
+        minMax.put("max_value", max);
+        return minMax;
+    }
+
+    /**
+     * [min, max]의 모든 값이 (boundaries[i-1], boundaries[i]] 구간 중 정확히 하나에 속하는지
+     */
+    private static void assertEveryValueInExactlyOnePartition(List<String> boundaries, long min, long max) {
+        for (long value = min; value <= max; value++) {
+            int matches = 0;
+            for (int i = 0; i <= boundaries.size(); i++) {
+                boolean aboveLower = i == 0 || value > Long.parseLong(boundaries.get(i - 1));
+                boolean atMostUpper = i == boundaries.size() || value <= Long.parseLong(boundaries.get(i));
+                if (aboveLower && atMostUpper) {
+                    matches++;
+                }
+            }
+            assertThat(matches).as("partitions containing %d", value).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.kt.yaap.mig_batch.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SafeDBUtil.isEncrypted 판정 테스트 (기본 / safedb.strict-encrypted-check)
+ *
+ * 평문을 암호문으로 잘못 판정하면 해당 값은 암호화되지 않고 남으므로 경계 조건을 확인합니다.
+ */
+class SafeDBUtilTest {
+
+    private static final String ONE_BLOCK = "AQIDBAUGBwgJCgsMDQ4PEA==";                        // 16바이트
+    private static final String TWO_BLOCKS = "AQIDBAUGBwgJCgsMDQ4PEBESExQVFhcYGRobHB0eHyA=";   // 32바이트
+    private static final String NOT_BLOCK_ALIGNED = "AQIDBAUGBwgJCgsMDQ4PEBE=";                // 17바이트
+
+    @Test
+    void acceptsBlockAlignedBase64InBothModes() {
+        assertEncrypted(ONE_BLOCK, true, true);
+        assertEncrypted(TWO_BLOCKS, true, true);
+    }
+
+    @Test
+    void strictModeRejectsLengthsThatAreNotAesBlocks() {
+        assertEncrypted(NOT_BLOCK_ALIGNED, true, false);
+    }
+
+    @Test
+    void strictModeRejectsPaddingInTheMiddle() {
+        assertEncrypted("AQIDBAUG=wgJCgsMDQ4PEA==", true, false);
+    }
+
+    @Test
+    void strictModeRejectsMoreThanTwoPaddingCharacters() {
+        assertEncrypted("AQIDBAUGBwgJCgsMDQ4PE===", true, false);
+    }
+
+    @Test
+    void rejectsInvalidBase64Length() {
+        // 4의 배수가 아니고 '='로 끝나지도 않음
+        assertEncrypted("AQIDBAUGBwgJCgsMDQ4PEABCD", false, false);
+        // 4의 배수가 아니지만 '='로 끝나면 기본 모드는 허용
+        assertEncrypted("AQIDBAUGBwgJCgsMDQ4PEABC=", true, false);
+        // 길이는 4의 배수지만 디코딩 길이가 블록 배수가 아님
+        assertEncrypted("AQIDBAUGBwgJCgsMDQ4PEAB=", true, false);
+    }
+
+    @Test
+    void rejectsShortNullAndBlankValues() {
+        assertEncrypted(null, false, false);
+        assertEncrypted("", false, false);
+        assertEncrypted("AQIDBAUGBwgJCgsMDQ4P", false, false);   // 15바이트 → 20자 (최소 24자 미만)
+        assertEncrypted("                        ", false, false);
+    }
+
+    @Test
+    void rejectsPlainTextThatLooksLikeBase64() {
+        assertEncrypted("abcdefghijklmnop12345678", false, false);   // 대문자 없음
+        assertEncrypted("ABCDEFGHIJKLMNOPQRSTUVWX", false, false);   // 숫자 없음
+        assertEncrypted("010-1234-5678 Seoul Gangnam", false, false);
+        assertEncrypted("[ENCRYPTED]Hong Gil Dong 1234", false, false);
+        assertEncrypted("홍길동ABCDEFGHIJKLMNOPQRSTUVWX1", false, false);
+    }
+
+    private static void assertEncrypted(String value, boolean lenient, boolean strict) {
+        assertThat(SafeDBUtil.isEncrypted(value, false)).as("lenient: %s", value).isEqualTo(lenient);
+        assertThat(SafeDBUtil.isEncrypted(value, true)).as("strict: %s", value).isEqualTo(strict);
+    }
+}